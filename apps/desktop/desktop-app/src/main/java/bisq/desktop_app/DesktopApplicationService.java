@@ -147,7 +147,8 @@ public class DesktopApplicationService extends ApplicationService {
 
         offerService = new OfferService(networkService, identityService, persistenceService);
 
-        chatService = new ChatService(persistenceService,
+        chatService = new ChatService(ChatService.Config.from(getConfig("chat")),
+                persistenceService,
                 networkService,
                 userService,
                 settingsService,
@@ -18,7 +18,6 @@
 package bisq.desktop.main.content.bisq_easy.offerbook;
 
 import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookChannel;
-import bisq.chat.bisqeasy.offerbook.BisqEasyOfferbookMessage;
 import bisq.common.currency.Market;
 import bisq.desktop.common.threading.UIThread;
 import bisq.desktop.main.content.components.MarketImageComposition;
@@ -33,8 +32,6 @@ import javafx.scene.effect.ColorAdjust;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
-import java.lang.ref.WeakReference;
-
 @EqualsAndHashCode
 @Getter
 class MarketChannelItem {
@@ -57,8 +54,7 @@ class MarketChannelItem {
         setUpColorAdjustments();
         marketLogo.setEffect(DEFAULT_COLOR_ADJUST);
 
-        channel.getChatMessages().addObserver(new WeakReference<Runnable>(this::updateNumOffers).get());
-        updateNumOffers();
+        channel.getNumOffers().addObserver(numOffers -> UIThread.run(() -> getNumOffers().set(numOffers)));
     }
 
     private void setUpColorAdjustments() {
@@ -69,15 +65,6 @@ class MarketChannelItem {
         SELECTED_COLOR_ADJUST.setBrightness(-0.1);
     }
 
-    private void updateNumOffers() {
-        UIThread.run(() -> {
-            int numOffers = (int) channel.getChatMessages().stream()
-                    .filter(BisqEasyOfferbookMessage::hasBisqEasyOffer)
-                    .count();
-            getNumOffers().set(numOffers);
-        });
-    }
-
     void updateMarketLogoEffect(boolean isSelectedMarket) {
         getMarketLogo().setEffect(isSelectedMarket ? SELECTED_COLOR_ADJUST : DEFAULT_COLOR_ADJUST);
     }
@@ -18,21 +18,36 @@
 package bisq.desktop.main.content.chat;
 
 import bisq.bisq_easy.NavigationTarget;
+import bisq.chat.ChatChannel;
 import bisq.chat.ChatChannelDomain;
 import bisq.chat.ChatChannelSelectionService;
+import bisq.chat.ChatMessage;
 import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
 import bisq.desktop.ServiceProvider;
+import bisq.desktop.common.threading.UIThread;
 import bisq.desktop.common.view.Controller;
 import lombok.extern.slf4j.Slf4j;
 import org.fxmisc.easybind.EasyBind;
+import org.fxmisc.easybind.Subscription;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public abstract class ChatController<V extends ChatView<V, M>, M extends ChatModel>
         extends BaseChatController<V, M> implements Controller {
+    // Interval for re-running the search query when new messages arrive in the selected channel
+    private static final long SEARCH_UPDATE_INTERVAL = 200;
+
     protected ChatChannelSelectionService selectionService;
     private Pin selectedChannelPin;
+    private Pin chatMessagesForSearchPin;
+    private Subscription selectedChannelForSearchPin;
+    // Only accessed from the UI thread. Used for ignoring results of outdated queries.
+    private long searchRequestCounter;
 
     public ChatController(ServiceProvider serviceProvider,
                           ChatChannelDomain chatChannelDomain,
@@ -49,12 +64,10 @@ public abstract class ChatController<V extends ChatView<V, M>, M extends ChatMod
     public void onActivate() {
         selectedChannelPin = selectionService.getSelectedChannel().addObserver(this::selectedChannelChanged);
         model.getSearchText().set("");
-        searchTextPin = EasyBind.subscribe(model.getSearchText(), searchText -> {
-            if (searchText == null || searchText.isEmpty()) {
-                chatMessageContainerController.setSearchPredicate(item -> true);
-            } else {
-                chatMessageContainerController.setSearchPredicate(item -> item.match(searchText));
-            }
+        searchTextPin = EasyBind.subscribe(model.getSearchText(), searchText -> applySearchText());
+        selectedChannelForSearchPin = EasyBind.subscribe(model.selectedChannelProperty(), channel -> {
+            observeChatMessagesForSearch(channel);
+            applySearchText();
         });
     }
 
@@ -62,10 +75,81 @@ public abstract class ChatController<V extends ChatView<V, M>, M extends ChatMod
     public void onDeactivate() {
         selectedChannelPin.unbind();
         searchTextPin.unsubscribe();
+        selectedChannelForSearchPin.unsubscribe();
+        unbindChatMessagesForSearchPin();
     }
 
     @Override
     protected Optional<? extends Controller> createController(NavigationTarget navigationTarget) {
         return Optional.empty();
     }
+
+    // The search predicate is a snapshot of the matching message IDs, so we re-run the query when messages get added.
+    // As the search service indexes the messages on the same executor which runs the queries, messages added before
+    // the query are included.
+    private void observeChatMessagesForSearch(ChatChannel<? extends ChatMessage> channel) {
+        unbindChatMessagesForSearchPin();
+        if (channel != null) {
+            chatMessagesForSearchPin = observeAddedChatMessages(channel);
+        }
+    }
+
+    private <T extends ChatMessage> Pin observeAddedChatMessages(ChatChannel<T> channel) {
+        return channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(T element) {
+                onChatMessagesAdded();
+            }
+
+            @Override
+            public void addAll(Collection<? extends T> values) {
+                onChatMessagesAdded();
+            }
+
+            @Override
+            public void setAll(Collection<? extends T> values) {
+                onChatMessagesAdded();
+            }
+
+            @Override
+            public void remove(Object element) {
+            }
+
+            @Override
+            public void clear() {
+            }
+        }, task -> CompletableFuture.delayedExecutor(SEARCH_UPDATE_INTERVAL, TimeUnit.MILLISECONDS)
+                .execute(() -> UIThread.run(task)));
+    }
+
+    private void onChatMessagesAdded() {
+        String searchText = model.getSearchText().get();
+        if (searchText != null && !searchText.isEmpty()) {
+            applySearchText();
+        }
+    }
+
+    private void unbindChatMessagesForSearchPin() {
+        if (chatMessagesForSearchPin != null) {
+            chatMessagesForSearchPin.unbind();
+            chatMessagesForSearchPin = null;
+        }
+    }
+
+    private void applySearchText() {
+        long searchRequestId = ++searchRequestCounter;
+        String searchText = model.getSearchText().get();
+        ChatChannel<? extends ChatMessage> channel = model.getSelectedChannel();
+        if (searchText == null || searchText.isEmpty() || channel == null) {
+            chatMessageContainerController.setSearchPredicate(item -> true);
+            return;
+        }
+        chatService.getChatSearchService().search(channel.getId(), searchText)
+                .thenAccept(messageIds -> UIThread.run(() -> {
+                    // Ignore results of outdated queries
+                    if (searchRequestId == searchRequestCounter) {
+                        chatMessageContainerController.setSearchPredicate(item -> messageIds.contains(item.getChatMessage().getId()));
+                    }
+                }));
+    }
 }
@@ -144,7 +144,7 @@ public final class CommonChatTabController extends ContentTabController<CommonCh
     private void handlePrivateNotification() {
         AtomicLong count = new AtomicLong();
         twoPartyPrivateChatChannelService.getChannels().forEach(channel ->
-                count.addAndGet(chatNotificationService.getNotConsumedNotifications(channel.getId()).count()));
+                count.addAndGet(chatNotificationService.getNumNotifications(channel.getId())));
         UIThread.run(() ->
                 model.getTabButtons().stream()
                         .filter(tabButton -> model.getPrivateChatsNavigationTarget() == tabButton.getNavigationTarget())
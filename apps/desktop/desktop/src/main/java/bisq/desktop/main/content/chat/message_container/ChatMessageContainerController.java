@@ -22,10 +22,10 @@ import bisq.user.identity.UserIdentity;
 import bisq.user.identity.UserIdentityService;
 import bisq.user.profile.UserProfile;
 import bisq.user.profile.UserProfileService;
+import com.google.common.collect.Lists;
 import lombok.Getter;
 
 import javax.annotation.Nullable;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -295,8 +295,7 @@ public class ChatMessageContainerController implements bisq.desktop.common.view.
     }
 
     private List<UserIdentity> getMyUserProfilesInChannel() {
-        return model.getSelectedChannel().get().getChatMessages().stream()
-                .sorted(Comparator.comparing(ChatMessage::getDate).reversed())
+        return Lists.reverse(model.getSelectedChannel().get().getChatMessageTimeline().getAll()).stream()
                 .map(ChatMessage::getAuthorUserProfileId)
                 .map(userIdentityService::findUserIdentity)
                 .filter(Optional::isPresent)
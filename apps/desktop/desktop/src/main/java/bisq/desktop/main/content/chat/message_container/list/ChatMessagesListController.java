@@ -16,9 +16,11 @@ import bisq.chat.priv.PrivateChatChannel;
 import bisq.chat.priv.PrivateChatChannelService;
 import bisq.chat.priv.PrivateChatMessage;
 import bisq.chat.pub.PublicChatChannel;
+import bisq.chat.pub.PublicChatChannelService;
 import bisq.chat.pub.PublicChatMessage;
 import bisq.chat.two_party.TwoPartyPrivateChatChannel;
 import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionChange;
 import bisq.common.observable.collection.CollectionObserver;
 import bisq.desktop.ServiceProvider;
 import bisq.desktop.common.observable.FxBindings;
@@ -57,10 +59,9 @@ import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.Subscription;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -69,6 +70,11 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 @Slf4j
 public class ChatMessagesListController implements bisq.desktop.common.view.Controller {
+    // Changes of the channel's messages get collected and applied to the list at most once in that interval (ms)
+    private static final long CHAT_MESSAGES_UPDATE_INTERVAL = 50;
+    // Number of messages loaded from the local history of a public channel when scrolled to the top
+    private static final int HISTORY_PAGE_SIZE = 100;
+
     private final ChatService chatService;
     private final UserIdentityService userIdentityService;
     private final UserProfileService userProfileService;
@@ -192,6 +198,9 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
             model.getChatMessages().clear();
             model.getChatMessageIds().clear();
             model.setAutoScrollToBottom(true);
+            model.setLoadingHistory(false);
+            model.setHistoryExhausted(false);
+            model.setHistoryCursor(null);
 
             if (channel instanceof BisqEasyOfferbookChannel) {
                 chatMessagesPin = bindChatMessages((BisqEasyOfferbookChannel) channel);
@@ -500,6 +509,71 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
 
         int numUnReadMessages = model.getChatMessages().size() - model.getNumReadMessages();
         model.getNumUnReadMessages().set(numUnReadMessages > 0 ? String.valueOf(numUnReadMessages) : "");
+
+        // If the list does not fill the view there is no scrollbar, so we load the history without scrolling
+        if (scrollValue == 0d || !model.getScrollBarVisible().get()) {
+            maybeLoadHistory();
+        }
+    }
+
+    private void maybeLoadHistory() {
+        if (model.isLoadingHistory() || model.isHistoryExhausted()) {
+            return;
+        }
+        ChatChannel<?> channel = model.getSelectedChannel().get();
+        if (channel instanceof BisqEasyOfferbookChannel) {
+            loadHistory(chatService.getBisqEasyOfferbookChannelService(), (BisqEasyOfferbookChannel) channel);
+        } else if (channel instanceof CommonPublicChatChannel) {
+            CommonPublicChatChannelService commonPublicChatChannelService = chatService.getCommonPublicChatChannelServices().get(model.getChatChannelDomain());
+            loadHistory(commonPublicChatChannelService, (CommonPublicChatChannel) channel);
+        }
+    }
+
+    private <M extends PublicChatMessage, C extends PublicChatChannel<M>> void loadHistory(PublicChatChannelService<M, C, ?> service,
+                                                                                           C channel) {
+        model.setLoadingHistory(true);
+        // Messages which are kept in the channel can be older than the ones in the history, so we page by the
+        // oldest message loaded from the history and not by the oldest message shown.
+        ChatMessage cursor = model.getHistoryCursor();
+        service.loadHistory(channel, cursor, HISTORY_PAGE_SIZE).whenComplete((chatMessages, throwable) -> UIThread.run(() -> {
+            if (!channel.equals(model.getSelectedChannel().get()) || cursor != model.getHistoryCursor()) {
+                // Channel has changed in the meantime
+                return;
+            }
+            model.setLoadingHistory(false);
+            if (throwable != null) {
+                log.error("Loading history of channel {} failed", channel.getId(), throwable);
+                model.setHistoryExhausted(true);
+                return;
+            }
+            if (chatMessages.size() < HISTORY_PAGE_SIZE) {
+                model.setHistoryExhausted(true);
+            }
+            if (chatMessages.isEmpty()) {
+                return;
+            }
+            model.setHistoryCursor(chatMessages.get(0));
+
+            // We keep the message at the top of the view in place, so that we do not load the next page at once
+            Optional<ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> firstShownItem =
+                    model.getSortedChatMessages().stream().findFirst();
+            List<ChatMessageListItem<M, C>> items = chatMessages.stream()
+                    .filter(chatMessage -> model.getChatMessageIds().add(chatMessage.getId()))
+                    .map(chatMessage -> new ChatMessageListItem<>(chatMessage,
+                            channel,
+                            marketPriceService,
+                            userProfileService,
+                            reputationService,
+                            bisqEasyTradeService,
+                            userIdentityService,
+                            networkService,
+                            resendMessageService))
+                    .collect(Collectors.toList());
+            model.getChatMessages().addAll(items);
+            // History messages are read already
+            model.setNumReadMessages(model.getNumReadMessages() + items.size());
+            firstShownItem.ifPresent(view::scrollToChatMessage);
+        }));
     }
 
     private void maybeScrollDownOnNewItemAdded() {
@@ -585,8 +659,8 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
     }
 
     private <M extends ChatMessage, C extends ChatChannel<M>> Pin bindChatMessages(C channel) {
-        // We clear and fill the list at channel change. The addObserver triggers the add method for each item,
-        // but as we have a contains() check there it will not have any effect.
+        // We clear and fill the list at channel change. The addObserver delivers all messages again, but as we skip
+        // the messages already in chatMessageIds it will not have any effect.
         model.getChatMessages().setAll(channel.getChatMessages().stream()
                 .map(chatMessage -> new ChatMessageListItem<>(chatMessage,
                         channel,
@@ -604,54 +678,14 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
                 .collect(Collectors.toSet()));
         maybeScrollDownOnNewItemAdded();
 
-        return channel.getChatMessages().addObserver(new CollectionObserver<>() {
-            @Override
-            public void add(M chatMessage) {
-                UIThread.run(() -> {
-                    if (model.getChatMessageIds().contains(chatMessage.getId())) {
-                        return;
-                    }
-                    ChatMessageListItem<M, C> item = new ChatMessageListItem<>(chatMessage,
-                            channel,
-                            marketPriceService,
-                            userProfileService,
-                            reputationService,
-                            bisqEasyTradeService,
-                            userIdentityService,
-                            networkService,
-                            resendMessageService);
-                    model.getChatMessages().add(item);
-                    maybeScrollDownOnNewItemAdded();
-                });
-            }
-
-            @Override
-            public void remove(Object element) {
-                if (element instanceof ChatMessage) {
-                    UIThread.run(() -> {
-                        ChatMessage chatMessage = (ChatMessage) element;
-                        Optional<ChatMessageListItem<? extends ChatMessage, ? extends ChatChannel<? extends ChatMessage>>> toRemove =
-                                model.getChatMessages().stream()
-                                        .filter(item -> item.getChatMessage().getId().equals(chatMessage.getId()))
-                                        .findAny();
-                        toRemove.ifPresent(item -> {
-                            item.dispose();
-                            model.getChatMessages().remove(item);
-                            model.getChatMessageIds().remove(item.getChatMessage().getId());
-                        });
-                    });
-                }
-            }
-
-            @Override
-            public void clear() {
-                UIThread.run(() -> {
-                    model.getChatMessages().forEach(ChatMessageListItem::dispose);
-                    model.getChatMessages().clear();
-                    model.getChatMessageIds().clear();
-                });
-            }
-        });
+        ChatMessagesObserver<M, C> chatMessagesObserver = new ChatMessagesObserver<>(channel);
+        Pin pin = channel.getChatMessages().addObserver(chatMessagesObserver, task ->
+                CompletableFuture.delayedExecutor(CHAT_MESSAGES_UPDATE_INTERVAL, TimeUnit.MILLISECONDS)
+                        .execute(() -> UIThread.run(task)));
+        return () -> {
+            chatMessagesObserver.isActive = false;
+            pin.unbind();
+        };
     }
 
     public String getUserName(String userProfileId) {
@@ -667,4 +701,83 @@ public class ChatMessagesListController implements bisq.desktop.common.view.Cont
     public boolean canResendMessage(String messageId) {
         return resendMessageService.map(service -> service.canManuallyResendMessage(messageId)).orElse(false);
     }
+
+    /**
+     * Applies the coalesced changes of the channel's messages to the list. Called on the JavaFX Application Thread.
+     */
+    private class ChatMessagesObserver<M extends ChatMessage, C extends ChatChannel<M>> implements CollectionObserver<M> {
+        private final C channel;
+        // A change might still be pending when the channel gets unbound
+        private boolean isActive = true;
+
+        private ChatMessagesObserver(C channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void add(M chatMessage) {
+            update(false, List.of(chatMessage), List.of());
+        }
+
+        @Override
+        public void remove(Object element) {
+            update(false, List.of(), List.of(element));
+        }
+
+        @Override
+        public void clear() {
+            update(true, List.of(), List.of());
+        }
+
+        @Override
+        public void applyChange(CollectionChange<? extends M> change) {
+            update(change.isReplaced(), change.getAdded(), change.getRemoved());
+        }
+
+        private void update(boolean replaced, List<? extends M> added, List<?> removed) {
+            if (!isActive) {
+                return;
+            }
+
+            if (replaced) {
+                model.getChatMessages().forEach(ChatMessageListItem::dispose);
+                model.getChatMessages().clear();
+                model.getChatMessageIds().clear();
+            } else if (!removed.isEmpty()) {
+                Set<String> removedIds = removed.stream()
+                        .filter(element -> element instanceof ChatMessage)
+                        .map(element -> ((ChatMessage) element).getId())
+                        .filter(model.getChatMessageIds()::remove)
+                        .collect(Collectors.toSet());
+                if (!removedIds.isEmpty()) {
+                    model.getChatMessages().removeIf(item -> {
+                        if (removedIds.contains(item.getChatMessage().getId())) {
+                            item.dispose();
+                            return true;
+                        }
+                        return false;
+                    });
+                }
+            }
+
+            // The list gets filled at channel change, so we ignore the messages which are already present
+            List<ChatMessageListItem<M, C>> items = added.stream()
+                    .filter(chatMessage -> model.getChatMessageIds().add(chatMessage.getId()))
+                    .map(chatMessage -> new ChatMessageListItem<>(chatMessage,
+                            channel,
+                            marketPriceService,
+                            userProfileService,
+                            reputationService,
+                            bisqEasyTradeService,
+                            userIdentityService,
+                            networkService,
+                            resendMessageService))
+                    .collect(Collectors.toList());
+            if (!items.isEmpty()) {
+                // Adding all at once lets the filtered and sorted lists get updated only once
+                model.getChatMessages().addAll(items);
+                maybeScrollDownOnNewItemAdded();
+            }
+        }
+    }
 }
@@ -12,6 +12,7 @@ import javafx.collections.transformation.SortedList;
 import lombok.Getter;
 import lombok.Setter;
 
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -44,6 +45,14 @@ public class ChatMessagesListModel implements bisq.desktop.common.view.Model {
     private final BooleanProperty showScrolledDownButton = new SimpleBooleanProperty();
     private final BooleanProperty scrollBarVisible = new SimpleBooleanProperty();
     private final DoubleProperty scrollValue = new SimpleDoubleProperty();
+    // Scroll-back into the local history of public channels
+    @Setter
+    private boolean loadingHistory;
+    @Setter
+    private boolean historyExhausted;
+    @Setter
+    @Nullable
+    private ChatMessage historyCursor;
 
     public ChatMessagesListModel(UserIdentityService userIdentityService,
                                  ChatChannelDomain chatChannelDomain) {
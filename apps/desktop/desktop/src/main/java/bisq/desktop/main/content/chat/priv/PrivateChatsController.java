@@ -182,7 +182,7 @@ public abstract class PrivateChatsController extends ChatController<PrivateChats
     private void handlePrivateNotification(String channelId) {
         UIThread.run(() -> {
             channelService.findChannel(channelId).ifPresent(channel -> {
-                long numNotifications = chatNotificationService.getNotConsumedNotifications(channel.getId()).count();
+                long numNotifications = chatNotificationService.getNumNotifications(channel.getId());
                 model.getFilteredList().stream()
                         .filter(listItem -> listItem.getChannel() == channel)
                         .findAny()
@@ -138,7 +138,8 @@ public class RestApiApplicationService extends ApplicationService {
 
         offerService = new OfferService(networkService, identityService, persistenceService);
 
-        chatService = new ChatService(persistenceService,
+        chatService = new ChatService(ChatService.Config.from(getConfig("chat")),
+                persistenceService,
                 networkService,
                 userService,
                 settingsService,
@@ -114,14 +114,14 @@ public class BisqEasyNotificationsService implements Service {
 
     public long getNumNotifications(NavigationTarget navigationTarget) {
         return ChatChannelDomainNavigationTargetMapper.fromNavigationTarget(navigationTarget).stream()
-                .flatMap(chatNotificationService::getNotConsumedNotifications)
-                .count();
+                .mapToLong(chatNotificationService::getNumNotifications)
+                .sum();
     }
 
     public long getNumNotificationsForDomains(Set<ChatChannelDomain> domains) {
-        return chatNotificationService.getNotConsumedNotifications()
-                .filter(n -> domains.contains(n.getChatChannelDomain()))
-                .count();
+        return domains.stream()
+                .mapToLong(chatNotificationService::getNumNotifications)
+                .sum();
     }
 
     private void updateNotificationVisibilityState() {
@@ -0,0 +1,163 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat;
+
+import java.util.*;
+
+/**
+ * Number of messages per author of a channel. Authors are kept in buckets of equal message count, ordered by count,
+ * so that increment and decrement are O(1) and the most active authors can be read without sorting.
+ */
+public final class ChatAuthorCounters {
+    private static final class Bucket {
+        private final int numMessages;
+        private final Set<String> authorIds = new LinkedHashSet<>();
+        // Neighbour buckets with the next lower and next higher message count
+        private Bucket lower, higher;
+
+        private Bucket(int numMessages) {
+            this.numMessages = numMessages;
+        }
+    }
+
+    private final Map<String, Bucket> bucketByAuthorId = new HashMap<>();
+    private Bucket lowest, highest;
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The number of messages of the author after the increment.
+     */
+    public synchronized int increment(String authorId) {
+        Bucket bucket = bucketByAuthorId.get(authorId);
+        int numMessages = bucket == null ? 1 : bucket.numMessages + 1;
+        Bucket target;
+        if (bucket == null) {
+            target = lowest != null && lowest.numMessages == 1 ? lowest : insertAfter(null, 1);
+        } else {
+            target = bucket.higher != null && bucket.higher.numMessages == numMessages
+                    ? bucket.higher
+                    : insertAfter(bucket, numMessages);
+            removeFromBucket(bucket, authorId);
+        }
+        target.authorIds.add(authorId);
+        bucketByAuthorId.put(authorId, target);
+        return numMessages;
+    }
+
+    /**
+     * @return The number of messages of the author after the decrement. If 0, the author got removed.
+     */
+    public synchronized int decrement(String authorId) {
+        Bucket bucket = bucketByAuthorId.get(authorId);
+        if (bucket == null) {
+            return 0;
+        }
+        int numMessages = bucket.numMessages - 1;
+        if (numMessages == 0) {
+            bucketByAuthorId.remove(authorId);
+        } else {
+            Bucket target = bucket.lower != null && bucket.lower.numMessages == numMessages
+                    ? bucket.lower
+                    : insertAfter(bucket.lower, numMessages);
+            target.authorIds.add(authorId);
+            bucketByAuthorId.put(authorId, target);
+        }
+        removeFromBucket(bucket, authorId);
+        return numMessages;
+    }
+
+    public synchronized void clear() {
+        bucketByAuthorId.clear();
+        lowest = null;
+        highest = null;
+    }
+
+    public synchronized int getNumMessages(String authorId) {
+        Bucket bucket = bucketByAuthorId.get(authorId);
+        return bucket == null ? 0 : bucket.numMessages;
+    }
+
+    public synchronized int getNumAuthors() {
+        return bucketByAuthorId.size();
+    }
+
+    /**
+     * @return Up to {@code limit} author IDs, the author with most messages first. Authors with the same number of
+     * messages are in the order they reached that number.
+     */
+    public synchronized List<String> getMostActiveAuthorIds(int limit) {
+        List<String> result = new ArrayList<>(Math.min(limit, bucketByAuthorId.size()));
+        for (Bucket bucket = highest; bucket != null && result.size() < limit; bucket = bucket.lower) {
+            for (String authorId : bucket.authorIds) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(authorId);
+            }
+        }
+        return result;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    // If lower is null the new bucket becomes the lowest
+    private Bucket insertAfter(Bucket lower, int numMessages) {
+        return insertAfter(lower, new Bucket(numMessages));
+    }
+
+    private Bucket insertAfter(Bucket lower, Bucket bucket) {
+        Bucket higher = lower == null ? lowest : lower.higher;
+        bucket.lower = lower;
+        bucket.higher = higher;
+        if (lower == null) {
+            lowest = bucket;
+        } else {
+            lower.higher = bucket;
+        }
+        if (higher == null) {
+            highest = bucket;
+        } else {
+            higher.lower = bucket;
+        }
+        return bucket;
+    }
+
+    private void removeFromBucket(Bucket bucket, String authorId) {
+        bucket.authorIds.remove(authorId);
+        if (!bucket.authorIds.isEmpty()) {
+            return;
+        }
+        if (bucket.lower == null) {
+            lowest = bucket.higher;
+        } else {
+            bucket.lower.higher = bucket.higher;
+        }
+        if (bucket.higher == null) {
+            highest = bucket.lower;
+        } else {
+            bucket.higher.lower = bucket.lower;
+        }
+    }
+}
@@ -31,7 +31,6 @@ import lombok.Getter;
 import lombok.ToString;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @ToString
 @Getter
@@ -43,9 +42,14 @@ public abstract class ChatChannel<M extends ChatMessage> implements PersistableP
     protected final Observable<ChatChannelNotificationType> chatChannelNotificationType = new Observable<>();
     @Getter
     protected final transient ObservableSet<String> userProfileIdsOfParticipants = new ObservableSet<>();
-    protected final transient Map<String, AtomicInteger> numMessagesByAuthorId = new HashMap<>();
+    @ToString.Exclude
+    protected final transient ChatAuthorCounters authorCounters = new ChatAuthorCounters();
     @Getter
     protected final transient Set<String> userProfileIdsOfSendingLeaveMessage = new HashSet<>();
+    // Same messages as in getChatMessages() ordered by date. Use it for showing the latest messages or paging instead
+    // of sorting the whole set.
+    @ToString.Exclude
+    protected final transient ChatMessageTimeline<M> chatMessageTimeline = new ChatMessageTimeline<>();
 
     public ChatChannel(String id,
                        ChatChannelDomain chatChannelDomain,
@@ -97,9 +101,8 @@ public abstract class ChatChannel<M extends ChatMessage> implements PersistableP
     public boolean addChatMessage(M chatMessage) {
         boolean changed = getChatMessages().add(chatMessage);
         if (changed) {
-            String authorUserProfileId = chatMessage.getAuthorUserProfileId();
-            numMessagesByAuthorId.putIfAbsent(authorUserProfileId, new AtomicInteger());
-            numMessagesByAuthorId.get(authorUserProfileId).incrementAndGet();
+            chatMessageTimeline.add(chatMessage);
+            authorCounters.increment(chatMessage.getAuthorUserProfileId());
         }
         return changed;
     }
@@ -107,13 +110,12 @@ public abstract class ChatChannel<M extends ChatMessage> implements PersistableP
     public boolean removeChatMessage(M chatMessage) {
         boolean changed = getChatMessages().remove(chatMessage);
         if (changed) {
+            chatMessageTimeline.remove(chatMessage);
             String authorUserProfileId = chatMessage.getAuthorUserProfileId();
-            if (numMessagesByAuthorId.containsKey(authorUserProfileId)) {
-                AtomicInteger numMessages = numMessagesByAuthorId.get(authorUserProfileId);
-                if (numMessages.get() > 0 && numMessages.decrementAndGet() == 0) {
-                    // If no more messages of that user exist we remove them from userProfileIdsOfParticipants
-                    userProfileIdsOfParticipants.remove(chatMessage.getAuthorUserProfileId());
-                }
+            if (authorCounters.getNumMessages(authorUserProfileId) > 0 &&
+                    authorCounters.decrement(authorUserProfileId) == 0) {
+                // If no more messages of that user exist we remove them from userProfileIdsOfParticipants
+                userProfileIdsOfParticipants.remove(authorUserProfileId);
             }
         }
         return changed;
@@ -130,4 +132,20 @@ public abstract class ChatChannel<M extends ChatMessage> implements PersistableP
     public boolean isParticipant(UserProfile userProfile) {
         return userProfileIdsOfParticipants.contains(userProfile.getId());
     }
+
+    public int getNumParticipants() {
+        return userProfileIdsOfParticipants.size();
+    }
+
+    public int getNumMessages(String authorUserProfileId) {
+        return authorCounters.getNumMessages(authorUserProfileId);
+    }
+
+    /**
+     * @return Up to {@code limit} user profile IDs of the authors with the most messages in the channel, most active
+     * first.
+     */
+    public List<String> getMostActiveAuthorIds(int limit) {
+        return authorCounters.getMostActiveAuthorIds(limit);
+    }
 }
\ No newline at end of file
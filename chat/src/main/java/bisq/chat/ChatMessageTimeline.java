@@ -0,0 +1,219 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat;
+
+import bisq.common.observable.Pin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps the messages of a chat channel ordered by date. Messages with the same date are ordered by their ID, so the
+ * order is stable across nodes and restarts.
+ * Queries return the messages in ascending order (oldest first). A message used as cursor does not need to be part of
+ * the timeline, only its date and ID are used.
+ * Observers get notified while the lock is held, so the index passed to them is consistent with the sequence of
+ * changes.
+ *
+ * @param <M> The type of the chat message
+ */
+public final class ChatMessageTimeline<M extends ChatMessage> {
+    public static final Comparator<ChatMessage> DATE_ORDER = Comparator.comparingLong(ChatMessage::getDate)
+            .thenComparing(ChatMessage::getId);
+
+    public interface Observer<M> {
+        void onAdded(M chatMessage, int index);
+
+        void onRemoved(M chatMessage, int index);
+    }
+
+    private final List<M> messages = new ArrayList<>();
+    private final List<Observer<M>> observers = new CopyOnWriteArrayList<>();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The index at which the message got inserted or -1 if it was already present.
+     */
+    public synchronized int add(M chatMessage) {
+        int index = lowerBound(chatMessage);
+        for (int i = index; i < messages.size() && DATE_ORDER.compare(messages.get(i), chatMessage) == 0; i++) {
+            if (messages.get(i).equals(chatMessage)) {
+                return -1;
+            }
+        }
+        // Insert after messages with equal date and ID (e.g. edited versions) to keep insertion order among them
+        index = upperBound(chatMessage);
+        messages.add(index, chatMessage);
+        for (Observer<M> observer : observers) {
+            observer.onAdded(chatMessage, index);
+        }
+        return index;
+    }
+
+    /**
+     * @return The index from which the message got removed or -1 if it was not present.
+     */
+    public synchronized int remove(M chatMessage) {
+        int index = indexOf(chatMessage);
+        if (index < 0) {
+            return -1;
+        }
+        messages.remove(index);
+        for (Observer<M> observer : observers) {
+            observer.onRemoved(chatMessage, index);
+        }
+        return index;
+    }
+
+    public synchronized void clear() {
+        for (int index = messages.size() - 1; index >= 0; index--) {
+            M chatMessage = messages.remove(index);
+            for (Observer<M> observer : observers) {
+                observer.onRemoved(chatMessage, index);
+            }
+        }
+    }
+
+    public synchronized int indexOf(M chatMessage) {
+        for (int i = lowerBound(chatMessage); i < messages.size() && DATE_ORDER.compare(messages.get(i), chatMessage) == 0; i++) {
+            if (messages.get(i).equals(chatMessage)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public synchronized int size() {
+        return messages.size();
+    }
+
+    public synchronized boolean isEmpty() {
+        return messages.isEmpty();
+    }
+
+    /**
+     * @return A snapshot of all messages, oldest first.
+     */
+    public synchronized List<M> getAll() {
+        return Collections.unmodifiableList(new ArrayList<>(messages));
+    }
+
+    /**
+     * @return The latest {@code limit} messages, oldest first.
+     */
+    public synchronized List<M> getLatest(int limit) {
+        int to = messages.size();
+        return copy(Math.max(0, to - Math.max(0, limit)), to);
+    }
+
+    /**
+     * @return Up to {@code limit} messages ordered before the cursor, oldest first. Used for paging backwards from
+     * the oldest message shown.
+     */
+    public synchronized List<M> getBefore(ChatMessage cursor, int limit) {
+        int to = lowerBound(cursor);
+        return copy(Math.max(0, to - Math.max(0, limit)), to);
+    }
+
+    /**
+     * @return Up to {@code limit} messages ordered after the cursor, oldest first.
+     */
+    public synchronized List<M> getAfter(ChatMessage cursor, int limit) {
+        int from = upperBound(cursor);
+        return copy(from, Math.min(messages.size(), from + Math.max(0, limit)));
+    }
+
+    /**
+     * @return All messages with {@code fromDate <= date < toDate}, oldest first.
+     */
+    public synchronized List<M> getRange(long fromDate, long toDate) {
+        if (toDate <= fromDate) {
+            return Collections.emptyList();
+        }
+        return copy(lowerBoundOfDate(fromDate), lowerBoundOfDate(toDate));
+    }
+
+    public Pin addObserver(Observer<M> observer) {
+        observers.add(observer);
+        return () -> observers.remove(observer);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private List<M> copy(int from, int to) {
+        if (from >= to) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(messages.subList(from, to)));
+    }
+
+    // First index with an element not ordered before chatMessage
+    private int lowerBound(ChatMessage chatMessage) {
+        int low = 0;
+        int high = messages.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (DATE_ORDER.compare(messages.get(mid), chatMessage) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First index with an element ordered after chatMessage
+    private int upperBound(ChatMessage chatMessage) {
+        int low = 0;
+        int high = messages.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (DATE_ORDER.compare(messages.get(mid), chatMessage) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First index with an element of a date not before the given date
+    private int lowerBoundOfDate(long date) {
+        int low = 0;
+        int high = messages.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (messages.get(mid).getDate() < date) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
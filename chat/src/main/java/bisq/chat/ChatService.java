@@ -29,6 +29,8 @@ import bisq.chat.common.CommonPublicChatChannel;
 import bisq.chat.common.CommonPublicChatChannelService;
 import bisq.chat.notifications.ChatNotificationService;
 import bisq.chat.priv.PrivateChatChannelService;
+import bisq.chat.pub.PublicChatChannelRetention;
+import bisq.chat.search.ChatSearchService;
 import bisq.chat.two_party.TwoPartyPrivateChatChannel;
 import bisq.chat.two_party.TwoPartyPrivateChatChannelService;
 import bisq.common.application.Service;
@@ -43,6 +45,7 @@ import bisq.user.identity.UserIdentityService;
 import bisq.user.profile.UserProfile;
 import bisq.user.profile.UserProfileService;
 import lombok.Getter;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
@@ -54,23 +57,41 @@ import java.util.stream.Stream;
 @Slf4j
 @Getter
 public class ChatService implements Service {
+    @Getter
+    @ToString
+    public static final class Config {
+        private final PublicChatChannelRetention publicChatChannelRetention;
+
+        public Config(PublicChatChannelRetention publicChatChannelRetention) {
+            this.publicChatChannelRetention = publicChatChannelRetention;
+        }
+
+        public static Config from(com.typesafe.config.Config config) {
+            return new Config(PublicChatChannelRetention.from(config.getConfig("publicChatChannelRetention")));
+        }
+    }
+
+    private final Config config;
     private final PersistenceService persistenceService;
     private final NetworkService networkService;
     private final UserService userService;
     private final UserIdentityService userIdentityService;
     private final UserProfileService userProfileService;
     private final ChatNotificationService chatNotificationService;
+    private final ChatSearchService chatSearchService;
     private final BisqEasyOfferbookChannelService bisqEasyOfferbookChannelService;
     private final BisqEasyOpenTradeChannelService bisqEasyOpenTradeChannelService;
     private final Map<ChatChannelDomain, CommonPublicChatChannelService> commonPublicChatChannelServices = new HashMap<>();
     private final Map<ChatChannelDomain, TwoPartyPrivateChatChannelService> twoPartyPrivateChatChannelServices = new HashMap<>();
     private final Map<ChatChannelDomain, ChatChannelSelectionService> chatChannelSelectionServices = new HashMap<>();
 
-    public ChatService(PersistenceService persistenceService,
+    public ChatService(Config config,
+                       PersistenceService persistenceService,
                        NetworkService networkService,
                        UserService userService,
                        SettingsService settingsService,
                        SendNotificationService sendNotificationService) {
+        this.config = config;
         this.persistenceService = persistenceService;
         this.networkService = networkService;
         this.userService = userService;
@@ -87,7 +108,8 @@ public class ChatService implements Service {
         // BISQ_EASY
         bisqEasyOfferbookChannelService = new BisqEasyOfferbookChannelService(persistenceService,
                 networkService,
-                userService);
+                userService,
+                config.getPublicChatChannelRetention());
         bisqEasyOpenTradeChannelService = new BisqEasyOpenTradeChannelService(persistenceService,
                 networkService,
                 userService);
@@ -130,6 +152,8 @@ public class ChatService implements Service {
                         new CommonPublicChatChannel(ChatChannelDomain.SUPPORT, "reports")));
         addToTwoPartyPrivateChatChannelServices(ChatChannelDomain.SUPPORT);
         addToChatChannelSelectionServices(ChatChannelDomain.SUPPORT);
+
+        chatSearchService = new ChatSearchService(this, userProfileService);
     }
 
     @Override
@@ -149,6 +173,7 @@ public class ChatService implements Service {
                 .collect(Collectors.toList()));
 
         list.add(chatNotificationService.initialize());
+        list.add(chatSearchService.initialize());
 
         return CompletableFutureUtils.allOf(list).thenApply(result -> true);
     }
@@ -168,6 +193,7 @@ public class ChatService implements Service {
                 .collect(Collectors.toList()));
 
         list.add(chatNotificationService.shutdown());
+        list.add(chatSearchService.shutdown());
 
         return CompletableFutureUtils.allOf(list).thenApply(result -> true);
     }
@@ -248,7 +274,8 @@ public class ChatService implements Service {
                         networkService,
                         userService,
                         chatChannelDomain,
-                        channels));
+                        channels,
+                        config.getPublicChatChannelRetention()));
     }
 
     private void addToChatChannelSelectionServices(ChatChannelDomain chatChannelDomain) {
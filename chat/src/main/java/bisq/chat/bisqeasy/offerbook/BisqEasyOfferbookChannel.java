@@ -21,6 +21,7 @@ import bisq.chat.ChatChannelDomain;
 import bisq.chat.ChatChannelNotificationType;
 import bisq.chat.pub.PublicChatChannel;
 import bisq.common.currency.Market;
+import bisq.common.observable.Observable;
 import bisq.i18n.Res;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -37,6 +38,10 @@ public final class BisqEasyOfferbookChannel extends PublicChatChannel<BisqEasyOf
     }
 
     private final Market market;
+    // Number of messages with an offer. Updated when messages get added or removed, so that it does not require to
+    // iterate over the messages.
+    @ToString.Exclude
+    private final transient Observable<Integer> numOffers = new Observable<>(0);
 
     public BisqEasyOfferbookChannel(Market market) {
         this(createId(market), ChatChannelNotificationType.ALL, market);
@@ -64,6 +69,32 @@ public final class BisqEasyOfferbookChannel extends PublicChatChannel<BisqEasyOf
                 Market.fromProto(proto.getMarket()));
     }
 
+    @Override
+    public boolean addChatMessage(BisqEasyOfferbookMessage chatMessage) {
+        boolean changed = super.addChatMessage(chatMessage);
+        if (changed && chatMessage.hasBisqEasyOffer()) {
+            updateNumOffers(1);
+        }
+        return changed;
+    }
+
+    @Override
+    public boolean removeChatMessage(BisqEasyOfferbookMessage chatMessage) {
+        boolean changed = super.removeChatMessage(chatMessage);
+        if (changed && chatMessage.hasBisqEasyOffer()) {
+            updateNumOffers(-1);
+        }
+        return changed;
+    }
+
+    // Messages can be added and removed from different threads, so the read and write of the counter must not
+    // interleave
+    private void updateNumOffers(int delta) {
+        synchronized (numOffers) {
+            numOffers.set(numOffers.get() + delta);
+        }
+    }
+
     @Override
     public String getDisplayString() {
         return market.getMarketCodes();
@@ -20,13 +20,12 @@ package bisq.chat.bisqeasy.offerbook;
 import bisq.chat.ChatChannelDomain;
 import bisq.chat.Citation;
 import bisq.chat.pub.PublicChatChannel;
+import bisq.chat.pub.PublicChatChannelRetention;
 import bisq.chat.pub.PublicChatChannelService;
 import bisq.common.currency.Market;
 import bisq.common.currency.MarketRepository;
 import bisq.common.observable.collection.ObservableArray;
 import bisq.network.NetworkService;
-import bisq.network.p2p.services.data.storage.DistributedData;
-import bisq.network.p2p.services.data.storage.auth.AuthenticatedData;
 import bisq.offer.bisq_easy.BisqEasyOffer;
 import bisq.persistence.DbSubDirectory;
 import bisq.persistence.Persistence;
@@ -50,37 +49,13 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
 
     public BisqEasyOfferbookChannelService(PersistenceService persistenceService,
                                            NetworkService networkService,
-                                           UserService userService) {
-        super(networkService, userService, ChatChannelDomain.BISQ_EASY_OFFERBOOK);
+                                           UserService userService,
+                                           PublicChatChannelRetention retention) {
+        super(persistenceService, networkService, userService, ChatChannelDomain.BISQ_EASY_OFFERBOOK, retention);
         persistence = persistenceService.getOrCreatePersistence(this, DbSubDirectory.CACHE, persistableStore);
     }
 
 
-    ///////////////////////////////////////////////////////////////////////////////////////////////////
-    // DataService.Listener
-    ///////////////////////////////////////////////////////////////////////////////////////////////////
-
-    @Override
-    public void onAuthenticatedDataAdded(AuthenticatedData authenticatedData) {
-        handleAuthenticatedDataAdded(authenticatedData);
-    }
-
-    @Override
-    public void onAuthenticatedDataRemoved(AuthenticatedData authenticatedData) {
-        DistributedData distributedData = authenticatedData.getDistributedData();
-        if (distributedData instanceof BisqEasyOfferbookMessage) {
-            processRemovedMessage((BisqEasyOfferbookMessage) distributedData);
-        }
-    }
-
-    @Override
-    protected void handleAuthenticatedDataAdded(AuthenticatedData authenticatedData) {
-        DistributedData distributedData = authenticatedData.getDistributedData();
-        if (distributedData instanceof BisqEasyOfferbookMessage) {
-            processAddedMessage((BisqEasyOfferbookMessage) distributedData);
-        }
-    }
-
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // API 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
@@ -116,6 +91,17 @@ public class BisqEasyOfferbookChannelService extends PublicChatChannelService<Bi
     // Protected 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    @Override
+    protected Class<BisqEasyOfferbookMessage> getChatMessageClass() {
+        return BisqEasyOfferbookMessage.class;
+    }
+
+    // Offers stay in the offerbook until they get removed or expire
+    @Override
+    protected boolean canBeMovedToHistory(BisqEasyOfferbookMessage message) {
+        return !message.hasBisqEasyOffer();
+    }
+
     @Override
     protected BisqEasyOfferbookMessage createChatMessage(String text,
                                                          Optional<Citation> citation,
@@ -0,0 +1,87 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.bisqeasy.open_trades;
+
+import bisq.common.observable.collection.CollectionObserver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lookup of the open trade channels by channel ID, trade ID and peer's user profile ID. It observes the channels of
+ * the {@link BisqEasyOpenTradeChannelStore}, so it stays in sync with added and removed channels and with the
+ * channels applied from the persisted store.
+ */
+final class BisqEasyOpenTradeChannelIndex implements CollectionObserver<BisqEasyOpenTradeChannel> {
+    private final Map<String, BisqEasyOpenTradeChannel> channelById = new ConcurrentHashMap<>();
+    private final Map<String, BisqEasyOpenTradeChannel> channelByTradeId = new ConcurrentHashMap<>();
+    private final Map<String, Set<BisqEasyOpenTradeChannel>> channelsByPeerId = new ConcurrentHashMap<>();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // CollectionObserver
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void add(BisqEasyOpenTradeChannel channel) {
+        channelById.put(channel.getId(), channel);
+        channelByTradeId.put(channel.getTradeId(), channel);
+        channelsByPeerId.computeIfAbsent(channel.getPeer().getId(), key -> ConcurrentHashMap.newKeySet()).add(channel);
+    }
+
+    @Override
+    public void remove(Object element) {
+        if (element instanceof BisqEasyOpenTradeChannel) {
+            BisqEasyOpenTradeChannel channel = (BisqEasyOpenTradeChannel) element;
+            // We only remove the entries if they are still mapped to the removed channel
+            channelById.remove(channel.getId(), channel);
+            channelByTradeId.remove(channel.getTradeId(), channel);
+            channelsByPeerId.computeIfPresent(channel.getPeer().getId(), (key, channels) -> {
+                channels.remove(channel);
+                return channels.isEmpty() ? null : channels;
+            });
+        }
+    }
+
+    @Override
+    public void clear() {
+        channelById.clear();
+        channelByTradeId.clear();
+        channelsByPeerId.clear();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    Optional<BisqEasyOpenTradeChannel> findById(String channelId) {
+        return Optional.ofNullable(channelById.get(channelId));
+    }
+
+    Optional<BisqEasyOpenTradeChannel> findByTradeId(String tradeId) {
+        return Optional.ofNullable(channelByTradeId.get(tradeId));
+    }
+
+    Set<BisqEasyOpenTradeChannel> findByPeerId(String peersUserProfileId) {
+        return channelsByPeerId.getOrDefault(peersUserProfileId, Collections.emptySet());
+    }
+}
@@ -54,6 +54,7 @@ public class BisqEasyOpenTradeChannelService extends PrivateGroupChatChannelServ
     private final BisqEasyOpenTradeChannelStore persistableStore = new BisqEasyOpenTradeChannelStore();
     @Getter
     private final Persistence<BisqEasyOpenTradeChannelStore> persistence;
+    private final BisqEasyOpenTradeChannelIndex channelIndex = new BisqEasyOpenTradeChannelIndex();
 
     public BisqEasyOpenTradeChannelService(PersistenceService persistenceService,
                                            NetworkService networkService,
@@ -61,6 +62,7 @@ public class BisqEasyOpenTradeChannelService extends PrivateGroupChatChannelServ
         super(networkService, userService, ChatChannelDomain.BISQ_EASY_OPEN_TRADES);
 
         persistence = persistenceService.getOrCreatePersistence(this, DbSubDirectory.PRIVATE, persistableStore);
+        getChannels().addObserver(channelIndex);
     }
 
 
@@ -222,17 +224,19 @@ public class BisqEasyOpenTradeChannelService extends PrivateGroupChatChannelServ
         channel.addChatMessage(tradeLogMessage);
     }
 
+    @Override
+    public Optional<BisqEasyOpenTradeChannel> findChannel(String channelId) {
+        return channelIndex.findById(channelId);
+    }
+
     public Optional<BisqEasyOpenTradeChannel> findChannel(String offerId, String peersUserProfileId) {
-        return getChannels().stream()
+        return channelIndex.findByPeerId(peersUserProfileId).stream()
                 .filter(channel -> channel.getBisqEasyOffer().getId().equals(offerId))
-                .filter(channel -> channel.getPeer().getId().equals(peersUserProfileId))
                 .findAny();
     }
 
     public Optional<BisqEasyOpenTradeChannel> findChannelByTradeId(String tradeId) {
-        return getChannels().stream()
-                .filter(channel -> channel.getTradeId().equals(tradeId))
-                .findAny();
+        return channelIndex.findByTradeId(tradeId);
     }
 
 
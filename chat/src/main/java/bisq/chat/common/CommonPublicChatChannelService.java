@@ -19,12 +19,11 @@ package bisq.chat.common;
 
 import bisq.chat.ChatChannelDomain;
 import bisq.chat.Citation;
+import bisq.chat.pub.PublicChatChannelRetention;
 import bisq.chat.pub.PublicChatChannelService;
 import bisq.common.observable.collection.ObservableArray;
 import bisq.common.util.StringUtils;
 import bisq.network.NetworkService;
-import bisq.network.p2p.services.data.storage.DistributedData;
-import bisq.network.p2p.services.data.storage.auth.AuthenticatedData;
 import bisq.persistence.DbSubDirectory;
 import bisq.persistence.Persistence;
 import bisq.persistence.PersistenceService;
@@ -49,8 +48,9 @@ public final class CommonPublicChatChannelService extends PublicChatChannelServi
                                           NetworkService networkService,
                                           UserService userService,
                                           ChatChannelDomain chatChannelDomain,
-                                          List<CommonPublicChatChannel> channels) {
-        super(networkService, userService, chatChannelDomain);
+                                          List<CommonPublicChatChannel> channels,
+                                          PublicChatChannelRetention retention) {
+        super(persistenceService, networkService, userService, chatChannelDomain, retention);
 
         this.channels = channels;
 
@@ -62,32 +62,6 @@ public final class CommonPublicChatChannelService extends PublicChatChannelServi
     }
 
 
-    ///////////////////////////////////////////////////////////////////////////////////////////////////
-    // DataService.Listener
-    ///////////////////////////////////////////////////////////////////////////////////////////////////
-
-    @Override
-    public void onAuthenticatedDataAdded(AuthenticatedData authenticatedData) {
-        handleAuthenticatedDataAdded(authenticatedData);
-    }
-
-    @Override
-    public void onAuthenticatedDataRemoved(AuthenticatedData authenticatedData) {
-        DistributedData distributedData = authenticatedData.getDistributedData();
-        if (distributedData instanceof CommonPublicChatMessage) {
-            processRemovedMessage((CommonPublicChatMessage) distributedData);
-        }
-    }
-
-    @Override
-    protected void handleAuthenticatedDataAdded(AuthenticatedData authenticatedData) {
-        DistributedData distributedData = authenticatedData.getDistributedData();
-        if (distributedData instanceof CommonPublicChatMessage) {
-            processAddedMessage((CommonPublicChatMessage) distributedData);
-        }
-    }
-
-
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // API 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
@@ -102,6 +76,11 @@ public final class CommonPublicChatChannelService extends PublicChatChannelServi
     // Protected 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    @Override
+    protected Class<CommonPublicChatMessage> getChatMessageClass() {
+        return CommonPublicChatMessage.class;
+    }
+
     @Override
     protected CommonPublicChatMessage createChatMessage(String text,
                                                         Optional<Citation> citation,
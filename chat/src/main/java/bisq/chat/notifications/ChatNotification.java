@@ -25,6 +25,7 @@ import bisq.common.observable.Observable;
 import bisq.common.proto.PersistableProto;
 import bisq.presentation.notifications.Notification;
 import bisq.user.profile.UserProfile;
+import com.google.common.annotations.VisibleForTesting;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -75,17 +76,18 @@ public class ChatNotification implements Notification, PersistableProto {
                 false);
     }
 
-    private ChatNotification(String id,
-                             String title,
-                             String message,
-                             long date,
-                             String chatChannelId,
-                             ChatChannelDomain chatChannelDomain,
-                             String chatMessageId,
-                             Optional<String> tradeId,
-                             Optional<UserProfile> senderUserProfile,
-                             Optional<UserProfile> mediator,
-                             boolean isConsumed
+    @VisibleForTesting
+    ChatNotification(String id,
+                     String title,
+                     String message,
+                     long date,
+                     String chatChannelId,
+                     ChatChannelDomain chatChannelDomain,
+                     String chatMessageId,
+                     Optional<String> tradeId,
+                     Optional<UserProfile> senderUserProfile,
+                     Optional<UserProfile> mediator,
+                     boolean isConsumed
     ) {
         this.id = id;
         this.title = title;
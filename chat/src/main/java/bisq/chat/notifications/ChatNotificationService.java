@@ -46,6 +46,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -77,6 +78,9 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
     private final Observable<ChatNotification> changedNotification = new Observable<>();
     private final Map<String, Pin> chatMessagesByChannelIdPins = new ConcurrentHashMap<>();
     private final long startUpDateTime = System.currentTimeMillis();
+    // Rebuilt when the user identities change
+    private volatile MentionMatcher mentionMatcher = MentionMatcher.EMPTY;
+    private Pin userIdentitiesPin;
     @Setter
     private boolean isApplicationFocussed;
 
@@ -108,6 +112,9 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
 
     @Override
     public CompletableFuture<Boolean> initialize() {
+        userIdentitiesPin = userIdentityService.getUserIdentities().addObserver(() ->
+                mentionMatcher = MentionMatcher.from(userIdentityService.getUserIdentities()));
+
         BisqEasyOpenTradeChannelService bisqEasyOpenTradeChannelService = chatService.getBisqEasyOpenTradeChannelService();
         bisqEasyOpenTradeChannelService.getChannels().addObserver(() ->
                 onChannelsChanged(bisqEasyOpenTradeChannelService.getChannels()));
@@ -129,6 +136,9 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
 
     @Override
     public CompletableFuture<Boolean> shutdown() {
+        if (userIdentitiesPin != null) {
+            userIdentitiesPin.unbind();
+        }
         return CompletableFuture.completedFuture(true);
     }
 
@@ -149,7 +159,7 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
 
     public Stream<ChatNotification> getNotConsumedNotifications() {
         synchronized (persistableStore) {
-            return persistableStore.getNotConsumedNotifications();
+            return persistableStore.getNotConsumedNotifications().collect(Collectors.toList()).stream();
         }
     }
 
@@ -159,22 +169,30 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
     }
 
     public Stream<ChatNotification> getNotConsumedNotifications(String channelId) {
-        return getNotConsumedNotifications()
-                .filter(chatNotification -> chatNotification.getChatChannelId().equals(channelId));
+        synchronized (persistableStore) {
+            return new ArrayList<>(persistableStore.getNotConsumedNotifications(channelId)).stream();
+        }
     }
 
+    /**
+     * @return Immutable set of the trade IDs of not consumed notifications
+     */
     public Set<String> getTradeIdsOfNotConsumedNotifications() {
-        return getNotConsumedNotifications(ChatChannelDomain.BISQ_EASY_OPEN_TRADES)
-                .flatMap(chatNotification -> chatNotification.getTradeId().stream())
-                .collect(Collectors.toSet());
+        synchronized (persistableStore) {
+            return persistableStore.getTradeIdsOfNotConsumedNotifications();
+        }
     }
 
     public long getNumNotifications(ChatChannelDomain chatChannelDomain) {
-        return getNotConsumedNotifications(chatChannelDomain).count();
+        synchronized (persistableStore) {
+            return persistableStore.getNumNotConsumedNotifications(chatChannelDomain);
+        }
     }
 
     public long getNumNotifications(String channelId) {
-        return getNotConsumedNotifications(channelId).count();
+        synchronized (persistableStore) {
+            return persistableStore.getNumNotConsumedNotifications(channelId);
+        }
     }
 
 
@@ -185,10 +203,7 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
     private void addNotification(ChatNotification notification) {
         boolean wasAdded = false;
         synchronized (persistableStore) {
-            if (!persistableStore.getNotifications().contains(notification)) {
-                persistableStore.getNotifications().add(notification);
-                wasAdded = true;
-            }
+            wasAdded = persistableStore.add(notification);
             // We always set it as otherwise at restart with no new notifications we would not trigger the observers
             changedNotification.set(notification);
         }
@@ -202,7 +217,7 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
         synchronized (persistableStore) {
             Optional<ChatNotification> candidate = persistableStore.findNotification(id);
             wasRemoved = candidate.map(notification -> {
-                        boolean result = persistableStore.getNotifications().remove(notification);
+                        boolean result = persistableStore.remove(notification);
                         if (result) {
                             changedNotification.set(notification);
                         }
@@ -221,20 +236,13 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
         }
         boolean hadChange;
         synchronized (persistableStore) {
-            if (!persistableStore.getNotifications().contains(notification)) {
+            if (!persistableStore.contains(notification)) {
                 notification.setConsumed(true);
-                persistableStore.getNotifications().add(notification);
+                persistableStore.add(notification);
                 hadChange = true;
                 changedNotification.set(notification);
             } else {
-                hadChange = persistableStore.getNotConsumedNotifications()
-                        .filter(e -> e.equals(notification))
-                        .map(e -> {
-                            e.setConsumed(true);
-                            return true;
-                        })
-                        .findAny()
-                        .orElse(false);
+                hadChange = persistableStore.consume(notification);
             }
             if (hadChange) {
                 // If we changed the consumed state we need to trigger an update of the observable by setting it to null
@@ -289,7 +297,11 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
 
     private <M extends ChatMessage> void onMessageAdded(ChatChannel<M> chatChannel, M chatMessage) {
         String id = ChatNotification.createId(chatChannel.getId(), chatMessage.getId());
-        ChatNotification chatNotification = persistableStore.findNotification(id)
+        Optional<ChatNotification> existingNotification;
+        synchronized (persistableStore) {
+            existingNotification = persistableStore.findNotification(id);
+        }
+        ChatNotification chatNotification = existingNotification
                 .orElseGet(() -> createNotification(id, chatChannel, chatMessage));
 
         // At first start-up when user has not setup their profile yet, we set all notifications as consumed
@@ -339,9 +351,7 @@ public class ChatNotificationService implements PersistenceClient<ChatNotificati
                 break;
             case MENTION:
                 // We treat citations also like mentions
-                shouldSendNotification = userIdentityService.getUserIdentities().stream()
-                        .anyMatch(userIdentity -> chatMessage.wasMentioned(userIdentity) ||
-                                chatMessage.wasCited(userIdentity));
+                shouldSendNotification = mentionMatcher.wasMentionedOrCited(chatMessage);
                 break;
             case OFF:
             default:
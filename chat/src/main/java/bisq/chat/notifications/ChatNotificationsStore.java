@@ -17,26 +17,38 @@
 
 package bisq.chat.notifications;
 
+import bisq.chat.ChatChannelDomain;
 import bisq.common.observable.collection.ObservableSet;
 import bisq.common.proto.ProtoResolver;
 import bisq.common.proto.UnresolvableProtobufMessageException;
 import bisq.persistence.PersistableStore;
 import com.google.protobuf.InvalidProtocolBufferException;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Besides the notifications we keep indexes of the not consumed notifications by channel, domain and trade ID, so
+ * that the counts used for the notification badges do not require iterating all notifications.
+ * The indexes are not persisted but rebuilt when the notifications are set.
+ * Mutations must be done via the methods of the store to keep the indexes consistent. Callers are responsible for
+ * synchronisation.
+ */
 public final class ChatNotificationsStore implements PersistableStore<ChatNotificationsStore> {
     private final ObservableSet<ChatNotification> chatNotifications = new ObservableSet<>();
+    private final Map<String, ChatNotification> notificationById = new HashMap<>();
+    private final Map<String, Set<ChatNotification>> notConsumedNotificationsByChannelId = new HashMap<>();
+    private final Map<ChatChannelDomain, Integer> numNotConsumedByDomain = new EnumMap<>(ChatChannelDomain.class);
+    private final Map<String, Integer> numNotConsumedByTradeId = new HashMap<>();
+    // Immutable snapshot of the keys of numNotConsumedByTradeId. Only replaced if a trade ID gets added or removed.
+    private Set<String> tradeIdsOfNotConsumedNotifications = Set.of();
 
     public ChatNotificationsStore() {
     }
 
     ChatNotificationsStore(Collection<ChatNotification> chatNotifications) {
-        this.chatNotifications.setAll(chatNotifications);
+        setAll(chatNotifications);
     }
 
     @Override
@@ -77,26 +89,121 @@ public final class ChatNotificationsStore implements PersistableStore<ChatNotifi
 
     @Override
     public void applyPersisted(ChatNotificationsStore persisted) {
-        chatNotifications.setAll(persisted.chatNotifications);
+        setAll(persisted.chatNotifications);
+    }
+
+    Collection<ChatNotification> getNotifications() {
+        return Collections.unmodifiableSet(chatNotifications);
+    }
+
+    boolean contains(ChatNotification notification) {
+        return chatNotifications.contains(notification);
+    }
+
+    boolean add(ChatNotification notification) {
+        if (notificationById.containsKey(notification.getId()) || !chatNotifications.add(notification)) {
+            return false;
+        }
+        notificationById.put(notification.getId(), notification);
+        if (notification.isNotConsumed()) {
+            addToNotConsumedIndexes(notification);
+        }
+        return true;
     }
 
-    ObservableSet<ChatNotification> getNotifications() {
-        return chatNotifications;
+    boolean remove(ChatNotification notification) {
+        if (!chatNotifications.remove(notification)) {
+            return false;
+        }
+        ChatNotification stored = notificationById.get(notification.getId());
+        if (stored != null && stored.equals(notification)) {
+            notificationById.remove(notification.getId());
+            if (stored.isNotConsumed()) {
+                removeFromNotConsumedIndexes(stored);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return True if the stored notification was not consumed yet
+     */
+    boolean consume(ChatNotification notification) {
+        ChatNotification stored = notificationById.get(notification.getId());
+        if (stored == null || !stored.isNotConsumed()) {
+            return false;
+        }
+        stored.setConsumed(true);
+        removeFromNotConsumedIndexes(stored);
+        return true;
     }
 
     Optional<ChatNotification> findNotification(String id) {
-        return chatNotifications.stream()
-                .filter(e -> e.getId().equals(id))
-                .findAny();
+        return Optional.ofNullable(notificationById.get(id));
     }
 
     Optional<ChatNotification> findNotification(ChatNotification notification) {
-        return chatNotifications.stream()
-                .filter(e -> e.equals(notification))
-                .findAny();
+        return findNotification(notification.getId()).filter(e -> e.equals(notification));
     }
 
     Stream<ChatNotification> getNotConsumedNotifications() {
-        return chatNotifications.stream().filter(ChatNotification::isNotConsumed);
+        return notConsumedNotificationsByChannelId.values().stream().flatMap(Collection::stream);
+    }
+
+    Set<ChatNotification> getNotConsumedNotifications(String channelId) {
+        return notConsumedNotificationsByChannelId.getOrDefault(channelId, Set.of());
+    }
+
+    int getNumNotConsumedNotifications(String channelId) {
+        return getNotConsumedNotifications(channelId).size();
+    }
+
+    int getNumNotConsumedNotifications(ChatChannelDomain chatChannelDomain) {
+        return numNotConsumedByDomain.getOrDefault(chatChannelDomain, 0);
+    }
+
+    Set<String> getTradeIdsOfNotConsumedNotifications() {
+        return tradeIdsOfNotConsumedNotifications;
+    }
+
+    private void setAll(Collection<ChatNotification> notifications) {
+        chatNotifications.setAll(notifications);
+        notificationById.clear();
+        notConsumedNotificationsByChannelId.clear();
+        numNotConsumedByDomain.clear();
+        numNotConsumedByTradeId.clear();
+        chatNotifications.forEach(notification -> {
+            if (notificationById.putIfAbsent(notification.getId(), notification) == null &&
+                    notification.isNotConsumed()) {
+                addToNotConsumedIndexes(notification);
+            }
+        });
+        tradeIdsOfNotConsumedNotifications = Set.copyOf(numNotConsumedByTradeId.keySet());
+    }
+
+    private void addToNotConsumedIndexes(ChatNotification notification) {
+        notConsumedNotificationsByChannelId.computeIfAbsent(notification.getChatChannelId(), key -> new HashSet<>())
+                .add(notification);
+        numNotConsumedByDomain.merge(notification.getChatChannelDomain(), 1, Integer::sum);
+        notification.getTradeId().ifPresent(tradeId -> {
+            if (numNotConsumedByTradeId.merge(tradeId, 1, Integer::sum) == 1) {
+                tradeIdsOfNotConsumedNotifications = Set.copyOf(numNotConsumedByTradeId.keySet());
+            }
+        });
+    }
+
+    private void removeFromNotConsumedIndexes(ChatNotification notification) {
+        String channelId = notification.getChatChannelId();
+        Set<ChatNotification> notConsumed = notConsumedNotificationsByChannelId.get(channelId);
+        if (notConsumed != null && notConsumed.remove(notification) && notConsumed.isEmpty()) {
+            notConsumedNotificationsByChannelId.remove(channelId);
+        }
+        numNotConsumedByDomain.computeIfPresent(notification.getChatChannelDomain(),
+                (key, value) -> value > 1 ? value - 1 : null);
+        notification.getTradeId().ifPresent(tradeId -> {
+            if (numNotConsumedByTradeId.computeIfPresent(tradeId, (key, value) -> value > 1 ? value - 1 : null) == null) {
+                tradeIdsOfNotConsumedNotifications = Set.copyOf(numNotConsumedByTradeId.keySet());
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.notifications;
+
+import bisq.chat.ChatMessage;
+import bisq.chat.Citation;
+import bisq.user.identity.UserIdentity;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Matches chat messages against all local user identities at once. Mentions ("@" followed by the user name) are
+ * found with an Aho-Corasick automaton in a single pass over the message text, citations by a lookup of the cited
+ * author's profile ID. Same result as checking {@link ChatMessage#wasMentioned(UserIdentity)} or
+ * {@link ChatMessage#wasCited(UserIdentity)} for each identity.
+ * Immutable, so it can be shared between threads. Needs to be recreated when the user identities change.
+ */
+final class MentionMatcher {
+    static final MentionMatcher EMPTY = new MentionMatcher(Collections.emptySet(), Collections.emptySet());
+
+    static MentionMatcher from(Collection<UserIdentity> userIdentities) {
+        return new MentionMatcher(userIdentities.stream().map(UserIdentity::getUserName).collect(Collectors.toSet()),
+                userIdentities.stream().map(UserIdentity::getId).collect(Collectors.toSet()));
+    }
+
+    // The trie nodes are referenced by their index in the arrays. Node 0 is the root, which has only the '@'
+    // transition. The transitions of a node are sorted by char for binary search.
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failureLinks;
+    // True if a pattern ends at the node or at any node reachable by its failure links
+    private final boolean[] isMatch;
+    private final Set<String> userProfileIds;
+
+    MentionMatcher(Collection<String> userNames, Collection<String> userProfileIds) {
+        this.userProfileIds = Set.copyOf(userProfileIds);
+
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        Set<Integer> patternEnds = new HashSet<>();
+        for (String userName : userNames) {
+            String pattern = "@" + userName;
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                Integer next = transitions.get(node).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new HashMap<>());
+                    transitions.get(node).put(c, next);
+                }
+                node = next;
+            }
+            patternEnds.add(node);
+        }
+
+        int numNodes = transitions.size();
+        transitionChars = new char[numNodes][];
+        transitionTargets = new int[numNodes][];
+        for (int node = 0; node < numNodes; node++) {
+            TreeMap<Character, Integer> sorted = new TreeMap<>(transitions.get(node));
+            transitionChars[node] = new char[sorted.size()];
+            transitionTargets[node] = new int[sorted.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> entry : sorted.entrySet()) {
+                transitionChars[node][i] = entry.getKey();
+                transitionTargets[node][i] = entry.getValue();
+                i++;
+            }
+        }
+        failureLinks = new int[numNodes];
+        isMatch = new boolean[numNodes];
+        patternEnds.forEach(node -> isMatch[node] = true);
+
+        // Breadth first, so the failure link of a node is resolved before its children. The failure link of the
+        // root's children is the root.
+        Deque<Integer> queue = new ArrayDeque<>();
+        Arrays.stream(transitionTargets[0]).forEach(queue::add);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < transitionChars[node].length; i++) {
+                char c = transitionChars[node][i];
+                int child = transitionTargets[node][i];
+                failureLinks[child] = next(failureLinks[node], c);
+                isMatch[child] |= isMatch[failureLinks[child]];
+                queue.add(child);
+            }
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    boolean wasMentionedOrCited(ChatMessage chatMessage) {
+        return wasCited(chatMessage.getCitation()) || wasMentioned(chatMessage.getText());
+    }
+
+    boolean wasMentioned(String text) {
+        if (failureLinks.length == 1) {
+            return false;
+        }
+        int node = 0;
+        int i = 0;
+        while (i < text.length()) {
+            if (node == 0) {
+                // From the root we can only leave with '@'
+                i = text.indexOf('@', i);
+                if (i < 0) {
+                    return false;
+                }
+            }
+            node = next(node, text.charAt(i));
+            if (isMatch[node]) {
+                return true;
+            }
+            i++;
+        }
+        return false;
+    }
+
+    boolean wasCited(Optional<Citation> citation) {
+        return citation.map(Citation::getAuthorUserProfileId)
+                .map(userProfileIds::contains)
+                .orElse(false);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private int next(int node, char c) {
+        while (true) {
+            int index = Arrays.binarySearch(transitionChars[node], c);
+            if (index >= 0) {
+                return transitionTargets[node][index];
+            }
+            if (node == 0) {
+                return 0;
+            }
+            node = failureLinks[node];
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.pub;
+
+import bisq.chat.ChatMessage;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Limits the number and age of the messages a public channel keeps in memory. Messages exceeding the limits get moved
+ * to the {@link PublicChatHistory}. A value of 0 disables the respective limit.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class PublicChatChannelRetention {
+    public static final PublicChatChannelRetention UNLIMITED = new PublicChatChannelRetention(0, 0);
+
+    private final int maxNumMessages;
+    private final long maxMessageAge;
+
+    public PublicChatChannelRetention(int maxNumMessages, long maxMessageAgeInDays) {
+        this.maxNumMessages = Math.max(0, maxNumMessages);
+        this.maxMessageAge = TimeUnit.DAYS.toMillis(Math.max(0, maxMessageAgeInDays));
+    }
+
+    public static PublicChatChannelRetention from(com.typesafe.config.Config typeSafeConfig) {
+        return new PublicChatChannelRetention(typeSafeConfig.getInt("maxNumMessages"),
+                typeSafeConfig.getLong("maxMessageAgeInDays"));
+    }
+
+    public boolean isUnlimited() {
+        return maxNumMessages == 0 && maxMessageAge == 0;
+    }
+
+    /**
+     * @param messagesOldestFirst The messages of a channel ordered by date, oldest first.
+     * @param canBeMoved          Messages not matching the predicate are kept in any case and do not count as moved.
+     * @return The oldest messages exceeding the limits, oldest first.
+     */
+    public <M extends ChatMessage> List<M> selectMessagesToMove(List<M> messagesOldestFirst,
+                                                                 Predicate<M> canBeMoved,
+                                                                 long now) {
+        List<M> result = new ArrayList<>();
+        if (isUnlimited()) {
+            return result;
+        }
+        long minDate = maxMessageAge > 0 ? now - maxMessageAge : Long.MIN_VALUE;
+        int numExceeding = maxNumMessages > 0 ? messagesOldestFirst.size() - maxNumMessages : 0;
+        for (M chatMessage : messagesOldestFirst) {
+            boolean isTooOld = chatMessage.getDate() < minDate;
+            if (!isTooOld && result.size() >= numExceeding) {
+                break;
+            }
+            if (canBeMoved.test(chatMessage)) {
+                result.add(chatMessage);
+            }
+        }
+        return result;
+    }
+}
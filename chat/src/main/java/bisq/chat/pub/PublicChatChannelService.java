@@ -18,29 +18,62 @@
 package bisq.chat.pub;
 
 import bisq.chat.*;
+import bisq.common.observable.Pin;
 import bisq.network.NetworkService;
 import bisq.network.identity.NetworkIdWithKeyPair;
 import bisq.network.p2p.services.data.BroadcastResult;
 import bisq.network.p2p.services.data.DataService;
-import bisq.network.p2p.services.data.storage.auth.AuthenticatedData;
+import bisq.persistence.DbSubDirectory;
 import bisq.persistence.PersistableStore;
+import bisq.persistence.PersistenceService;
 import bisq.user.UserService;
 import bisq.user.identity.UserIdentity;
 import bisq.user.profile.UserProfile;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+import java.nio.file.Path;
 import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public abstract class PublicChatChannelService<M extends PublicChatMessage, C extends PublicChatChannel<M>, S extends PersistableStore<S>>
-        extends ChatChannelService<M, C, S> implements DataService.Listener {
+        extends ChatChannelService<M, C, S> {
+    private static final long RETENTION_CHECK_INTERVAL = TimeUnit.HOURS.toMillis(1);
 
-    public PublicChatChannelService(NetworkService networkService,
+    // Retention is checked when the channel has grown by a batch of messages or after RETENTION_CHECK_INTERVAL,
+    // so we do not walk the channel's messages at each added message.
+    private static final class RetentionCheck {
+        private int nextNumMessages;
+        private long nextDate;
+    }
+
+    private final PublicChatChannelRetention retention;
+    private final PublicChatHistory<M> history;
+    private final Map<String, RetentionCheck> retentionCheckByChannelId = new ConcurrentHashMap<>();
+    // IDs of the messages in the history. The network data store still holds these messages and delivers them
+    // again after a restart, so we must not add them to the channel again.
+    private final Set<String> archivedMessageIds = ConcurrentHashMap.newKeySet();
+    private Pin chatMessagesPin;
+
+    public PublicChatChannelService(PersistenceService persistenceService,
+                                    NetworkService networkService,
                                     UserService userService,
-                                    ChatChannelDomain chatChannelDomain) {
+                                    ChatChannelDomain chatChannelDomain,
+                                    PublicChatChannelRetention retention) {
         super(networkService, userService, chatChannelDomain);
+
+        this.retention = retention;
+        history = new PublicChatHistory<>(Path.of(persistenceService.getBaseDir(),
+                DbSubDirectory.CACHE.getDbPath(),
+                "public_chat_history"));
     }
 
 
@@ -52,18 +85,30 @@ public abstract class PublicChatChannelService<M extends PublicChatMessage, C ex
     public CompletableFuture<Boolean> initialize() {
         maybeAddDefaultChannels();
 
-        networkService.addDataServiceListener(this);
-        networkService.getDataService().ifPresent(dataService ->
-                dataService.getAuthenticatedData().forEach(this::handleAuthenticatedDataAdded));
+        // The archived message IDs must be known before the existing messages get delivered
+        return loadArchivedMessageIds().thenApply(nil -> {
+            // We only get the messages of our message class delivered, including the already existing ones.
+            chatMessagesPin = networkService.subscribeToAuthenticatedData(getChatMessageClass(), new DataService.Subscriber<>() {
+                @Override
+                public void onAdded(M chatMessage) {
+                    processAddedMessage(chatMessage);
+                }
 
-        return CompletableFuture.completedFuture(true);
+                @Override
+                public void onRemoved(M chatMessage) {
+                    processRemovedMessage(chatMessage);
+                }
+            });
+            return true;
+        });
     }
 
-    protected abstract void handleAuthenticatedDataAdded(AuthenticatedData authenticatedData);
-
     @Override
     public CompletableFuture<Boolean> shutdown() {
-        networkService.removeDataServiceListener(this);
+        if (chatMessagesPin != null) {
+            chatMessagesPin.unbind();
+            chatMessagesPin = null;
+        }
         return CompletableFuture.completedFuture(true);
     }
 
@@ -108,6 +153,27 @@ public abstract class PublicChatChannelService<M extends PublicChatMessage, C ex
         return networkService.removeAuthenticatedData(chatMessage, networkIdWithKeyPair.getKeyPair());
     }
 
+    @Override
+    public void addMessage(M message, C channel) {
+        super.addMessage(message, channel);
+        maybeMoveMessagesToHistory(channel);
+    }
+
+    /**
+     * Loads messages which have been moved out of the channel by the retention rules.
+     *
+     * @param cursor If not null, only messages older than the cursor are returned. Usually the oldest message
+     *               loaded so far.
+     * @return Up to {@code limit} messages, oldest first. Empty if the retention is disabled.
+     */
+    public CompletableFuture<List<M>> loadHistory(C channel, @Nullable ChatMessage cursor, int limit) {
+        if (retention.isUnlimited()) {
+            // With disabled retention all messages are in the channel
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return history.load(channel.getId(), cursor, limit);
+    }
+
     @Override
     public String getChannelTitlePostFix(ChatChannel<? extends ChatMessage> chatChannel) {
         return "";
@@ -118,7 +184,12 @@ public abstract class PublicChatChannelService<M extends PublicChatMessage, C ex
     // Protected
     ///////////////////////////////////////////////////////////////////////////////////////////////////
 
+    protected abstract Class<M> getChatMessageClass();
+
     protected void processAddedMessage(M message) {
+        if (archivedMessageIds.contains(message.getId())) {
+            return;
+        }
         if (canHandleChannelDomain(message) && isValid(message)) {
             findChannel(message).ifPresent(channel -> addMessage(message, channel));
         }
@@ -127,7 +198,64 @@ public abstract class PublicChatChannelService<M extends PublicChatMessage, C ex
     protected void processRemovedMessage(M message) {
         if (canHandleChannelDomain(message) && isValid(message)) {
             findChannel(message).ifPresent(channel -> removeMessage(message, channel));
+            // The history might have been written while the retention was enabled
+            archivedMessageIds.remove(message.getId());
+            history.remove(message.getChannelId(), message.getId());
+        }
+    }
+
+    // Expired messages are removed from the history as well
+    @Override
+    protected void doRemoveExpiredMessages(C channel) {
+        super.doRemoveExpiredMessages(channel);
+        if (!retention.isUnlimited()) {
+            history.compact(channel.getId());
+        }
+    }
+
+    /**
+     * Messages for which this returns false are kept in the channel independent of the retention rules.
+     */
+    protected boolean canBeMovedToHistory(M message) {
+        return true;
+    }
+
+    private void maybeMoveMessagesToHistory(C channel) {
+        if (retention.isUnlimited()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<M> toMove;
+        synchronized (getPersistableStore()) {
+            ChatMessageTimeline<M> timeline = channel.getChatMessageTimeline();
+            RetentionCheck retentionCheck = retentionCheckByChannelId.computeIfAbsent(channel.getId(), key -> new RetentionCheck());
+            if (timeline.size() <= retentionCheck.nextNumMessages && now < retentionCheck.nextDate) {
+                return;
+            }
+            toMove = retention.selectMessagesToMove(timeline.getAll(), this::canBeMovedToHistory, now);
+            toMove.forEach(message -> archivedMessageIds.add(message.getId()));
+            channel.removeChatMessages(toMove);
+
+            int maxNumMessages = retention.getMaxNumMessages();
+            retentionCheck.nextNumMessages = maxNumMessages > 0
+                    ? Math.max(maxNumMessages, timeline.size()) + Math.max(1, maxNumMessages / 10)
+                    : Integer.MAX_VALUE;
+            retentionCheck.nextDate = now + RETENTION_CHECK_INTERVAL;
+        }
+        if (!toMove.isEmpty()) {
+            log.info("Moved {} messages of channel {} to the local history", toMove.size(), channel.getId());
+            history.add(channel.getId(), toMove);
+        }
+    }
+
+    private CompletableFuture<Void> loadArchivedMessageIds() {
+        if (retention.isUnlimited()) {
+            // The messages of an existing history are still in the network data store and get added to the channel
+            return CompletableFuture.completedFuture(null);
         }
+        return CompletableFuture.allOf(getChannels().stream()
+                .map(channel -> history.getMessageIds(channel.getId()).thenAccept(archivedMessageIds::addAll))
+                .toArray(CompletableFuture[]::new));
     }
 
     private void removeMessage(M message, C channel) {
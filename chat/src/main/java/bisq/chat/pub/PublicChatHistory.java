@@ -0,0 +1,268 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.pub;
+
+import bisq.chat.ChatMessage;
+import bisq.chat.ChatMessageTimeline;
+import bisq.common.threading.ExecutorFactory;
+import com.google.common.io.CountingInputStream;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Local history of public chat messages which have been moved out of the in-memory channel by the retention
+ * rules. Each channel has its own append-only file. A record starts with its type and the message ID, followed by
+ * the serialized message for added messages. Removals of messages by their authors are appended as tombstones.
+ * Tombstones and expired messages get dropped by compacting the file. All file access runs on a single thread
+ * executor shared by all instances.
+ *
+ * @param <M> The type of the public chat message
+ */
+@Slf4j
+public final class PublicChatHistory<M extends PublicChatMessage> {
+    private static final ExecutorService EXECUTOR = ExecutorFactory.newSingleThreadExecutor("PublicChatHistory");
+    private static final byte ADDED = 0;
+    private static final byte REMOVED = 1;
+    private static final String EXTENSION = ".history";
+
+    private final Path directory;
+    // Only accessed from the executor. Loaded lazily per channel from the record headers.
+    private final Map<String, Set<String>> messageIdsByChannelId = new HashMap<>();
+    // Only accessed from the executor
+    private final Set<String> compactedChannelIds = new HashSet<>();
+
+    public PublicChatHistory(Path directory) {
+        this.directory = directory;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Appends the messages which are not yet in the history of the channel.
+     */
+    public CompletableFuture<Void> add(String channelId, Collection<M> chatMessages) {
+        List<M> copy = new ArrayList<>(chatMessages);
+        return CompletableFuture.runAsync(() -> {
+            Set<String> messageIds = getMessageIdSet(channelId);
+            try (DataOutputStream out = newOutputStream(channelId)) {
+                for (M chatMessage : copy) {
+                    if (messageIds.add(chatMessage.getId())) {
+                        writeAdded(out, chatMessage);
+                    }
+                }
+            } catch (IOException e) {
+                log.error("Could not write to chat history of channel {}", channelId, e);
+            }
+        }, EXECUTOR);
+    }
+
+    /**
+     * Marks the message as removed if it is in the history of the channel.
+     */
+    public CompletableFuture<Void> remove(String channelId, String messageId) {
+        return CompletableFuture.runAsync(() -> {
+            if (!getMessageIdSet(channelId).remove(messageId)) {
+                return;
+            }
+            try (DataOutputStream out = newOutputStream(channelId)) {
+                out.writeByte(REMOVED);
+                out.writeUTF(messageId);
+            } catch (IOException e) {
+                log.error("Could not write to chat history of channel {}", channelId, e);
+            }
+        }, EXECUTOR);
+    }
+
+    public CompletableFuture<Set<String>> getMessageIds(String channelId) {
+        return CompletableFuture.supplyAsync(() -> new HashSet<>(getMessageIdSet(channelId)), EXECUTOR);
+    }
+
+    public CompletableFuture<Integer> size(String channelId) {
+        return CompletableFuture.supplyAsync(() -> getMessageIdSet(channelId).size(), EXECUTOR);
+    }
+
+    /**
+     * @param cursor If not null, only messages ordered before the cursor are returned. Usually the oldest message
+     *               loaded so far.
+     * @return Up to {@code limit} messages from the history, oldest first.
+     */
+    public CompletableFuture<List<M>> load(String channelId, @Nullable ChatMessage cursor, int limit) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<M> chatMessages;
+            try {
+                chatMessages = new ArrayList<>(readMessages(channelId).values());
+            } catch (Exception e) {
+                log.error("Could not parse chat history of channel {}", channelId, e);
+                return new ArrayList<M>();
+            }
+            if (cursor != null) {
+                chatMessages.removeIf(chatMessage -> ChatMessageTimeline.DATE_ORDER.compare(chatMessage, cursor) >= 0);
+            }
+            chatMessages.sort(ChatMessageTimeline.DATE_ORDER);
+            int from = Math.max(0, chatMessages.size() - Math.max(0, limit));
+            return new ArrayList<>(chatMessages.subList(from, chatMessages.size()));
+        }, EXECUTOR);
+    }
+
+    /**
+     * Rewrites the history file of the channel with only the messages which are neither removed nor expired.
+     * As messages expire only after days, the file gets compacted at most once per channel and session.
+     */
+    public CompletableFuture<Void> compact(String channelId) {
+        return CompletableFuture.runAsync(() -> {
+            Path path = getPath(channelId);
+            if (!compactedChannelIds.add(channelId) || !Files.exists(path)) {
+                return;
+            }
+            Map<String, M> messagesById;
+            try {
+                messagesById = readMessages(channelId);
+            } catch (Exception e) {
+                // We keep the file as it is, as we would lose the messages after the broken record otherwise
+                log.error("Could not parse chat history of channel {}. We skip compaction.", channelId, e);
+                return;
+            }
+            messagesById.values().removeIf(ChatMessage::isExpired);
+
+            Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                for (M chatMessage : messagesById.values()) {
+                    writeAdded(out, chatMessage);
+                }
+            } catch (IOException e) {
+                log.error("Could not write compacted chat history of channel {}", channelId, e);
+                return;
+            }
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                messageIdsByChannelId.put(channelId, new HashSet<>(messagesById.keySet()));
+            } catch (IOException e) {
+                log.error("Could not replace chat history of channel {} with compacted file", channelId, e);
+            }
+        }, EXECUTOR);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private Set<String> getMessageIdSet(String channelId) {
+        return messageIdsByChannelId.computeIfAbsent(channelId, this::readMessageIds);
+    }
+
+    private Set<String> readMessageIds(String channelId) {
+        Set<String> messageIds = new HashSet<>();
+        Path path = getPath(channelId);
+        if (!Files.exists(path)) {
+            return messageIds;
+        }
+        long validLength = 0;
+        try (CountingInputStream counting = new CountingInputStream(new BufferedInputStream(Files.newInputStream(path)));
+             DataInputStream in = new DataInputStream(counting)) {
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    break;
+                }
+                String messageId = in.readUTF();
+                if (type == ADDED) {
+                    in.skipNBytes(in.readInt());
+                    messageIds.add(messageId);
+                } else {
+                    messageIds.remove(messageId);
+                }
+                validLength = counting.getCount();
+            }
+        } catch (EOFException e) {
+            // The last record got truncated (e.g. at a crash while writing). We cut it off so that new records do
+            // not get appended to a broken one.
+            log.warn("Truncating incomplete last record of chat history of channel {}", channelId);
+            try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                fileChannel.truncate(validLength);
+            } catch (IOException e1) {
+                log.error("Could not truncate chat history of channel {}", channelId, e1);
+            }
+        } catch (IOException e) {
+            log.error("Could not read chat history of channel {}", channelId, e);
+        }
+        return messageIds;
+    }
+
+    // Keeps the order of the records, which is the order the messages have been added to the history
+    @SuppressWarnings("unchecked")
+    private Map<String, M> readMessages(String channelId) throws IOException {
+        Map<String, M> messagesById = new LinkedHashMap<>();
+        Path path = getPath(channelId);
+        if (!Files.exists(path)) {
+            return messagesById;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                int type = in.read();
+                if (type < 0) {
+                    break;
+                }
+                String messageId = in.readUTF();
+                if (type == ADDED) {
+                    byte[] bytes = in.readNBytes(in.readInt());
+                    ChatMessage chatMessage = ChatMessage.fromProto(bisq.chat.protobuf.ChatMessage.parseFrom(bytes));
+                    // Only messages of the owning service are written to the channel's file
+                    if (chatMessage instanceof PublicChatMessage) {
+                        messagesById.put(messageId, (M) chatMessage);
+                    }
+                } else {
+                    messagesById.remove(messageId);
+                }
+            }
+        } catch (EOFException e) {
+            log.warn("Incomplete last record in chat history of channel {}", channelId);
+        }
+        return messagesById;
+    }
+
+    private void writeAdded(DataOutputStream out, M chatMessage) throws IOException {
+        byte[] bytes = chatMessage.toProto(false).toByteArray();
+        out.writeByte(ADDED);
+        out.writeUTF(chatMessage.getId());
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private DataOutputStream newOutputStream(String channelId) throws IOException {
+        Files.createDirectories(directory);
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(getPath(channelId).toFile(), true)));
+    }
+
+    private Path getPath(String channelId) {
+        return directory.resolve(channelId.replaceAll("[^A-Za-z0-9._-]", "_") + EXTENSION);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.search;
+
+import java.util.*;
+
+/**
+ * Inverted index from lower-case tokens to the IDs of the messages containing them.
+ * A query matches a message if each query token is a prefix of one of the message's tokens.
+ * Not thread safe. The {@link ChatSearchService} confines each index to its executor.
+ */
+public final class ChatMessageSearchIndex {
+    private final NavigableMap<String, Set<String>> messageIdsByToken = new TreeMap<>();
+    private final Map<String, Set<String>> tokensByMessageId = new HashMap<>();
+
+    public static Set<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> tokens = new HashSet<>();
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (Character.isLetterOrDigit(lowerCase.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(lowerCase.substring(start));
+        }
+        return tokens;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Indexes the tokens of the given texts for the message. If the message was already indexed, its previous tokens
+     * get replaced.
+     */
+    public void add(String messageId, Collection<String> texts) {
+        remove(messageId);
+        Set<String> tokens = new HashSet<>();
+        texts.forEach(text -> tokens.addAll(tokenize(text)));
+        tokensByMessageId.put(messageId, tokens);
+        tokens.forEach(token -> messageIdsByToken.computeIfAbsent(token, key -> new HashSet<>()).add(messageId));
+    }
+
+    public void remove(String messageId) {
+        Set<String> tokens = tokensByMessageId.remove(messageId);
+        if (tokens == null) {
+            return;
+        }
+        tokens.forEach(token -> {
+            Set<String> messageIds = messageIdsByToken.get(token);
+            if (messageIds != null) {
+                messageIds.remove(messageId);
+                if (messageIds.isEmpty()) {
+                    messageIdsByToken.remove(token);
+                }
+            }
+        });
+    }
+
+    public void clear() {
+        messageIdsByToken.clear();
+        tokensByMessageId.clear();
+    }
+
+    public boolean contains(String messageId) {
+        return tokensByMessageId.containsKey(messageId);
+    }
+
+    public int size() {
+        return tokensByMessageId.size();
+    }
+
+    /**
+     * @return The IDs of the messages matching all tokens of the query. An empty query does not match any message.
+     */
+    public Set<String> search(String query) {
+        Set<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        // We start with the query token with the fewest candidates to keep the intersection small
+        List<Map.Entry<Integer, Collection<Set<String>>>> postingsByNumCandidates = new ArrayList<>();
+        for (String queryToken : queryTokens) {
+            Collection<Set<String>> postings = messageIdsByToken.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false).values();
+            int numCandidates = postings.stream().mapToInt(Set::size).sum();
+            if (numCandidates == 0) {
+                return Collections.emptySet();
+            }
+            postingsByNumCandidates.add(new AbstractMap.SimpleImmutableEntry<>(numCandidates, postings));
+        }
+        postingsByNumCandidates.sort(Map.Entry.comparingByKey());
+
+        Set<String> result = null;
+        for (Map.Entry<Integer, Collection<Set<String>>> entry : postingsByNumCandidates) {
+            Set<String> matches = new HashSet<>();
+            for (Set<String> messageIds : entry.getValue()) {
+                if (result == null) {
+                    matches.addAll(messageIds);
+                } else {
+                    for (String messageId : messageIds) {
+                        if (result.contains(messageId)) {
+                            matches.add(messageId);
+                        }
+                    }
+                }
+            }
+            result = matches;
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.search;
+
+import bisq.chat.ChatChannel;
+import bisq.chat.ChatMessage;
+import bisq.chat.ChatMessageType;
+import bisq.chat.ChatService;
+import bisq.chat.bisqeasy.BisqEasyOfferMessage;
+import bisq.common.application.Service;
+import bisq.common.observable.Pin;
+import bisq.common.observable.collection.CollectionObserver;
+import bisq.common.observable.collection.ObservableArray;
+import bisq.common.observable.map.HashMapObserver;
+import bisq.common.threading.ExecutorFactory;
+import bisq.offer.bisq_easy.BisqEasyOffer;
+import bisq.user.profile.UserProfile;
+import bisq.user.profile.UserProfileService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Keeps a {@link ChatMessageSearchIndex} per channel for the messages of all public and private chat channels.
+ * The index gets updated incrementally from the channel observers. Index updates and queries run on a dedicated
+ * executor, so the caller thread (e.g. the UI thread) is not blocked.
+ * Indexed are the message text, the nickname and nym of the author and the market of a Bisq Easy offer.
+ * Messages of authors whose user profile is not known yet get indexed again once the profile is received.
+ */
+@Slf4j
+public class ChatSearchService implements Service {
+    private final ChatService chatService;
+    private final UserProfileService userProfileService;
+    private final ExecutorService executor = ExecutorFactory.newSingleThreadExecutor("ChatSearchService");
+    // Only accessed from the executor
+    private final Map<String, ChatMessageSearchIndex> indexByChannelId = new HashMap<>();
+    // Only accessed from the executor. Channel ID by message, for the messages indexed without author profile.
+    private final Map<String, Map<ChatMessage, String>> messagesWithUnknownAuthorByAuthorId = new HashMap<>();
+    private final Map<String, Pin> chatMessagesPinByChannelId = new ConcurrentHashMap<>();
+    private final List<Pin> channelsPins = new ArrayList<>();
+    private Pin userProfileByIdPin;
+
+    public ChatSearchService(ChatService chatService, UserProfileService userProfileService) {
+        this.chatService = chatService;
+        this.userProfileService = userProfileService;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Service
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public CompletableFuture<Boolean> initialize() {
+        userProfileByIdPin = userProfileService.getUserProfileById().addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(String userProfileId, UserProfile userProfile) {
+                reIndexMessagesOfAuthor(userProfileId);
+            }
+
+            @Override
+            public void putAll(Map<? extends String, ? extends UserProfile> map) {
+                new ArrayList<>(messagesWithUnknownAuthorByAuthorId.keySet()).stream()
+                        .filter(map::containsKey)
+                        .forEach(ChatSearchService.this::reIndexMessagesOfAuthor);
+            }
+
+            @Override
+            public void remove(Object key) {
+            }
+
+            @Override
+            public void clear() {
+            }
+        }, executor::execute);
+        observeChannels(chatService.getBisqEasyOfferbookChannelService().getChannels());
+        observeChannels(chatService.getBisqEasyOpenTradeChannelService().getChannels());
+        chatService.getCommonPublicChatChannelServices().values()
+                .forEach(service -> observeChannels(service.getChannels()));
+        chatService.getTwoPartyPrivateChatChannelServices().values()
+                .forEach(service -> observeChannels(service.getChannels()));
+        return CompletableFuture.completedFuture(true);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> shutdown() {
+        if (userProfileByIdPin != null) {
+            userProfileByIdPin.unbind();
+        }
+        synchronized (channelsPins) {
+            channelsPins.forEach(Pin::unbind);
+            channelsPins.clear();
+        }
+        chatMessagesPinByChannelId.values().forEach(Pin::unbind);
+        chatMessagesPinByChannelId.clear();
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 100);
+        return CompletableFuture.completedFuture(true);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * @return The IDs of the messages in the given channel which match all tokens of the query as prefix.
+     */
+    public CompletableFuture<Set<String>> search(String channelId, String query) {
+        return CompletableFuture.supplyAsync(() -> Optional.ofNullable(indexByChannelId.get(channelId))
+                        .map(index -> index.search(query))
+                        .orElse(Collections.emptySet()),
+                executor);
+    }
+
+    /**
+     * @return The IDs of the matching messages by channel ID for all channels with at least one match.
+     */
+    public CompletableFuture<Map<String, Set<String>>> search(String query) {
+        return CompletableFuture.supplyAsync(() -> {
+            Map<String, Set<String>> result = new HashMap<>();
+            indexByChannelId.forEach((channelId, index) -> {
+                Set<String> messageIds = index.search(query);
+                if (!messageIds.isEmpty()) {
+                    result.put(channelId, messageIds);
+                }
+            });
+            return result;
+        }, executor);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////////////
+
+    private <M extends ChatMessage, C extends ChatChannel<M>> void observeChannels(ObservableArray<C> channels) {
+        Pin pin = channels.addObserver(new CollectionObserver<>() {
+            private final Set<String> channelIds = ConcurrentHashMap.newKeySet();
+
+            @Override
+            public void add(C channel) {
+                channelIds.add(channel.getId());
+                observeChatMessages(channel);
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof ChatChannel) {
+                    String channelId = ((ChatChannel<?>) element).getId();
+                    channelIds.remove(channelId);
+                    removeChannel(channelId);
+                }
+            }
+
+            @Override
+            public void clear() {
+                channelIds.forEach(ChatSearchService.this::removeChannel);
+                channelIds.clear();
+            }
+        });
+        synchronized (channelsPins) {
+            channelsPins.add(pin);
+        }
+    }
+
+    private <M extends ChatMessage> void observeChatMessages(ChatChannel<M> channel) {
+        String channelId = channel.getId();
+        if (chatMessagesPinByChannelId.containsKey(channelId)) {
+            return;
+        }
+        Pin pin = channel.getChatMessages().addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(M chatMessage) {
+                executor.execute(() -> addMessage(channelId, chatMessage));
+            }
+
+            @Override
+            public void remove(Object element) {
+                if (element instanceof ChatMessage) {
+                    ChatMessage chatMessage = (ChatMessage) element;
+                    executor.execute(() -> {
+                        Optional.ofNullable(indexByChannelId.get(channelId))
+                                .ifPresent(index -> index.remove(chatMessage.getId()));
+                        removeMessageWithUnknownAuthor(chatMessage);
+                    });
+                }
+            }
+
+            @Override
+            public void clear() {
+                executor.execute(() -> {
+                    Optional.ofNullable(indexByChannelId.get(channelId))
+                            .ifPresent(ChatMessageSearchIndex::clear);
+                    removeMessagesWithUnknownAuthor(channelId);
+                });
+            }
+        });
+        chatMessagesPinByChannelId.put(channelId, pin);
+    }
+
+    private void removeChannel(String channelId) {
+        Optional.ofNullable(chatMessagesPinByChannelId.remove(channelId)).ifPresent(Pin::unbind);
+        executor.execute(() -> {
+            indexByChannelId.remove(channelId);
+            removeMessagesWithUnknownAuthor(channelId);
+        });
+    }
+
+    // Called from the executor
+    private void addMessage(String channelId, ChatMessage chatMessage) {
+        indexByChannelId.computeIfAbsent(channelId, key -> new ChatMessageSearchIndex())
+                .add(chatMessage.getId(), getSearchableTexts(chatMessage));
+        String authorId = chatMessage.getAuthorUserProfileId();
+        if (userProfileService.findUserProfile(authorId).isEmpty()) {
+            messagesWithUnknownAuthorByAuthorId.computeIfAbsent(authorId, key -> new HashMap<>())
+                    .put(chatMessage, channelId);
+        }
+    }
+
+    // Called from the executor
+    private void reIndexMessagesOfAuthor(String authorId) {
+        Map<ChatMessage, String> channelIdByMessage = messagesWithUnknownAuthorByAuthorId.remove(authorId);
+        if (channelIdByMessage != null) {
+            channelIdByMessage.forEach((chatMessage, channelId) ->
+                    Optional.ofNullable(indexByChannelId.get(channelId))
+                            .filter(index -> index.contains(chatMessage.getId()))
+                            .ifPresent(index -> index.add(chatMessage.getId(), getSearchableTexts(chatMessage))));
+        }
+    }
+
+    // Called from the executor
+    private void removeMessageWithUnknownAuthor(ChatMessage chatMessage) {
+        String authorId = chatMessage.getAuthorUserProfileId();
+        Map<ChatMessage, String> channelIdByMessage = messagesWithUnknownAuthorByAuthorId.get(authorId);
+        if (channelIdByMessage != null) {
+            channelIdByMessage.remove(chatMessage);
+            if (channelIdByMessage.isEmpty()) {
+                messagesWithUnknownAuthorByAuthorId.remove(authorId);
+            }
+        }
+    }
+
+    // Called from the executor
+    private void removeMessagesWithUnknownAuthor(String channelId) {
+        messagesWithUnknownAuthorByAuthorId.values().forEach(channelIdByMessage ->
+                channelIdByMessage.values().removeIf(channelId::equals));
+        messagesWithUnknownAuthorByAuthorId.values().removeIf(Map::isEmpty);
+    }
+
+    // Called from the executor
+    private List<String> getSearchableTexts(ChatMessage chatMessage) {
+        List<String> texts = new ArrayList<>();
+        if (chatMessage.getChatMessageType() != ChatMessageType.LEAVE) {
+            texts.add(chatMessage.getText());
+        }
+        userProfileService.findUserProfile(chatMessage.getAuthorUserProfileId()).ifPresent(userProfile -> {
+            texts.add(userProfile.getNickName());
+            texts.add(userProfile.getNym());
+        });
+        if (chatMessage instanceof BisqEasyOfferMessage) {
+            ((BisqEasyOfferMessage) chatMessage).getBisqEasyOffer()
+                    .map(BisqEasyOffer::getMarket)
+                    .ifPresent(market -> {
+                        texts.add(market.getMarketCodes());
+                        texts.add(market.getMarketName());
+                    });
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatAuthorCountersTest {
+    @Test
+    void incrementAndDecrement() {
+        ChatAuthorCounters counters = new ChatAuthorCounters();
+        assertEquals(1, counters.increment("alice"));
+        assertEquals(2, counters.increment("alice"));
+        assertEquals(1, counters.increment("bob"));
+        assertEquals(2, counters.getNumAuthors());
+        assertEquals(2, counters.getNumMessages("alice"));
+
+        assertEquals(1, counters.decrement("alice"));
+        assertEquals(0, counters.decrement("alice"));
+        assertEquals(0, counters.decrement("alice"));
+        assertEquals(0, counters.getNumMessages("alice"));
+        assertEquals(1, counters.getNumAuthors());
+        assertEquals(List.of("bob"), counters.getMostActiveAuthorIds(10));
+    }
+
+    @Test
+    void mostActiveAuthorsFirst() {
+        ChatAuthorCounters counters = new ChatAuthorCounters();
+        increment(counters, "alice", 3);
+        increment(counters, "bob", 5);
+        increment(counters, "carol", 1);
+        increment(counters, "dave", 3);
+
+        assertEquals(List.of("bob", "alice", "dave", "carol"), counters.getMostActiveAuthorIds(10));
+        assertEquals(List.of("bob", "alice"), counters.getMostActiveAuthorIds(2));
+        assertTrue(counters.getMostActiveAuthorIds(0).isEmpty());
+
+        counters.decrement("bob");
+        counters.decrement("bob");
+        counters.decrement("bob");
+        assertEquals(List.of("alice", "dave", "bob", "carol"), counters.getMostActiveAuthorIds(10));
+    }
+
+    @Test
+    void sameResultAsMap() {
+        Random random = new Random(1);
+        ChatAuthorCounters counters = new ChatAuthorCounters();
+        Map<String, Integer> numMessagesByAuthorId = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            String authorId = "author" + random.nextInt(50);
+            if (random.nextInt(3) == 0) {
+                int expected = Math.max(0, numMessagesByAuthorId.getOrDefault(authorId, 0) - 1);
+                if (expected == 0) {
+                    numMessagesByAuthorId.remove(authorId);
+                } else {
+                    numMessagesByAuthorId.put(authorId, expected);
+                }
+                assertEquals(expected, counters.decrement(authorId));
+            } else {
+                assertEquals((int) numMessagesByAuthorId.merge(authorId, 1, Integer::sum), counters.increment(authorId));
+            }
+        }
+
+        assertEquals(numMessagesByAuthorId.size(), counters.getNumAuthors());
+        numMessagesByAuthorId.forEach((authorId, numMessages) -> assertEquals((int) numMessages, counters.getNumMessages(authorId)));
+        List<Integer> expectedCounts = numMessagesByAuthorId.values().stream()
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+        List<Integer> counts = counters.getMostActiveAuthorIds(Integer.MAX_VALUE).stream()
+                .map(counters::getNumMessages)
+                .collect(Collectors.toList());
+        assertEquals(expectedCounts, counts);
+    }
+
+    private static void increment(ChatAuthorCounters counters, String authorId, int numMessages) {
+        for (int i = 0; i < numMessages; i++) {
+            counters.increment(authorId);
+        }
+    }
+}
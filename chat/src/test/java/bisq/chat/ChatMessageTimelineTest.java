@@ -0,0 +1,161 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat;
+
+import bisq.chat.common.CommonPublicChatMessage;
+import bisq.common.observable.Pin;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatMessageTimelineTest {
+    // Message dates in the tests are relative to BASE_DATE, as chat messages require a recent date
+    private static final long BASE_DATE = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+    private static final String AUTHOR_ID = "0123456789012345678901234567890123456789";
+
+    @Test
+    void messagesAreOrderedByDateAndId() {
+        ChatMessageTimeline<CommonPublicChatMessage> timeline = new ChatMessageTimeline<>();
+        CommonPublicChatMessage message1 = createMessage(100);
+        CommonPublicChatMessage message2 = createMessage(200);
+        CommonPublicChatMessage message3 = createMessage(300);
+        CommonPublicChatMessage tie1 = createMessage(200);
+        CommonPublicChatMessage tie2 = createMessage(200);
+
+        assertEquals(0, timeline.add(message3));
+        assertEquals(0, timeline.add(message1));
+        assertEquals(1, timeline.add(message2));
+        timeline.add(tie1);
+        timeline.add(tie2);
+        assertEquals(-1, timeline.add(message2));
+        assertEquals(5, timeline.size());
+
+        List<CommonPublicChatMessage> expected = new ArrayList<>(List.of(message1, message2, tie1, tie2, message3));
+        expected.sort(ChatMessageTimeline.DATE_ORDER);
+        assertEquals(expected, timeline.getAll());
+        assertEquals(message1, timeline.getAll().get(0));
+        assertEquals(message3, timeline.getAll().get(4));
+
+        assertEquals(4, timeline.remove(message3));
+        assertEquals(-1, timeline.remove(message3));
+        assertEquals(0, timeline.remove(message1));
+        assertEquals(3, timeline.size());
+    }
+
+    @Test
+    void pagedAndRangeQueries() {
+        ChatMessageTimeline<CommonPublicChatMessage> timeline = new ChatMessageTimeline<>();
+        List<CommonPublicChatMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            messages.add(createMessage(i * 10));
+        }
+        List<CommonPublicChatMessage> shuffled = new ArrayList<>(messages);
+        Collections.shuffle(shuffled, new Random(1));
+        shuffled.forEach(timeline::add);
+
+        assertEquals(messages.subList(7, 10), timeline.getLatest(3));
+        assertEquals(messages, timeline.getLatest(100));
+        assertTrue(timeline.getLatest(0).isEmpty());
+
+        assertEquals(messages.subList(2, 5), timeline.getBefore(messages.get(5), 3));
+        assertEquals(messages.subList(0, 2), timeline.getBefore(messages.get(2), 3));
+        assertTrue(timeline.getBefore(messages.get(0), 3).isEmpty());
+
+        assertEquals(messages.subList(6, 9), timeline.getAfter(messages.get(5), 3));
+        assertEquals(messages.subList(8, 10), timeline.getAfter(messages.get(7), 3));
+        assertTrue(timeline.getAfter(messages.get(9), 3).isEmpty());
+
+        // Cursor does not need to be part of the timeline
+        CommonPublicChatMessage cursor = createMessage(45);
+        assertEquals(messages.subList(3, 5), timeline.getBefore(cursor, 2));
+        assertEquals(messages.subList(5, 7), timeline.getAfter(cursor, 2));
+
+        assertEquals(messages.subList(2, 5), timeline.getRange(BASE_DATE + 20, BASE_DATE + 50));
+        assertEquals(messages.subList(2, 6), timeline.getRange(BASE_DATE + 15, BASE_DATE + 51));
+        assertTrue(timeline.getRange(BASE_DATE + 50, BASE_DATE + 50).isEmpty());
+        assertTrue(timeline.getRange(BASE_DATE + 1000, BASE_DATE + 2000).isEmpty());
+    }
+
+    @Test
+    void pagingBackwardsVisitsAllMessagesOnce() {
+        ChatMessageTimeline<CommonPublicChatMessage> timeline = new ChatMessageTimeline<>();
+        Random random = new Random(2);
+        for (int i = 0; i < 1000; i++) {
+            // Small date range to get many ties
+            timeline.add(createMessage(random.nextInt(100)));
+        }
+
+        List<CommonPublicChatMessage> visited = new ArrayList<>();
+        List<CommonPublicChatMessage> page = timeline.getLatest(30);
+        while (!page.isEmpty()) {
+            visited.addAll(0, page);
+            page = timeline.getBefore(page.get(0), 30);
+        }
+        assertEquals(timeline.getAll(), visited);
+    }
+
+    @Test
+    void observersGetInsertAndRemovePosition() {
+        ChatMessageTimeline<CommonPublicChatMessage> timeline = new ChatMessageTimeline<>();
+        List<CommonPublicChatMessage> mirror = new ArrayList<>();
+        Pin pin = timeline.addObserver(new ChatMessageTimeline.Observer<>() {
+            @Override
+            public void onAdded(CommonPublicChatMessage chatMessage, int index) {
+                mirror.add(index, chatMessage);
+            }
+
+            @Override
+            public void onRemoved(CommonPublicChatMessage chatMessage, int index) {
+                assertEquals(chatMessage, mirror.remove(index));
+            }
+        });
+
+        Random random = new Random(3);
+        List<CommonPublicChatMessage> added = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            if (!added.isEmpty() && random.nextInt(4) == 0) {
+                timeline.remove(added.remove(random.nextInt(added.size())));
+            } else {
+                CommonPublicChatMessage message = createMessage(random.nextInt(200));
+                added.add(message);
+                timeline.add(message);
+            }
+            assertEquals(timeline.getAll(), mirror);
+        }
+
+        timeline.clear();
+        assertTrue(mirror.isEmpty());
+
+        pin.unbind();
+        timeline.add(createMessage(1));
+        assertTrue(mirror.isEmpty());
+    }
+
+    private static CommonPublicChatMessage createMessage(long date) {
+        return new CommonPublicChatMessage(ChatChannelDomain.DISCUSSION,
+                "channelId",
+                AUTHOR_ID,
+                "text",
+                Optional.empty(),
+                BASE_DATE + date,
+                false);
+    }
+}
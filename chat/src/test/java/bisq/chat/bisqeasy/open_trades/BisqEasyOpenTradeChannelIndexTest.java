@@ -0,0 +1,131 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.bisqeasy.open_trades;
+
+import bisq.common.observable.collection.ObservableArray;
+import bisq.user.profile.UserProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BisqEasyOpenTradeChannelIndexTest {
+    @Test
+    void add() {
+        BisqEasyOpenTradeChannelIndex index = new BisqEasyOpenTradeChannelIndex();
+        BisqEasyOpenTradeChannel channel1 = mockChannel("channel1", "trade1", "peer1");
+        BisqEasyOpenTradeChannel channel2 = mockChannel("channel2", "trade2", "peer1");
+        index.add(channel1);
+        index.add(channel2);
+
+        assertEquals(Optional.of(channel1), index.findById("channel1"));
+        assertEquals(Optional.of(channel2), index.findByTradeId("trade2"));
+        assertEquals(Set.of(channel1, channel2), index.findByPeerId("peer1"));
+    }
+
+    @Test
+    void remove() {
+        BisqEasyOpenTradeChannelIndex index = new BisqEasyOpenTradeChannelIndex();
+        BisqEasyOpenTradeChannel channel1 = mockChannel("channel1", "trade1", "peer1");
+        BisqEasyOpenTradeChannel channel2 = mockChannel("channel2", "trade2", "peer1");
+        index.add(channel1);
+        index.add(channel2);
+
+        index.remove(channel1);
+        assertTrue(index.findById("channel1").isEmpty());
+        assertTrue(index.findByTradeId("trade1").isEmpty());
+        assertEquals(Set.of(channel2), index.findByPeerId("peer1"));
+
+        index.remove(channel2);
+        assertTrue(index.findByPeerId("peer1").isEmpty());
+
+        // Removing an unknown channel or another type has no effect
+        index.remove(channel2);
+        index.remove("channel2");
+        assertTrue(index.findById("channel2").isEmpty());
+    }
+
+    @Test
+    void missingTradeId() {
+        BisqEasyOpenTradeChannelIndex index = new BisqEasyOpenTradeChannelIndex();
+        index.add(mockChannel("channel1", "trade1", "peer1"));
+
+        assertTrue(index.findByTradeId("trade2").isEmpty());
+        assertTrue(index.findById("channel2").isEmpty());
+        assertTrue(index.findByPeerId("peer2").isEmpty());
+    }
+
+    @Test
+    void replaceChannelWithSameTradeId() {
+        BisqEasyOpenTradeChannelIndex index = new BisqEasyOpenTradeChannelIndex();
+        BisqEasyOpenTradeChannel channel = mockChannel("channel1", "trade1", "peer1");
+        BisqEasyOpenTradeChannel replacement = mockChannel("channel1", "trade1", "peer1");
+        index.add(channel);
+        index.add(replacement);
+        assertEquals(Optional.of(replacement), index.findByTradeId("trade1"));
+        assertEquals(Optional.of(replacement), index.findById("channel1"));
+
+        // Removing the replaced channel must not remove the entries of the replacement
+        index.remove(channel);
+        assertEquals(Optional.of(replacement), index.findByTradeId("trade1"));
+        assertEquals(Optional.of(replacement), index.findById("channel1"));
+        assertEquals(Set.of(replacement), index.findByPeerId("peer1"));
+    }
+
+    @Test
+    void setAllAndClearByObserver() {
+        BisqEasyOpenTradeChannel channel1 = mockChannel("channel1", "trade1", "peer1");
+        BisqEasyOpenTradeChannel channel2 = mockChannel("channel2", "trade2", "peer2");
+        BisqEasyOpenTradeChannel channel3 = mockChannel("channel3", "trade3", "peer2");
+        ObservableArray<BisqEasyOpenTradeChannel> channels = new ObservableArray<>(List.of(channel1));
+        BisqEasyOpenTradeChannelIndex index = new BisqEasyOpenTradeChannelIndex();
+        // The existing channels are delivered at adding the observer
+        channels.addObserver(index);
+        assertEquals(Optional.of(channel1), index.findByTradeId("trade1"));
+
+        // As at applying the persisted store
+        channels.setAll(List.of(channel2, channel3));
+        assertTrue(index.findByTradeId("trade1").isEmpty());
+        assertTrue(index.findByPeerId("peer1").isEmpty());
+        assertEquals(Optional.of(channel2), index.findByTradeId("trade2"));
+        assertEquals(Set.of(channel2, channel3), index.findByPeerId("peer2"));
+
+        channels.remove(channel2);
+        assertEquals(Set.of(channel3), index.findByPeerId("peer2"));
+
+        channels.clear();
+        assertTrue(index.findById("channel3").isEmpty());
+        assertTrue(index.findByTradeId("trade3").isEmpty());
+        assertTrue(index.findByPeerId("peer2").isEmpty());
+    }
+
+    private static BisqEasyOpenTradeChannel mockChannel(String channelId, String tradeId, String peersUserProfileId) {
+        UserProfile peer = mock(UserProfile.class);
+        when(peer.getId()).thenReturn(peersUserProfileId);
+        BisqEasyOpenTradeChannel channel = mock(BisqEasyOpenTradeChannel.class);
+        when(channel.getId()).thenReturn(channelId);
+        when(channel.getTradeId()).thenReturn(tradeId);
+        when(channel.getPeer()).thenReturn(peer);
+        return channel;
+    }
+}
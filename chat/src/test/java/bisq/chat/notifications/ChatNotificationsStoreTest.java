@@ -0,0 +1,190 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.notifications;
+
+import bisq.chat.ChatChannelDomain;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class ChatNotificationsStoreTest {
+    private static final ChatChannelDomain[] DOMAINS = ChatChannelDomain.values();
+
+    @Test
+    void indexesAreUpdatedOnAddConsumeAndRemove() {
+        ChatNotificationsStore store = new ChatNotificationsStore();
+        ChatNotification tradeNotification1 = createNotification(1, "trade1", ChatChannelDomain.BISQ_EASY_OPEN_TRADES, Optional.of("tradeId1"), false);
+        ChatNotification tradeNotification2 = createNotification(2, "trade1", ChatChannelDomain.BISQ_EASY_OPEN_TRADES, Optional.of("tradeId1"), false);
+        ChatNotification discussionNotification = createNotification(3, "discussion", ChatChannelDomain.DISCUSSION, Optional.empty(), false);
+        ChatNotification consumedNotification = createNotification(4, "discussion", ChatChannelDomain.DISCUSSION, Optional.empty(), true);
+
+        assertTrue(store.add(tradeNotification1));
+        assertTrue(store.add(tradeNotification2));
+        assertTrue(store.add(discussionNotification));
+        assertTrue(store.add(consumedNotification));
+        assertFalse(store.add(tradeNotification1));
+
+        assertEquals(2, store.getNumNotConsumedNotifications("trade1"));
+        assertEquals(1, store.getNumNotConsumedNotifications("discussion"));
+        assertEquals(0, store.getNumNotConsumedNotifications("unknown"));
+        assertEquals(2, store.getNumNotConsumedNotifications(ChatChannelDomain.BISQ_EASY_OPEN_TRADES));
+        assertEquals(1, store.getNumNotConsumedNotifications(ChatChannelDomain.DISCUSSION));
+        assertEquals(Set.of("tradeId1"), store.getTradeIdsOfNotConsumedNotifications());
+
+        assertTrue(store.consume(tradeNotification1));
+        assertFalse(store.consume(tradeNotification1));
+        assertFalse(store.consume(consumedNotification));
+        assertEquals(1, store.getNumNotConsumedNotifications("trade1"));
+        assertEquals(Set.of("tradeId1"), store.getTradeIdsOfNotConsumedNotifications());
+
+        assertTrue(store.remove(tradeNotification2));
+        assertEquals(0, store.getNumNotConsumedNotifications("trade1"));
+        assertEquals(0, store.getNumNotConsumedNotifications(ChatChannelDomain.BISQ_EASY_OPEN_TRADES));
+        assertTrue(store.getTradeIdsOfNotConsumedNotifications().isEmpty());
+
+        assertTrue(store.remove(consumedNotification));
+        assertEquals(1, store.getNumNotConsumedNotifications("discussion"));
+        assertEquals(2, store.getNotifications().size());
+    }
+
+    @Test
+    void indexesMatchFullScan() {
+        Random random = new Random(1);
+        List<ChatNotification> notifications = createNotifications(random, 5000);
+        ChatNotificationsStore store = new ChatNotificationsStore();
+        notifications.forEach(store::add);
+        notifications.stream()
+                .filter(notification -> random.nextInt(3) == 0)
+                .forEach(store::consume);
+        notifications.stream()
+                .filter(notification -> random.nextInt(5) == 0)
+                .forEach(store::remove);
+        assertIndexesMatchFullScan(store);
+
+        // Indexes are rebuilt for persisted and cloned stores
+        ChatNotificationsStore persisted = new ChatNotificationsStore();
+        persisted.applyPersisted(store.getClone());
+        assertIndexesMatchFullScan(persisted);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkNumNotifications() {
+        Random random = new Random(2);
+        ChatNotificationsStore store = new ChatNotificationsStore();
+        createNotifications(random, 50_000).forEach(store::add);
+        List<String> channelIds = new ArrayList<>(getChannelIds(store));
+        int iterations = 200;
+
+        long ts = System.nanoTime();
+        long fullScanSum = 0;
+        for (int i = 0; i < iterations; i++) {
+            String channelId = channelIds.get(i % channelIds.size());
+            fullScanSum += store.getNotifications().stream()
+                    .filter(ChatNotification::isNotConsumed)
+                    .filter(notification -> notification.getChatChannelId().equals(channelId))
+                    .count();
+        }
+        long fullScanDuration = System.nanoTime() - ts;
+
+        ts = System.nanoTime();
+        long indexedSum = 0;
+        for (int i = 0; i < iterations; i++) {
+            indexedSum += store.getNumNotConsumedNotifications(channelIds.get(i % channelIds.size()));
+        }
+        long indexedDuration = System.nanoTime() - ts;
+
+        assertEquals(fullScanSum, indexedSum);
+        log.info("{} queries of the number of notifications per channel with 50k stored notifications took {} ms " +
+                        "with a full scan and {} ms with the index",
+                iterations, fullScanDuration / 1_000_000, indexedDuration / 1_000_000);
+        // A counter lookup must beat scanning 50k notifications by far, so the check holds even with noisy timings
+        assertTrue(indexedDuration < fullScanDuration,
+                "Indexed queries took " + indexedDuration + " ns, full scans " + fullScanDuration + " ns");
+    }
+
+    private static void assertIndexesMatchFullScan(ChatNotificationsStore store) {
+        Collection<ChatNotification> all = store.getNotifications();
+        for (String channelId : getChannelIds(store)) {
+            assertEquals(all.stream()
+                            .filter(ChatNotification::isNotConsumed)
+                            .filter(notification -> notification.getChatChannelId().equals(channelId))
+                            .count(),
+                    store.getNumNotConsumedNotifications(channelId));
+        }
+        for (ChatChannelDomain domain : DOMAINS) {
+            assertEquals(all.stream()
+                            .filter(ChatNotification::isNotConsumed)
+                            .filter(notification -> notification.getChatChannelDomain() == domain)
+                            .count(),
+                    store.getNumNotConsumedNotifications(domain));
+        }
+        assertEquals(all.stream()
+                        .filter(ChatNotification::isNotConsumed)
+                        .flatMap(notification -> notification.getTradeId().stream())
+                        .collect(Collectors.toSet()),
+                store.getTradeIdsOfNotConsumedNotifications());
+        assertEquals(all.stream().filter(ChatNotification::isNotConsumed).count(),
+                store.getNotConsumedNotifications().count());
+    }
+
+    private static Set<String> getChannelIds(ChatNotificationsStore store) {
+        return store.getNotifications().stream()
+                .map(ChatNotification::getChatChannelId)
+                .collect(Collectors.toSet());
+    }
+
+    private static List<ChatNotification> createNotifications(Random random, int numNotifications) {
+        List<ChatNotification> notifications = new ArrayList<>();
+        for (int i = 0; i < numNotifications; i++) {
+            ChatChannelDomain domain = DOMAINS[random.nextInt(DOMAINS.length)];
+            int channelIndex = random.nextInt(100);
+            String channelId = domain.name() + "." + channelIndex;
+            Optional<String> tradeId = domain == ChatChannelDomain.BISQ_EASY_OPEN_TRADES ?
+                    Optional.of("tradeId" + channelIndex) :
+                    Optional.empty();
+            notifications.add(createNotification(i, channelId, domain, tradeId, random.nextInt(10) == 0));
+        }
+        return notifications;
+    }
+
+    private static ChatNotification createNotification(int index,
+                                                       String channelId,
+                                                       ChatChannelDomain domain,
+                                                       Optional<String> tradeId,
+                                                       boolean isConsumed) {
+        String messageId = "message" + index;
+        return new ChatNotification(ChatNotification.createId(channelId, messageId),
+                "title",
+                "message",
+                index,
+                channelId,
+                domain,
+                messageId,
+                tradeId,
+                Optional.empty(),
+                Optional.empty(),
+                isConsumed);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.notifications;
+
+import bisq.chat.Citation;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MentionMatcherTest {
+    @Test
+    void findsMentionsOfAllUserNames() {
+        MentionMatcher matcher = new MentionMatcher(List.of("Alice [Fast-Turtle-42]", "Bob [Red-Fox-7]"), List.of());
+
+        assertTrue(matcher.wasMentioned("Hi @Alice [Fast-Turtle-42], how are you?"));
+        assertTrue(matcher.wasMentioned("@Bob [Red-Fox-7]"));
+        assertFalse(matcher.wasMentioned("Hi Alice [Fast-Turtle-42]"));
+        assertFalse(matcher.wasMentioned("Hi @Alice [Fast-Turtle-4"));
+        assertFalse(matcher.wasMentioned("Hi @alice [fast-turtle-42]"));
+        assertFalse(matcher.wasMentioned(""));
+    }
+
+    @Test
+    void findsMentionsOfOverlappingUserNames() {
+        // After "@a@a" the text continues with "c", so the matcher has to fall back to "@a" to find "@ac"
+        MentionMatcher matcher = new MentionMatcher(List.of("a@b", "ac"), List.of());
+        assertTrue(matcher.wasMentioned("@a@ac"));
+        assertFalse(matcher.wasMentioned("@a@a"));
+
+        // "@b" ends inside of the prefix "@a@b" of "@a@bc"
+        matcher = new MentionMatcher(List.of("a@bc", "b"), List.of());
+        assertTrue(matcher.wasMentioned("@a@bx"));
+        assertFalse(matcher.wasMentioned("@a@x"));
+    }
+
+    @Test
+    void emptyMatcherDoesNotMatch() {
+        assertFalse(MentionMatcher.EMPTY.wasMentioned("@anybody"));
+        assertFalse(MentionMatcher.EMPTY.wasCited(Optional.empty()));
+    }
+
+    @Test
+    void findsCitationsOfAllUserProfileIds() {
+        MentionMatcher matcher = new MentionMatcher(List.of(), List.of("id1", "id2"));
+
+        assertTrue(matcher.wasCited(Optional.of(new Citation("id2", "text"))));
+        assertFalse(matcher.wasCited(Optional.of(new Citation("id3", "text"))));
+        assertFalse(matcher.wasCited(Optional.empty()));
+    }
+
+    @Test
+    void sameResultAsContains() {
+        Random random = new Random(1);
+        for (int run = 0; run < 200; run++) {
+            List<String> userNames = new ArrayList<>();
+            for (int i = 0; i < 1 + random.nextInt(5); i++) {
+                userNames.add(createText(random, 1 + random.nextInt(4)));
+            }
+            MentionMatcher matcher = new MentionMatcher(userNames, List.of());
+            for (int i = 0; i < 50; i++) {
+                String text = createText(random, random.nextInt(30));
+                boolean expected = userNames.stream().anyMatch(userName -> text.contains("@" + userName));
+                assertEquals(expected, matcher.wasMentioned(text), "userNames=" + userNames + ", text=" + text);
+            }
+        }
+    }
+
+    // Small alphabet, so that texts contain many partial matches
+    private static String createText(Random random, int length) {
+        String alphabet = "ab@ ";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+}
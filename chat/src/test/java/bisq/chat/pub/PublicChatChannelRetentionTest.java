@@ -0,0 +1,101 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.pub;
+
+import bisq.chat.ChatChannelDomain;
+import bisq.chat.common.CommonPublicChatMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublicChatChannelRetentionTest {
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    // Message dates are relative to BASE_DATE, as chat messages require a recent date
+    private static final long BASE_DATE = System.currentTimeMillis() - 30 * DAY;
+    private static final String AUTHOR_ID = "0123456789012345678901234567890123456789";
+
+    @Test
+    void unlimitedDoesNotMoveMessages() {
+        List<CommonPublicChatMessage> messages = createMessages(100, 0);
+        assertTrue(PublicChatChannelRetention.UNLIMITED.isUnlimited());
+        assertTrue(PublicChatChannelRetention.UNLIMITED.selectMessagesToMove(messages, m -> true, BASE_DATE + 100 * DAY).isEmpty());
+    }
+
+    @Test
+    void oldestMessagesExceedingMaxNumAreMoved() {
+        PublicChatChannelRetention retention = new PublicChatChannelRetention(10, 0);
+        List<CommonPublicChatMessage> messages = createMessages(15, 0);
+
+        assertEquals(messages.subList(0, 5), retention.selectMessagesToMove(messages, m -> true, 0));
+        assertTrue(retention.selectMessagesToMove(messages.subList(0, 10), m -> true, 0).isEmpty());
+    }
+
+    @Test
+    void messagesOlderThanMaxAgeAreMoved() {
+        PublicChatChannelRetention retention = new PublicChatChannelRetention(0, 2);
+        // One message per day from day 0 to day 9
+        List<CommonPublicChatMessage> messages = createMessages(10, DAY);
+
+        // At day 10, messages before day 8 are too old
+        assertEquals(messages.subList(0, 8), retention.selectMessagesToMove(messages, m -> true, BASE_DATE + 10 * DAY));
+    }
+
+    @Test
+    void bothLimitsApply() {
+        PublicChatChannelRetention retention = new PublicChatChannelRetention(5, 3);
+        List<CommonPublicChatMessage> messages = createMessages(10, DAY);
+
+        // Age limit moves more messages than the max number
+        assertEquals(messages.subList(0, 7), retention.selectMessagesToMove(messages, m -> true, BASE_DATE + 10 * DAY));
+        // Max number moves more messages than the age limit
+        assertEquals(messages.subList(0, 5), retention.selectMessagesToMove(messages, m -> true, BASE_DATE + 5 * DAY));
+    }
+
+    @Test
+    void messagesWhichCannotBeMovedAreSkipped() {
+        PublicChatChannelRetention retention = new PublicChatChannelRetention(5, 0);
+        List<CommonPublicChatMessage> messages = createMessages(10, 0);
+        CommonPublicChatMessage kept1 = messages.get(0);
+        CommonPublicChatMessage kept2 = messages.get(2);
+
+        List<CommonPublicChatMessage> moved = retention.selectMessagesToMove(messages,
+                m -> m != kept1 && m != kept2,
+                0);
+
+        assertEquals(List.of(messages.get(1), messages.get(3), messages.get(4), messages.get(5), messages.get(6)), moved);
+    }
+
+    private static List<CommonPublicChatMessage> createMessages(int numMessages, long interval) {
+        List<CommonPublicChatMessage> messages = new ArrayList<>();
+        for (int i = 0; i < numMessages; i++) {
+            messages.add(new CommonPublicChatMessage(ChatChannelDomain.DISCUSSION,
+                    "channelId",
+                    AUTHOR_ID,
+                    "text",
+                    Optional.empty(),
+                    BASE_DATE + i * interval,
+                    false));
+        }
+        return messages;
+    }
+}
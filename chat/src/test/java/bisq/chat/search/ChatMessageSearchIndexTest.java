@@ -0,0 +1,130 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.chat.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChatMessageSearchIndexTest {
+    private static final String[] WORDS = {"bitcoin", "bisq", "easy", "offer", "trade", "payment", "sepa", "revolut",
+            "cash", "mediator", "reputation", "market", "price", "wallet", "lightning", "node", "tor", "seller", "buyer",
+            "amount", "fee", "support", "question", "release", "update", "backup", "profile", "chat", "channel", "hello"};
+
+    @Test
+    void tokenize() {
+        assertEquals(Set.of("hello", "world", "42"), ChatMessageSearchIndex.tokenize("Hello, WORLD! 42 hello"));
+        assertEquals(Set.of("btc", "eur"), ChatMessageSearchIndex.tokenize("BTC/EUR"));
+        assertEquals(Set.of("alice"), ChatMessageSearchIndex.tokenize("@alice"));
+        assertTrue(ChatMessageSearchIndex.tokenize("  ,.-").isEmpty());
+        assertTrue(ChatMessageSearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void prefixQueriesMatchAllTokens() {
+        ChatMessageSearchIndex index = new ChatMessageSearchIndex();
+        index.add("1", List.of("Selling bitcoin for SEPA", "Alice"));
+        index.add("2", List.of("Buying bitcoin with cash", "Bob"));
+        index.add("3", List.of("Hello everyone", "Alice", "BTC/EUR"));
+
+        assertEquals(Set.of("1", "2"), index.search("bitcoin"));
+        assertEquals(Set.of("1", "2"), index.search("BIT"));
+        assertEquals(Set.of("1", "3"), index.search("ali"));
+        assertEquals(Set.of("1"), index.search("ali bit"));
+        assertEquals(Set.of("3"), index.search("eur"));
+        assertTrue(index.search("coin").isEmpty());
+        assertTrue(index.search("ali cash").isEmpty());
+        assertTrue(index.search("").isEmpty());
+        assertTrue(index.search(" ").isEmpty());
+    }
+
+    @Test
+    void addReplacesAndRemoveDropsTokens() {
+        ChatMessageSearchIndex index = new ChatMessageSearchIndex();
+        index.add("1", List.of("first text"));
+        index.add("1", List.of("edited text"));
+        assertEquals(1, index.size());
+        assertTrue(index.search("first").isEmpty());
+        assertEquals(Set.of("1"), index.search("edited"));
+
+        index.remove("1");
+        index.remove("unknown");
+        assertEquals(0, index.size());
+        assertFalse(index.contains("1"));
+        assertTrue(index.search("text").isEmpty());
+
+        index.add("2", List.of("text"));
+        index.clear();
+        assertTrue(index.search("text").isEmpty());
+    }
+
+    @Test
+    void searchMatchesFullScan() {
+        Random random = new Random(1);
+        ChatMessageSearchIndex index = new ChatMessageSearchIndex();
+        Map<String, String> textById = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            String id = String.valueOf(i);
+            String text = createText(random);
+            textById.put(id, text);
+            index.add(id, List.of(text));
+            if (random.nextInt(5) == 0) {
+                String removedId = String.valueOf(random.nextInt(i + 1));
+                textById.remove(removedId);
+                index.remove(removedId);
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String query = WORDS[random.nextInt(WORDS.length)].substring(0, 1 + random.nextInt(3));
+            if (random.nextBoolean()) {
+                query += " " + WORDS[random.nextInt(WORDS.length)];
+            }
+            assertEquals(fullScan(textById, query), index.search(query), query);
+        }
+    }
+
+    private static String createText(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int numWords = 3 + random.nextInt(10);
+        for (int i = 0; i < numWords; i++) {
+            if (i > 0) {
+                sb.append(random.nextInt(4) == 0 ? ", " : " ");
+            }
+            String word = WORDS[random.nextInt(WORDS.length)];
+            sb.append(random.nextInt(5) == 0 ? word.toUpperCase(Locale.ROOT) : word);
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> fullScan(Map<String, String> textById, String query) {
+        Set<String> queryTokens = ChatMessageSearchIndex.tokenize(query);
+        Set<String> result = new HashSet<>();
+        textById.forEach((id, text) -> {
+            Set<String> tokens = ChatMessageSearchIndex.tokenize(text);
+            boolean allMatch = queryTokens.stream()
+                    .allMatch(queryToken -> tokens.stream().anyMatch(token -> token.startsWith(queryToken)));
+            if (allMatch) {
+                result.add(id);
+            }
+        });
+        return result;
+    }
+}
@@ -17,19 +17,42 @@
 
 package bisq.common.archive;
 
+import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.FileUtils;
-
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+/**
+ * Extracts a zip archive from a stream. The entries are decompressed sequentially as the stream does not support
+ * random access, but comparing with existing files and writing to disk is done in parallel for entries up to
+ * {@link #MAX_BUFFERED_ENTRY_SIZE}. Larger entries are streamed directly to disk.
+ * Files which already match size and CRC of the archive entry are not written again, so that repeated extractions
+ * of the same archive do not touch the disk.
+ */
+@Slf4j
 public class ZipFileExtractor implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_BUFFERED_ENTRY_SIZE = 8 * 1024 * 1024;
+    private static final int MAX_PENDING_BYTES = 64 * 1024 * 1024;
+    private static final int MAX_NUM_THREADS = 4;
+    private static final ThreadLocal<byte[]> WORKER_BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
 
     private final InputStream zipFileInputStream;
     private final File destDir;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final Semaphore pendingBytes = new Semaphore(MAX_PENDING_BYTES);
 
     public ZipFileExtractor(InputStream zipFileInputStream, File destDir) {
         this.zipFileInputStream = zipFileInputStream;
@@ -38,7 +61,13 @@ public class ZipFileExtractor implements AutoCloseable {
 
     public void extractArchive() {
         createDirIfNotPresent(destDir);
-        extractFiles();
+        int numThreads = Math.max(1, Math.min(MAX_NUM_THREADS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = ExecutorFactory.newFixedThreadPool("ZipFileExtractor", numThreads);
+        try {
+            extractFiles(executor);
+        } finally {
+            ExecutorFactory.shutdownAndAwaitTermination(executor);
+        }
     }
 
     @Override
@@ -54,9 +83,9 @@ public class ZipFileExtractor implements AutoCloseable {
         }
     }
 
-    private void extractFiles() {
-        try (ZipInputStream zipInputStream = new ZipInputStream(zipFileInputStream)) {
-            byte[] buffer = new byte[1024];
+    private void extractFiles(ExecutorService executor) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(new BufferedInputStream(zipFileInputStream, BUFFER_SIZE))) {
             ZipEntry zipEntry = zipInputStream.getNextEntry();
 
             while (zipEntry != null) {
@@ -66,7 +95,9 @@ public class ZipFileExtractor implements AutoCloseable {
                     File dirFile = new File(destDir, fileName);
                     createDirIfNotPresent(dirFile);
                 } else {
-                    writeStreamToFile(buffer, zipInputStream, fileName);
+                    File destFile = new File(destDir, fileName);
+                    createDirIfNotPresent(destFile.getParentFile());
+                    extractFile(zipInputStream, zipEntry, destFile, executor).ifPresent(futures::add);
                 }
 
                 zipEntry = zipInputStream.getNextEntry();
@@ -74,20 +105,138 @@ public class ZipFileExtractor implements AutoCloseable {
             zipInputStream.closeEntry();
 
         } catch (IOException e) {
-            throw new ZipFileExtractionFailedException("Couldn't extract zip file.", e);
+            throw awaitAllAfterFailure(futures, new ZipFileExtractionFailedException("Couldn't extract zip file.", e));
+        } catch (RuntimeException e) {
+            throw awaitAllAfterFailure(futures, e);
+        }
+        awaitAll(futures);
+    }
+
+    private Optional<CompletableFuture<Void>> extractFile(ZipInputStream zipInputStream,
+                                                         ZipEntry zipEntry,
+                                                         File destFile,
+                                                         ExecutorService executor) throws IOException {
+        long size = zipEntry.getSize();
+        if (size > MAX_BUFFERED_ENTRY_SIZE) {
+            // If the size is known from the local header, the CRC is known as well
+            if (isUpToDate(destFile, size, zipEntry.getCrc(), buffer)) {
+                return Optional.empty();
+            }
+            writeStreamToFile(zipInputStream, destFile, new byte[0], 0);
+            return Optional.empty();
+        }
+
+        byte[] data;
+        int length;
+        if (size >= 0) {
+            data = zipInputStream.readNBytes((int) size);
+            length = data.length;
+        } else {
+            // Entries with a data descriptor have no size and CRC in the local header
+            data = new byte[BUFFER_SIZE];
+            length = 0;
+            while (true) {
+                if (length == data.length) {
+                    if (length == MAX_BUFFERED_ENTRY_SIZE) {
+                        // Entry is too large for buffering, so we stream the rest
+                        writeStreamToFile(zipInputStream, destFile, data, length);
+                        return Optional.empty();
+                    }
+                    data = Arrays.copyOf(data, Math.min(MAX_BUFFERED_ENTRY_SIZE, length * 2));
+                }
+                int read = zipInputStream.read(data, length, data.length - length);
+                if (read < 0) {
+                    break;
+                }
+                length += read;
+            }
+        }
+
+        // If not known from the local header, the CRC is set after the entry has been read completely
+        long crc = zipEntry.getCrc();
+        byte[] entryData = data;
+        int entryLength = length;
+        acquire(entryLength);
+        return Optional.of(CompletableFuture.runAsync(() -> {
+            try {
+                if (!isUpToDate(destFile, entryLength, crc, WORKER_BUFFER.get())) {
+                    writeToFile(entryData, entryLength, destFile);
+                }
+            } finally {
+                pendingBytes.release(entryLength);
+            }
+        }, executor));
+    }
+
+    private static boolean isUpToDate(File file, long size, long crc, byte[] buffer) {
+        if (!file.isFile() || file.length() != size) {
+            return false;
+        }
+        CRC32 crc32 = new CRC32();
+        try (InputStream inputStream = new FileInputStream(file)) {
+            int length;
+            while ((length = inputStream.read(buffer)) > 0) {
+                crc32.update(buffer, 0, length);
+            }
+        } catch (IOException e) {
+            log.warn("Couldn't read existing file {}", file, e);
+            return false;
+        }
+        return crc32.getValue() == crc;
+    }
+
+    private static void writeToFile(byte[] data, int length, File destFile) {
+        try (FileOutputStream outputStream = new FileOutputStream(destFile)) {
+            outputStream.write(data, 0, length);
+        } catch (IOException e) {
+            throw new ZipFileExtractionFailedException("Couldn't write to file: " + destFile, e);
         }
     }
 
-    private void writeStreamToFile(byte[] buffer, InputStream inputStream, String fileName) {
-        File destFile = new File(destDir, fileName);
+    private void writeStreamToFile(InputStream inputStream, File destFile, byte[] prefix, int prefixLength) {
         try (FileOutputStream outputStream = new FileOutputStream(destFile)) {
+            outputStream.write(prefix, 0, prefixLength);
             int length;
             while ((length = inputStream.read(buffer)) > 0) {
                 outputStream.write(buffer, 0, length);
             }
 
         } catch (IOException e) {
-            throw new ZipFileExtractionFailedException("Couldn't write to stream to: " + destFile);
+            throw new ZipFileExtractionFailedException("Couldn't write to stream to: " + destFile, e);
+        }
+    }
+
+    private void acquire(int numBytes) {
+        try {
+            pendingBytes.acquire(numBytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZipFileExtractionFailedException("Interrupted at zip file extraction", e);
+        }
+    }
+
+    // We wait for the started workers, so that no file gets written after the extraction has failed. Their failures
+    // are added as suppressed exceptions, so that they do not replace the original failure.
+    private static <T extends RuntimeException> T awaitAllAfterFailure(List<CompletableFuture<Void>> futures,
+                                                                        T exception) {
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                exception.addSuppressed(e.getCause());
+            }
+        }
+        return exception;
+    }
+
+    private static void awaitAll(List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ZipFileExtractionFailedException) {
+                throw (ZipFileExtractionFailedException) e.getCause();
+            }
+            throw new ZipFileExtractionFailedException("Couldn't extract zip file.", e.getCause());
         }
     }
 }
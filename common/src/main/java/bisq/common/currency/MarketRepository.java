@@ -17,19 +17,21 @@
 
 package bisq.common.currency;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * The markets are derived from the currency repositories. As the lookups are used for each offer and chat message
+ * in the offerbook, we build an immutable index of all market lists and lookup maps once and rebuild it only if
+ * the currency lists of the repositories got replaced (e.g. by FiatCurrencyRepository.setLocale).
+ * The list getters return a new mutable list as before.
+ */
 public class MarketRepository {
+    private static volatile MarketIndex marketIndex;
+
     public static Market getDefault() {
-        return new Market(CryptoCurrencyRepository.getDefaultCurrency().getCode(),
-                FiatCurrencyRepository.getDefaultCurrency().getCode(),
-                CryptoCurrencyRepository.getDefaultCurrency().getName(),
-                FiatCurrencyRepository.getDefaultCurrency().getName()
-        );
+        return getMarketIndex().defaultMarket;
     }
 
     public static Market getBsqMarket() {
@@ -41,84 +43,145 @@ public class MarketRepository {
     }
 
     public static List<Market> getMajorMarkets() {
-        return Stream.concat(getMajorFiatMarkets().stream(), getMajorCryptoCurrencyMarkets().stream())
-                .distinct()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().majorMarkets);
     }
 
     public static List<Market> getMinorMarkets() {
-        return Stream.concat(getMinorFiatMarkets().stream(), getMinorCryptoCurrencyMarkets().stream())
-                .distinct()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().minorMarkets);
     }
 
     public static List<Market> getMinorFiatMarkets() {
-        return FiatCurrencyRepository.getMinorCurrencies().stream()
-                .map(currency -> new Market("BTC", currency.getCode(), "Bitcoin", currency.getName()))
-                .distinct()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().minorFiatMarkets);
     }
 
     public static List<Market> getMajorFiatMarkets() {
-        return FiatCurrencyRepository.getMajorCurrencies().stream()
-                .map(currency -> new Market("BTC", currency.getCode(), "Bitcoin", currency.getName()))
-                .distinct()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().majorFiatMarkets);
     }
 
     public static List<Market> getAllUnsortedFiatMarkets() {
-        return FiatCurrencyRepository.getAllCurrencies().stream()
-                .map(currency -> new Market("BTC", currency.getCode(), "Bitcoin", currency.getName()))
-                .distinct()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().allUnsortedFiatMarkets);
     }
 
     public static List<Market> getMinorCryptoCurrencyMarkets() {
-        return CryptoCurrencyRepository.getMinorCurrencies().stream()
-                .map(currency -> new Market(currency.getCode(), "BTC", currency.getName(), "Bitcoin"))
-                .distinct()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().minorCryptoCurrencyMarkets);
     }
 
     public static List<Market> getMajorCryptoCurrencyMarkets() {
-        return CryptoCurrencyRepository.getMajorCurrencies().stream()
-                .map(currency -> new Market(currency.getCode(), "BTC", currency.getName(), "Bitcoin"))
-                .distinct()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().majorCryptoCurrencyMarkets);
     }
 
     public static List<Market> getAllCryptoCurrencyMarkets() {
-        return CryptoCurrencyRepository.getAllCurrencies().stream()
-                .map(currency -> new Market(currency.getCode(), "BTC", currency.getName(), "Bitcoin"))
-                .distinct()
-                .collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().allCryptoCurrencyMarkets);
     }
 
     public static List<Market> getAllMarkets() {
-        List<Market> list = new ArrayList<>();
-        list.add(getDefault());
-        list.addAll(getMajorMarkets());
-        list.addAll(getMinorMarkets());
-        return list.stream().distinct().collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().allMarkets);
     }
 
     public static List<Market> getAllFiatMarkets() {
-        List<Market> list = new ArrayList<>();
-        list.add(getDefault());
-        list.addAll(getMajorFiatMarkets());
-        list.addAll(getMinorFiatMarkets());
-        return list.stream().distinct().collect(Collectors.toList());
+        return new ArrayList<>(getMarketIndex().allFiatMarkets);
     }
 
     public static Optional<Market> findAnyMarketByMarketCodes(String marketCodes) {
-        return MarketRepository.getAllMarkets().stream()
-                .filter(e -> e.getMarketCodes().equals(marketCodes))
-                .findAny();
+        return Optional.ofNullable(getMarketIndex().marketByMarketCodes.get(marketCodes));
     }
 
     public static Optional<Market> findAnyFiatMarketByMarketCodes(String marketCodes) {
-        return MarketRepository.getAllFiatMarkets().stream()
-                .filter(e -> e.getMarketCodes().equals(marketCodes))
-                .findAny();
+        return Optional.ofNullable(getMarketIndex().fiatMarketByMarketCodes.get(marketCodes));
+    }
+
+    public static Optional<Market> findAnyMarketByCurrencyCodes(String baseCurrencyCode, String quoteCurrencyCode) {
+        return Optional.ofNullable(getMarketIndex().marketByQuoteCodeByBaseCode.get(baseCurrencyCode))
+                .map(marketByQuoteCode -> marketByQuoteCode.get(quoteCurrencyCode));
+    }
+
+    private static MarketIndex getMarketIndex() {
+        MarketIndex index = marketIndex;
+        List<FiatCurrency> fiatCurrencies = FiatCurrencyRepository.getAllCurrencies();
+        List<CryptoCurrency> cryptoCurrencies = CryptoCurrencyRepository.getAllCurrencies();
+        if (index == null || !index.isBuiltFrom(fiatCurrencies, cryptoCurrencies)) {
+            index = new MarketIndex(fiatCurrencies, cryptoCurrencies);
+            marketIndex = index;
+        }
+        return index;
+    }
+
+    private static final class MarketIndex {
+        // Used for detecting changes of the currency repositories by identity
+        private final List<FiatCurrency> fiatCurrencies;
+        private final List<CryptoCurrency> cryptoCurrencies;
+
+        private final Market defaultMarket;
+        private final List<Market> majorFiatMarkets;
+        private final List<Market> minorFiatMarkets;
+        private final List<Market> allUnsortedFiatMarkets;
+        private final List<Market> majorCryptoCurrencyMarkets;
+        private final List<Market> minorCryptoCurrencyMarkets;
+        private final List<Market> allCryptoCurrencyMarkets;
+        private final List<Market> majorMarkets;
+        private final List<Market> minorMarkets;
+        private final List<Market> allMarkets;
+        private final List<Market> allFiatMarkets;
+        private final Map<String, Market> marketByMarketCodes;
+        private final Map<String, Market> fiatMarketByMarketCodes;
+        private final Map<String, Map<String, Market>> marketByQuoteCodeByBaseCode;
+
+        private MarketIndex(List<FiatCurrency> fiatCurrencies, List<CryptoCurrency> cryptoCurrencies) {
+            this.fiatCurrencies = fiatCurrencies;
+            this.cryptoCurrencies = cryptoCurrencies;
+
+            defaultMarket = new Market(CryptoCurrencyRepository.getDefaultCurrency().getCode(),
+                    FiatCurrencyRepository.getDefaultCurrency().getCode(),
+                    CryptoCurrencyRepository.getDefaultCurrency().getName(),
+                    FiatCurrencyRepository.getDefaultCurrency().getName()
+            );
+
+            majorFiatMarkets = toFiatMarkets(FiatCurrencyRepository.getMajorCurrencies());
+            minorFiatMarkets = toFiatMarkets(FiatCurrencyRepository.getMinorCurrencies());
+            allUnsortedFiatMarkets = toFiatMarkets(fiatCurrencies);
+            majorCryptoCurrencyMarkets = toCryptoCurrencyMarkets(CryptoCurrencyRepository.getMajorCurrencies());
+            minorCryptoCurrencyMarkets = toCryptoCurrencyMarkets(CryptoCurrencyRepository.getMinorCurrencies());
+            allCryptoCurrencyMarkets = toCryptoCurrencyMarkets(cryptoCurrencies);
+
+            majorMarkets = distinct(Stream.concat(majorFiatMarkets.stream(), majorCryptoCurrencyMarkets.stream()));
+            minorMarkets = distinct(Stream.concat(minorFiatMarkets.stream(), minorCryptoCurrencyMarkets.stream()));
+            allMarkets = distinct(Stream.of(Stream.of(defaultMarket), majorMarkets.stream(), minorMarkets.stream())
+                    .flatMap(markets -> markets));
+            allFiatMarkets = distinct(Stream.of(Stream.of(defaultMarket), majorFiatMarkets.stream(), minorFiatMarkets.stream())
+                    .flatMap(markets -> markets));
+
+            marketByMarketCodes = toMarketByMarketCodes(allMarkets);
+            fiatMarketByMarketCodes = toMarketByMarketCodes(allFiatMarkets);
+            Map<String, Map<String, Market>> marketByQuoteCodeByBaseCode = new HashMap<>();
+            allMarkets.forEach(market -> marketByQuoteCodeByBaseCode
+                    .computeIfAbsent(market.getBaseCurrencyCode(), key -> new HashMap<>())
+                    .putIfAbsent(market.getQuoteCurrencyCode(), market));
+            this.marketByQuoteCodeByBaseCode = Collections.unmodifiableMap(marketByQuoteCodeByBaseCode);
+        }
+
+        private boolean isBuiltFrom(List<FiatCurrency> fiatCurrencies, List<CryptoCurrency> cryptoCurrencies) {
+            return this.fiatCurrencies == fiatCurrencies && this.cryptoCurrencies == cryptoCurrencies;
+        }
+
+        private static List<Market> toFiatMarkets(List<FiatCurrency> currencies) {
+            return distinct(currencies.stream()
+                    .map(currency -> new Market("BTC", currency.getCode(), "Bitcoin", currency.getName())));
+        }
+
+        private static List<Market> toCryptoCurrencyMarkets(List<CryptoCurrency> currencies) {
+            return distinct(currencies.stream()
+                    .map(currency -> new Market(currency.getCode(), "BTC", currency.getName(), "Bitcoin")));
+        }
+
+        private static List<Market> distinct(Stream<Market> markets) {
+            return markets.distinct().collect(Collectors.toUnmodifiableList());
+        }
+
+        // If there are multiple markets with the same codes, the first one wins as with findAny on the list.
+        private static Map<String, Market> toMarketByMarketCodes(List<Market> markets) {
+            Map<String, Market> marketByMarketCodes = new HashMap<>();
+            markets.forEach(market -> marketByMarketCodes.putIfAbsent(market.getMarketCodes(), market));
+            return Collections.unmodifiableMap(marketByMarketCodes);
+        }
     }
-}
\ No newline at end of file
+}
@@ -19,15 +19,17 @@ package bisq.common.data;
 
 import bisq.common.encoding.Hex;
 import bisq.common.proto.PersistableProto;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.protobuf.ByteString;
 import lombok.Getter;
 
-import java.math.BigInteger;
 import java.util.Arrays;
 
-@Getter
 public final class ByteArray implements PersistableProto, Comparable<ByteArray> {
+    @Getter
     private final byte[] bytes;
+    // Lazily computed as in String. We treat the bytes as immutable, as ByteArray is used as key in hash maps.
+    private int hash;
 
     public ByteArray(byte[] bytes) {
         this.bytes = bytes;
@@ -52,12 +54,19 @@ public final class ByteArray implements PersistableProto, Comparable<ByteArray>
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ByteArray byteArray = (ByteArray) o;
+        // If both hashes are already computed we can skip the comparison of the bytes if they differ
+        if (hash != 0 && byteArray.hash != 0 && hash != byteArray.hash) return false;
         return Arrays.equals(bytes, byteArray.bytes);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(bytes);
+        int result = hash;
+        if (result == 0) {
+            result = Arrays.hashCode(bytes);
+            hash = result;
+        }
+        return result;
     }
 
     @Override
@@ -65,8 +74,39 @@ public final class ByteArray implements PersistableProto, Comparable<ByteArray>
         return Hex.encode(bytes);
     }
 
+    /**
+     * Compares the bytes as big-endian two's-complement numbers, which is the same order as comparing
+     * {@code new BigInteger(bytes)} but without allocations. Arrays of different length are compared as if the
+     * shorter one was sign extended. An empty array is treated as zero.
+     */
     @Override
     public int compareTo(ByteArray o) {
-        return new BigInteger(this.getBytes()).compareTo(new BigInteger(o.getBytes()));
+        return compare(bytes, o.bytes);
+    }
+
+    @VisibleForTesting
+    static int compare(byte[] a, byte[] b) {
+        boolean isANegative = a.length > 0 && a[0] < 0;
+        boolean isBNegative = b.length > 0 && b[0] < 0;
+        if (isANegative != isBNegative) {
+            return isANegative ? -1 : 1;
+        }
+        if (a.length == b.length) {
+            // Same sign and length: the unsigned lexicographic order matches the numeric order.
+            return Integer.signum(Arrays.compareUnsigned(a, b));
+        }
+
+        int length = Math.max(a.length, b.length);
+        int offsetA = length - a.length;
+        int offsetB = length - b.length;
+        int signExtension = isANegative ? 0xFF : 0;
+        for (int i = 0; i < length; i++) {
+            int valueA = i < offsetA ? signExtension : a[i - offsetA] & 0xFF;
+            int valueB = i < offsetB ? signExtension : b[i - offsetB] & 0xFF;
+            if (valueA != valueB) {
+                return valueA < valueB ? -1 : 1;
+            }
+        }
+        return 0;
     }
 }
@@ -20,9 +20,10 @@ import bisq.common.data.Pair;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -40,7 +41,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 @Slf4j
 public abstract class Fsm<M extends FsmModel> {
+    // Constructors are looked up by reflection only once per event handler class and parameter types.
+    private static final Map<Pair<Class<? extends EventHandler>, List<Class<?>>>, Constructor<? extends EventHandler>>
+            EVENT_HANDLER_CONSTRUCTORS = new ConcurrentHashMap<>();
+
     private final Map<Pair<State, Class<? extends Event>>, Transition> transitionMap = new HashMap<>();
+    // Transition table compiled at configuration time for lookup by event class and source state.
+    // Transitions from any state are kept separately as fallback if there is no transition for the current state.
+    private final Map<Class<? extends Event>, Map<State, Transition>> transitionsByEventClass = new HashMap<>();
+    private final Map<Class<? extends Event>, Transition> anyStateTransitionByEventClass = new HashMap<>();
     @Getter
     protected final M model;
 
@@ -67,9 +76,8 @@ public abstract class Fsm<M extends FsmModel> {
                 }
                 log.info("Start transition from currentState {}", currentState);
                 Class<? extends Event> eventClass = event.getClass();
-                var transitionMapEntriesForEvent = findTransitionMapEntriesForEvent(eventClass);
-                checkArgument(!transitionMapEntriesForEvent.isEmpty(), "No transition found for given event " + event);
-                Optional<Transition> transition = findTransition(currentState, transitionMapEntriesForEvent);
+                checkArgument(hasTransitionForEvent(eventClass), "No transition found for given event %s", event);
+                Optional<Transition> transition = findTransition(currentState, eventClass);
                 if (transition.isPresent()) {
                     State targetState = transition.get().getTargetState();
                     checkArgument(targetState.getOrdinal() > currentState.getOrdinal(),
@@ -104,10 +112,9 @@ public abstract class Fsm<M extends FsmModel> {
                             currentState, eventClass.getSimpleName());
                     // In case we get an event which does not match our current state we add the event to our
                     // event queue if the event was not already processed.
-                    transitionMap.keySet().stream()
-                            .filter(key -> key.getSecond().equals(eventClass) &&
-                                    !model.processedEvents.contains(eventClass))
-                            .forEach(e -> model.eventQueue.add(event));
+                    if (!model.processedEvents.contains(eventClass)) {
+                        model.eventQueue.add(event);
+                    }
                 }
             } catch (Exception exception) {
                 log.error("Error at handling {}.", event, exception);
@@ -148,31 +155,57 @@ public abstract class Fsm<M extends FsmModel> {
     abstract protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException;
 
-    private Set<Map.Entry<Pair<State, Class<? extends Event>>, Transition>> findTransitionMapEntriesForEvent(Class<? extends Event> eventClass) {
-        return transitionMap.entrySet().stream()
-                .filter(e -> e.getKey().getSecond().equals(eventClass))
-                .collect(Collectors.toSet());
+    /**
+     * Creates a new event handler using a cached constructor. Concrete Fsm implementations can use it in
+     * {@link #newEventHandlerFromClass(Class)} to avoid the reflection lookup of the constructor at each transition.
+     */
+    protected static EventHandler newEventHandler(Class<? extends EventHandler> handlerClass,
+                                                  List<Class<?>> parameterTypes,
+                                                  Object... initArgs)
+            throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+        Pair<Class<? extends EventHandler>, List<Class<?>>> key = new Pair<>(handlerClass, parameterTypes);
+        Constructor<? extends EventHandler> constructor = EVENT_HANDLER_CONSTRUCTORS.get(key);
+        if (constructor == null) {
+            constructor = handlerClass.getDeclaredConstructor(parameterTypes.toArray(new Class<?>[0]));
+            EVENT_HANDLER_CONSTRUCTORS.put(key, constructor);
+        }
+        return constructor.newInstance(initArgs);
+    }
+
+    private boolean hasTransitionForEvent(Class<? extends Event> eventClass) {
+        return transitionsByEventClass.containsKey(eventClass) || anyStateTransitionByEventClass.containsKey(eventClass);
     }
 
-    private Optional<Transition> findTransition(State currentState,
-                                                Set<Map.Entry<Pair<State, Class<? extends Event>>, Transition>> transitionMapEntriesForEvent) {
-        return transitionMapEntriesForEvent.stream()
-                .filter(e -> e.getKey().getFirst().equals(currentState) || e.getKey().getFirst().isAnyState())
-                .map(Map.Entry::getValue)
-                .findAny();
+    private Optional<Transition> findTransition(State currentState, Class<? extends Event> eventClass) {
+        Map<State, Transition> transitionsBySourceState = transitionsByEventClass.get(eventClass);
+        if (transitionsBySourceState != null) {
+            Transition transition = transitionsBySourceState.get(currentState);
+            if (transition != null) {
+                return Optional.of(transition);
+            }
+        }
+        return Optional.ofNullable(anyStateTransitionByEventClass.get(eventClass));
     }
 
     private void insertTransition(Transition transition) {
-        try {
-            checkArgument(transition.isValid(), "Invalid transition. transition=%s", transition);
-            transition.getSourceStates().forEach(sourceState -> {
-                Pair<State, Class<? extends Event>> pair = new Pair<>(sourceState, transition.getEventClass());
-                checkArgument(!transitionMap.containsKey(pair),
-                        "A transition exists already with the state/event pair. pair=%s", pair);
-                transitionMap.put(pair, transition);
-            });
-        } catch (IllegalArgumentException e) {
-            throw new FsmConfigException(e);
+        synchronized (this) {
+            try {
+                checkArgument(transition.isValid(), "Invalid transition. transition=%s", transition);
+                transition.getSourceStates().forEach(sourceState -> {
+                    Pair<State, Class<? extends Event>> pair = new Pair<>(sourceState, transition.getEventClass());
+                    checkArgument(!transitionMap.containsKey(pair),
+                            "A transition exists already with the state/event pair. pair=%s", pair);
+                    transitionMap.put(pair, transition);
+                    if (sourceState.isAnyState()) {
+                        anyStateTransitionByEventClass.put(transition.getEventClass(), transition);
+                    } else {
+                        transitionsByEventClass.computeIfAbsent(transition.getEventClass(), k -> new HashMap<>())
+                                .put(sourceState, transition);
+                    }
+                });
+            } catch (IllegalArgumentException e) {
+                throw new FsmConfigException(e);
+            }
         }
     }
 
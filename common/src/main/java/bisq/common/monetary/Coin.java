@@ -193,7 +193,7 @@ public final class Coin extends Monetary {
 
     @Override
     public double toDouble(long value) {
-        return MathUtils.roundDouble(BigDecimal.valueOf(value).movePointLeft(precision).doubleValue(), precision);
+        return FixedPointMath.toDouble(value, precision);
     }
 
     private static int deriveExponent(String code) {
@@ -205,7 +205,7 @@ public final class Coin extends Monetary {
     public Coin round(int roundPrecision) {
         //todo (low prio) add tests
         double rounded = MathUtils.roundDouble(toDouble(value), roundPrecision);
-        long shifted = BigDecimal.valueOf(rounded).movePointRight(precision).longValue();
+        long shifted = FixedPointMath.toLong(rounded, precision);
         return Coin.fromValue(shifted, code, precision);
     }
 
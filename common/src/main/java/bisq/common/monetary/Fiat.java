@@ -129,12 +129,12 @@ public final class Fiat extends Monetary {
 
     @Override
     public double toDouble(long value) {
-        return MathUtils.roundDouble(BigDecimal.valueOf(value).movePointLeft(precision).doubleValue(), precision);
+        return FixedPointMath.toDouble(value, precision);
     }
 
     public Fiat round(int roundPrecision) {
         double rounded = MathUtils.roundDouble(toDouble(value), roundPrecision);
-        long shifted = BigDecimal.valueOf(rounded).movePointRight(precision).longValue();
+        long shifted = FixedPointMath.toLong(rounded, precision);
         return Fiat.fromValue(shifted, code, precision);
     }
 
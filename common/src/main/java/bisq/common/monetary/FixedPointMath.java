@@ -0,0 +1,132 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.monetary;
+
+import bisq.common.util.MathUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point conversions used by the monetary classes. The common cases are computed with long arithmetic and only
+ * values which would overflow or which cannot be represented exactly fall back to BigDecimal, so the results are
+ * always the same as with the BigDecimal implementation.
+ */
+public final class FixedPointMath {
+    private static final long[] POWERS_OF_TEN = new long[19];
+    // Powers of ten up to 10^22 are exactly representable as double
+    private static final double[] POWERS_OF_TEN_AS_DOUBLE = new double[23];
+    // Below 2^51 the gap between neighbouring doubles is less than 0.5, so a scaled double maps to a unique long
+    private static final long EXACT_BOUND = 1L << 51;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        POWERS_OF_TEN_AS_DOUBLE[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN_AS_DOUBLE.length; i++) {
+            POWERS_OF_TEN_AS_DOUBLE[i] = POWERS_OF_TEN_AS_DOUBLE[i - 1] * 10;
+        }
+    }
+
+    private FixedPointMath() {
+    }
+
+    /**
+     * Same as {@code BigDecimal.valueOf(dividend).movePointRight(exponent).divide(BigDecimal.valueOf(divisor),
+     * RoundingMode.HALF_UP).longValue()}.
+     */
+    public static long scaleUpAndDivideHalfUp(long dividend, int exponent, long divisor) {
+        if (exponent >= 0 && exponent < POWERS_OF_TEN.length && divisor != 0 && divisor != Long.MIN_VALUE) {
+            long factor = POWERS_OF_TEN[exponent];
+            long high = Math.multiplyHigh(dividend, factor);
+            long scaled = dividend * factor;
+            if ((high == 0 && scaled >= 0) || (high == -1 && scaled < 0)) {
+                return divideHalfUp(scaled, divisor);
+            }
+        }
+        return BigDecimal.valueOf(dividend)
+                .movePointRight(exponent)
+                .divide(BigDecimal.valueOf(divisor), RoundingMode.HALF_UP)
+                .longValue();
+    }
+
+    /**
+     * Same as {@code BigDecimal.valueOf(value1).multiply(BigDecimal.valueOf(value2)).movePointLeft(exponent)
+     * .longValue()}, thus the fractional part gets truncated.
+     */
+    public static long multiplyAndScaleDown(long value1, long value2, int exponent) {
+        if (exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            long high = Math.multiplyHigh(value1, value2);
+            long product = value1 * value2;
+            if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                return product / POWERS_OF_TEN[exponent];
+            }
+        }
+        return BigDecimal.valueOf(value1)
+                .multiply(BigDecimal.valueOf(value2))
+                .movePointLeft(exponent)
+                .longValue();
+    }
+
+    /**
+     * Same as {@code MathUtils.roundDouble(BigDecimal.valueOf(value).movePointLeft(precision).doubleValue(),
+     * precision)}.
+     */
+    public static double toDouble(long value, int precision) {
+        if (precision >= 0 && precision < POWERS_OF_TEN_AS_DOUBLE.length && Math.abs(value) < EXACT_BOUND) {
+            // The division is correctly rounded and the rounding to precision does not change the result
+            return value / POWERS_OF_TEN_AS_DOUBLE[precision];
+        }
+        return MathUtils.roundDouble(BigDecimal.valueOf(value).movePointLeft(precision).doubleValue(), precision);
+    }
+
+    /**
+     * Same as {@code BigDecimal.valueOf(value).movePointRight(precision).longValue()}.
+     */
+    public static long toLong(double value, int precision) {
+        if (precision >= 0 && precision < POWERS_OF_TEN_AS_DOUBLE.length) {
+            double scaled = value * POWERS_OF_TEN_AS_DOUBLE[precision];
+            if (Math.abs(scaled) < EXACT_BOUND) {
+                long candidate = Math.round(scaled);
+                // If the candidate converts back to the same double, the decimal representation of value has at
+                // most precision fraction digits and the candidate is its scaled value.
+                if (candidate / POWERS_OF_TEN_AS_DOUBLE[precision] == value) {
+                    return candidate;
+                }
+            }
+        }
+        return BigDecimal.valueOf(value).movePointRight(precision).longValue();
+    }
+
+    // Division of longs with rounding mode HALF_UP. divisor must not be 0 or Long.MIN_VALUE.
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long absRemainder = Math.abs(remainder);
+        if (absRemainder >= Math.abs(divisor) - absRemainder) {
+            // Round away from zero
+            return quotient + (((dividend ^ divisor) >> 63) | 1);
+        }
+        return quotient;
+    }
+}
@@ -33,12 +33,27 @@ import java.math.BigDecimal;
 @ToString
 @Slf4j
 public abstract class Monetary implements Comparable<Monetary>, PersistableProto {
+    // Max. face values for the common precisions, to avoid the BigDecimal calculation at each conversion
+    private static final double[] MAX_FACE_VALUES = new double[19];
+
+    static {
+        for (int precision = 0; precision < MAX_FACE_VALUES.length; precision++) {
+            MAX_FACE_VALUES[precision] = getMaxFaceValue(precision);
+        }
+    }
+
+    private static double getMaxFaceValue(int precision) {
+        return BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(precision).doubleValue();
+    }
+
     public static long doubleValueToLong(double value, int precision) {
-        double max = BigDecimal.valueOf(Long.MAX_VALUE).movePointLeft(precision).doubleValue();
+        double max = precision >= 0 && precision < MAX_FACE_VALUES.length ?
+                MAX_FACE_VALUES[precision] :
+                getMaxFaceValue(precision);
         if (value > max) {
             throw new ArithmeticException("Provided value would lead to an overflow");
         }
-        return BigDecimal.valueOf(value).movePointRight(precision).longValue();
+        return FixedPointMath.toLong(value, precision);
     }
 
     public static Monetary clone(Monetary monetary) {
@@ -20,16 +20,12 @@ package bisq.common.monetary;
 import bisq.common.currency.Market;
 import bisq.common.currency.TradeCurrency;
 import bisq.common.proto.PersistableProto;
-import bisq.common.util.MathUtils;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
@@ -143,10 +139,9 @@ public final class PriceQuote implements Comparable<PriceQuote>, PersistableProt
      */
     public static PriceQuote from(Monetary baseSideMonetary, Monetary quoteSideMonetary) {
         checkArgument(baseSideMonetary.value != 0, "baseSideMonetary.value must not be 0");
-        long value = BigDecimal.valueOf(quoteSideMonetary.value)
-                .movePointRight(baseSideMonetary.precision)
-                .divide(BigDecimal.valueOf(baseSideMonetary.value), RoundingMode.HALF_UP)
-                .longValue();
+        long value = FixedPointMath.scaleUpAndDivideHalfUp(quoteSideMonetary.value,
+                baseSideMonetary.precision,
+                baseSideMonetary.value);
         return new PriceQuote(value, baseSideMonetary, quoteSideMonetary);
     }
 
@@ -159,9 +154,9 @@ public final class PriceQuote implements Comparable<PriceQuote>, PersistableProt
     public Monetary toQuoteSideMonetary(Monetary baseSideMonetary) {
         checkArgument(baseSideMonetary.getClass() == this.baseSideMonetary.getClass(),
                 "baseSideMonetary must be the same type as the quote.baseSideMonetary");
-        long value = BigDecimal.valueOf(baseSideMonetary.value).multiply(BigDecimal.valueOf(this.value))
-                .movePointLeft(baseSideMonetary.precision)
-                .longValue();
+        long value = FixedPointMath.multiplyAndScaleDown(baseSideMonetary.value,
+                this.value,
+                baseSideMonetary.precision);
         if (quoteSideMonetary instanceof Fiat) {
             return new Fiat(value,
                     quoteSideMonetary.code,
@@ -176,10 +171,9 @@ public final class PriceQuote implements Comparable<PriceQuote>, PersistableProt
     public Monetary toBaseSideMonetary(Monetary quoteSideMonetary) {
         checkArgument(quoteSideMonetary.getClass() == this.quoteSideMonetary.getClass(),
                 "quoteSideMonetary must be the same type as the quote.quoteSideMonetary");
-        long value = BigDecimal.valueOf(quoteSideMonetary.value)
-                .movePointRight(baseSideMonetary.precision)
-                .divide(BigDecimal.valueOf(this.value), RoundingMode.HALF_UP)
-                .longValue();
+        long value = FixedPointMath.scaleUpAndDivideHalfUp(quoteSideMonetary.value,
+                baseSideMonetary.precision,
+                this.value);
         if (baseSideMonetary instanceof Fiat) {
             return new Fiat(value,
                     baseSideMonetary.code,
@@ -196,7 +190,7 @@ public final class PriceQuote implements Comparable<PriceQuote>, PersistableProt
     }
 
     public double asDouble(int precision) {
-        return MathUtils.roundDouble(BigDecimal.valueOf(value).movePointLeft(precision).doubleValue(), precision);
+        return FixedPointMath.toDouble(value, precision);
     }
 
     @Override
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Observer which collects the changes of the source collection and delivers them to the delegate as one
+ * {@link CollectionChange} when the executor runs the flush task. Only one flush task is pending at any time, so
+ * many changes in a short period of time (e.g. when syncing messages from the network) result in few observer
+ * calls on the executor (usually the JavaFX Application Thread).
+ *
+ * @param <S> The type of the collection element
+ */
+@EqualsAndHashCode
+@ToString
+final class CoalescingCollectionObserver<S> implements CollectionObserver<S> {
+    private final CollectionObserver<S> delegate;
+    private final Consumer<Runnable> executor;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final CollectionChangeRecorder<S> recorder = new CollectionChangeRecorder<>();
+    @EqualsAndHashCode.Exclude
+    private boolean flushPending;
+
+    CoalescingCollectionObserver(CollectionObserver<S> delegate, Consumer<Runnable> executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public void add(S element) {
+        record(recorder -> recorder.add(element));
+    }
+
+    @Override
+    public void addAll(Collection<? extends S> values) {
+        record(recorder -> recorder.addAll(values));
+    }
+
+    @Override
+    public void setAll(Collection<? extends S> values) {
+        record(recorder -> recorder.setAll(values));
+    }
+
+    @Override
+    public void remove(Object element) {
+        record(recorder -> recorder.remove(element));
+    }
+
+    @Override
+    public void removeAll(Collection<?> values) {
+        record(recorder -> recorder.removeAll(values));
+    }
+
+    @Override
+    public void clear() {
+        record(CollectionChangeRecorder::clear);
+    }
+
+    @Override
+    public void applyChange(CollectionChange<? extends S> change) {
+        record(recorder -> recorder.record(change));
+    }
+
+    private void record(Consumer<CollectionChangeRecorder<S>> mutation) {
+        boolean scheduleFlush;
+        synchronized (recorder) {
+            mutation.accept(recorder);
+            scheduleFlush = !flushPending;
+            flushPending = true;
+        }
+        if (scheduleFlush) {
+            executor.accept(this::flush);
+        }
+    }
+
+    private void flush() {
+        CollectionChange<S> change;
+        synchronized (recorder) {
+            flushPending = false;
+            if (recorder.isEmpty()) {
+                return;
+            }
+            change = recorder.build();
+            recorder.reset();
+        }
+        delegate.applyChange(change);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Net change of a batch of mutations of an observable collection.
+ * If {@code replaced} is true, the previous content got replaced by the added elements. Otherwise, the removed
+ * elements are removed first and then the added elements are added.
+ *
+ * @param <S> The type of the collection element
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class CollectionChange<S> {
+    private final boolean replaced;
+    private final List<S> added;
+    private final List<Object> removed;
+
+    CollectionChange(boolean replaced, Collection<? extends S> added, Collection<?> removed) {
+        this.replaced = replaced;
+        this.added = Collections.unmodifiableList(new ArrayList<>(added));
+        this.removed = Collections.unmodifiableList(new ArrayList<>(removed));
+    }
+
+    public boolean isEmpty() {
+        return !replaced && added.isEmpty() && removed.isEmpty();
+    }
+}
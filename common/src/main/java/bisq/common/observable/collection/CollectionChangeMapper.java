@@ -67,13 +67,7 @@ final class CollectionChangeMapper<S, T> implements CollectionObserver<S> {
 
     @Override
     public void addAll(Collection<? extends S> sourceItems) {
-        executor.accept(() -> {
-            targetCollection.addAll(sourceItems.stream()
-                    .filter(filterFunction::apply)
-                    .map(mapFunction)
-                    .filter(item -> !targetCollection.contains(item))
-                    .collect(Collectors.toList()));
-        });
+        executor.accept(() -> doAddAll(sourceItems));
     }
 
     @Override
@@ -101,17 +95,44 @@ final class CollectionChangeMapper<S, T> implements CollectionObserver<S> {
 
     @Override
     public void removeAll(Collection<?> sourceItems) {
-        executor.accept(() -> targetCollection.removeAll(sourceItems.stream()
-                .map(element -> {
-                    //noinspection unchecked
-                    return (S) element;
-                })
-                .map(mapFunction)
-                .collect(Collectors.toSet())));
+        executor.accept(() -> doRemoveAll(sourceItems));
     }
 
     @Override
     public void clear() {
         executor.accept(targetCollection::clear);
     }
+
+    // Applies all changes of the batch in one executor call
+    @Override
+    public void applyChange(CollectionChange<? extends S> change) {
+        executor.accept(() -> {
+            if (change.isReplaced()) {
+                targetCollection.clear();
+            } else if (!change.getRemoved().isEmpty()) {
+                doRemoveAll(change.getRemoved());
+            }
+            if (!change.getAdded().isEmpty()) {
+                doAddAll(change.getAdded());
+            }
+        });
+    }
+
+    private void doAddAll(Collection<? extends S> sourceItems) {
+        targetCollection.addAll(sourceItems.stream()
+                .filter(filterFunction::apply)
+                .map(mapFunction)
+                .filter(item -> !targetCollection.contains(item))
+                .collect(Collectors.toList()));
+    }
+
+    private void doRemoveAll(Collection<?> sourceItems) {
+        targetCollection.removeAll(sourceItems.stream()
+                .map(element -> {
+                    //noinspection unchecked
+                    return (S) element;
+                })
+                .map(mapFunction)
+                .collect(Collectors.toSet()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import java.util.*;
+
+/**
+ * Records single mutations and nets them out to one {@link CollectionChange}. E.g. adding and later removing the
+ * same element results in no change.
+ * Not thread safe.
+ */
+final class CollectionChangeRecorder<S> {
+    private static final class Node<T> {
+        private final T element;
+        private Node<T> previous;
+        private Node<T> next;
+
+        private Node(T element) {
+            this.element = element;
+        }
+    }
+
+    private boolean replaced;
+    // Added elements as linked list in the order they have been added. Nodes are also kept by element, so that
+    // removing the first occurrence of an added element does not require scanning the list.
+    private Node<S> first;
+    private Node<S> last;
+    private final Map<Object, Deque<Node<S>>> addedNodesByElement = new HashMap<>();
+    private final List<Object> removed = new ArrayList<>();
+
+    void add(S element) {
+        Node<S> node = new Node<>(element);
+        if (last == null) {
+            first = node;
+        } else {
+            last.next = node;
+            node.previous = last;
+        }
+        last = node;
+        addedNodesByElement.computeIfAbsent(element, key -> new ArrayDeque<>()).addLast(node);
+    }
+
+    void addAll(Collection<? extends S> elements) {
+        elements.forEach(this::add);
+    }
+
+    void remove(Object element) {
+        Deque<Node<S>> addedNodes = addedNodesByElement.get(element);
+        if (addedNodes != null) {
+            // As with List.remove, the first occurrence gets removed
+            unlink(addedNodes.pollFirst());
+            if (addedNodes.isEmpty()) {
+                addedNodesByElement.remove(element);
+            }
+        } else if (!replaced) {
+            // If replaced, the element was not added after the replacement and is therefore not present.
+            removed.add(element);
+        }
+    }
+
+    void removeAll(Collection<?> elements) {
+        elements.forEach(this::remove);
+    }
+
+    void clear() {
+        replaced = true;
+        first = null;
+        last = null;
+        addedNodesByElement.clear();
+        removed.clear();
+    }
+
+    void reset() {
+        clear();
+        replaced = false;
+    }
+
+    void setAll(Collection<? extends S> elements) {
+        clear();
+        addAll(elements);
+    }
+
+    void record(CollectionChange<? extends S> change) {
+        if (change.isReplaced()) {
+            setAll(change.getAdded());
+        } else {
+            removeAll(change.getRemoved());
+            addAll(change.getAdded());
+        }
+    }
+
+    boolean isEmpty() {
+        return !replaced && first == null && removed.isEmpty();
+    }
+
+    CollectionChange<S> build() {
+        List<S> added = new ArrayList<>();
+        for (Node<S> node = first; node != null; node = node.next) {
+            added.add(node.element);
+        }
+        return new CollectionChange<>(replaced, added, removed);
+    }
+
+    private void unlink(Node<S> node) {
+        if (node.previous == null) {
+            first = node.next;
+        } else {
+            node.previous.next = node.next;
+        }
+        if (node.next == null) {
+            last = node.previous;
+        } else {
+            node.next.previous = node.previous;
+        }
+    }
+}
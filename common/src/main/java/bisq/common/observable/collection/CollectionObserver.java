@@ -38,4 +38,21 @@ public interface CollectionObserver<S> {
     }
 
     void clear();
+
+    /**
+     * Applies the net change of a batch of mutations. Observers which can handle a batch more efficiently than
+     * the single calls (e.g. by updating the UI only once) should override it.
+     */
+    default void applyChange(CollectionChange<? extends S> change) {
+        if (change.isReplaced()) {
+            setAll(change.getAdded());
+            return;
+        }
+        if (!change.getRemoved().isEmpty()) {
+            removeAll(change.getRemoved());
+        }
+        if (!change.getAdded().isEmpty()) {
+            addAll(change.getAdded());
+        }
+    }
 }
\ No newline at end of file
@@ -20,7 +20,9 @@ package bisq.common.observable.collection;
 import bisq.common.observable.Pin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.AbstractCollection;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -55,6 +57,14 @@ public abstract class ObservableCollection<S> implements Collection<S> {
         return () -> observers.remove(simpleCollectionObserver);
     }
 
+    /**
+     * Adds an observer which gets the changes coalesced and delivered on the given executor. Changes which happen
+     * until the executor runs the pending notification are delivered as one {@link CollectionChange}.
+     */
+    public Pin addObserver(CollectionObserver<S> observer, Consumer<Runnable> executor) {
+        return addObserver(new CoalescingCollectionObserver<>(observer, executor));
+    }
+
     public <T> Pin addCollectionChangeMapper(Collection<T> collection,
                                              Function<S, Boolean> filterFunction,
                                              Function<S, T> mapFunction,
@@ -114,6 +124,24 @@ public abstract class ObservableCollection<S> implements Collection<S> {
         observers.forEach(CollectionObserver::clear);
     }
 
+    /**
+     * Applies all mutations done on the passed collection to this collection and notifies the observers once with
+     * the net change after the mutations are completed. Observers which do not override
+     * {@link CollectionObserver#applyChange(CollectionChange)} get the net change as bulk calls.
+     *
+     * @return true if the collection got changed
+     */
+    public boolean applyBatch(Consumer<Collection<S>> mutations) {
+        Batch batch = new Batch();
+        mutations.accept(batch);
+        if (batch.recorder.isEmpty()) {
+            return false;
+        }
+        CollectionChange<S> change = batch.recorder.build();
+        observers.forEach(observer -> observer.applyChange(change));
+        return true;
+    }
+
     @Override
     public boolean retainAll(@NotNull Collection<?> c) {
         throw new UnsupportedOperationException("retainAll method is not implemented");
@@ -158,4 +186,64 @@ public abstract class ObservableCollection<S> implements Collection<S> {
     public String toString() {
         return collection.toString();
     }
+
+    /**
+     * Mutable view on the collection which records the changes instead of notifying the observers.
+     */
+    private class Batch extends AbstractCollection<S> {
+        private final CollectionChangeRecorder<S> recorder = new CollectionChangeRecorder<>();
+
+        @Override
+        public boolean add(S element) {
+            boolean changed = collection.add(element);
+            if (changed) {
+                recorder.add(element);
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean remove(Object element) {
+            boolean changed = collection.remove(element);
+            if (changed) {
+                recorder.remove(element);
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean removeAll(@NotNull Collection<?> values) {
+            boolean changed = false;
+            for (Object value : values) {
+                changed |= remove(value);
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean retainAll(@NotNull Collection<?> c) {
+            throw new UnsupportedOperationException("retainAll method is not implemented");
+        }
+
+        @Override
+        public void clear() {
+            collection.clear();
+            recorder.clear();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return collection.contains(o);
+        }
+
+        @Override
+        public Iterator<S> iterator() {
+            return Collections.unmodifiableCollection(collection).iterator();
+        }
+
+        @Override
+        public int size() {
+            return collection.size();
+        }
+    }
 }
\ No newline at end of file
@@ -69,4 +69,9 @@ final class SimpleCollectionObserver<S> implements CollectionObserver<S> {
     public void clear() {
         onChange();
     }
+
+    @Override
+    public void applyChange(CollectionChange<? extends S> change) {
+        onChange();
+    }
 }
\ No newline at end of file
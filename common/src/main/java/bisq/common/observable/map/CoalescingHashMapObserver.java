@@ -0,0 +1,98 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.map;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Observer which collects the changes of the source map and delivers them to the delegate as one
+ * {@link HashMapChange} when the executor runs the flush task. Only one flush task is pending at any time.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+@EqualsAndHashCode
+@ToString
+final class CoalescingHashMapObserver<K, V> implements HashMapObserver<K, V> {
+    private final HashMapObserver<K, V> delegate;
+    private final Consumer<Runnable> executor;
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final HashMapChangeRecorder<K, V> recorder = new HashMapChangeRecorder<>();
+    @EqualsAndHashCode.Exclude
+    private boolean flushPending;
+
+    CoalescingHashMapObserver(HashMapObserver<K, V> delegate, Consumer<Runnable> executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        record(recorder -> recorder.put(key, value));
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map) {
+        record(recorder -> recorder.putAll(map));
+    }
+
+    @Override
+    public void remove(Object key) {
+        record(recorder -> recorder.remove(key));
+    }
+
+    @Override
+    public void clear() {
+        record(HashMapChangeRecorder::clear);
+    }
+
+    @Override
+    public void applyChange(HashMapChange<? extends K, ? extends V> change) {
+        record(recorder -> recorder.record(change));
+    }
+
+    private void record(Consumer<HashMapChangeRecorder<K, V>> mutation) {
+        boolean scheduleFlush;
+        synchronized (recorder) {
+            mutation.accept(recorder);
+            scheduleFlush = !flushPending;
+            flushPending = true;
+        }
+        if (scheduleFlush) {
+            executor.accept(this::flush);
+        }
+    }
+
+    private void flush() {
+        HashMapChange<K, V> change;
+        synchronized (recorder) {
+            flushPending = false;
+            if (recorder.isEmpty()) {
+                return;
+            }
+            change = recorder.build();
+            recorder.reset();
+        }
+        delegate.applyChange(change);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.map;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Net change of a batch of mutations of an observable map.
+ * If {@code replaced} is true, the map got cleared before the entries got put. Otherwise, the removed keys are
+ * removed first and then the entries are put.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class HashMapChange<K, V> {
+    private final boolean replaced;
+    private final Map<K, V> put;
+    private final Set<Object> removed;
+
+    HashMapChange(boolean replaced, Map<K, V> put, Set<Object> removed) {
+        this.replaced = replaced;
+        this.put = Collections.unmodifiableMap(new LinkedHashMap<>(put));
+        this.removed = Collections.unmodifiableSet(new HashSet<>(removed));
+    }
+
+    public boolean isEmpty() {
+        return !replaced && put.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.map;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Records single mutations and nets them out to one {@link HashMapChange}. Only the last value put for a key is
+ * kept.
+ * Not thread safe.
+ */
+final class HashMapChangeRecorder<K, V> {
+    private boolean replaced;
+    private final Map<K, V> put = new LinkedHashMap<>();
+    private final Set<Object> removed = new HashSet<>();
+
+    void put(K key, V value) {
+        removed.remove(key);
+        put.put(key, value);
+    }
+
+    void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    void remove(Object key) {
+        put.remove(key);
+        if (!replaced) {
+            removed.add(key);
+        }
+    }
+
+    void clear() {
+        replaced = true;
+        put.clear();
+        removed.clear();
+    }
+
+    void reset() {
+        clear();
+        replaced = false;
+    }
+
+    void record(HashMapChange<? extends K, ? extends V> change) {
+        if (change.isReplaced()) {
+            clear();
+        }
+        change.getRemoved().forEach(this::remove);
+        putAll(change.getPut());
+    }
+
+    boolean isEmpty() {
+        return !replaced && put.isEmpty() && removed.isEmpty();
+    }
+
+    HashMapChange<K, V> build() {
+        return new HashMapChange<>(replaced, put, removed);
+    }
+}
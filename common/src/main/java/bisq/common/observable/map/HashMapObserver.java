@@ -27,4 +27,18 @@ public interface HashMapObserver<K, V> {
     void remove(Object key);
 
     void clear();
+
+    /**
+     * Applies the net change of a batch of mutations. Observers which can handle a batch more efficiently than
+     * the single calls should override it.
+     */
+    default void applyChange(HashMapChange<? extends K, ? extends V> change) {
+        if (change.isReplaced()) {
+            clear();
+        }
+        change.getRemoved().forEach(this::remove);
+        if (!change.getPut().isEmpty()) {
+            putAll(change.getPut());
+        }
+    }
 }
\ No newline at end of file
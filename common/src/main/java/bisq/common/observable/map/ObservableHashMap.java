@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class ObservableHashMap<K, V> implements Map<K, V> {
     @Getter
@@ -51,6 +52,14 @@ public class ObservableHashMap<K, V> implements Map<K, V> {
         return () -> observers.remove(simpleHashMapObserver);
     }
 
+    /**
+     * Adds an observer which gets the changes coalesced and delivered on the given executor. Changes which happen
+     * until the executor runs the pending notification are delivered as one {@link HashMapChange}.
+     */
+    public Pin addObserver(HashMapObserver<K, V> observer, Consumer<Runnable> executor) {
+        return addObserver(new CoalescingHashMapObserver<>(observer, executor));
+    }
+
     @Nullable
     @Override
     public V put(K key, V value) {
@@ -80,6 +89,34 @@ public class ObservableHashMap<K, V> implements Map<K, V> {
         observers.forEach(HashMapObserver::clear);
     }
 
+    /**
+     * Replaces the content of the map and notifies the observers once.
+     */
+    public void setAll(Map<? extends K, ? extends V> m) {
+        applyBatch(batch -> {
+            batch.clear();
+            batch.putAll(m);
+        });
+    }
+
+    /**
+     * Applies all mutations done on the passed map to this map and notifies the observers once with the net change
+     * after the mutations are completed. Observers which do not override
+     * {@link HashMapObserver#applyChange(HashMapChange)} get the net change as bulk calls.
+     *
+     * @return true if the map got changed
+     */
+    public boolean applyBatch(Consumer<Map<K, V>> mutations) {
+        Batch batch = new Batch();
+        mutations.accept(batch);
+        if (batch.recorder.isEmpty()) {
+            return false;
+        }
+        HashMapChange<K, V> change = batch.recorder.build();
+        observers.forEach(observer -> observer.applyChange(change));
+        return true;
+    }
+
     // Getters
     @Override
     public int size() {
@@ -128,4 +165,49 @@ public class ObservableHashMap<K, V> implements Map<K, V> {
     public String toString() {
         return map.toString();
     }
+
+    /**
+     * Mutable view on the map which records the changes instead of notifying the observers.
+     */
+    private class Batch extends AbstractMap<K, V> {
+        private final HashMapChangeRecorder<K, V> recorder = new HashMapChangeRecorder<>();
+
+        @Override
+        public V put(K key, V value) {
+            V previous = map.put(key, value);
+            recorder.put(key, value);
+            return previous;
+        }
+
+        @Override
+        public V remove(Object key) {
+            V previous = map.remove(key);
+            if (previous != null) {
+                recorder.remove(key);
+            }
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+            recorder.clear();
+        }
+
+        @Override
+        public V get(Object key) {
+            return map.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return map.containsKey(key);
+        }
+
+        @NotNull
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return Collections.unmodifiableMap(map).entrySet();
+        }
+    }
 }
\ No newline at end of file
@@ -59,4 +59,9 @@ final class SimpleHashMapObserver<K, V> implements HashMapObserver<K, V> {
     public void clear() {
         onChange();
     }
+
+    @Override
+    public void applyChange(HashMapChange<? extends K, ? extends V> change) {
+        onChange();
+    }
 }
\ No newline at end of file
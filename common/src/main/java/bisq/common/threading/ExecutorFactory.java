@@ -46,9 +46,13 @@ public class ExecutorFactory {
                 .setNameFormat(getNameWithThreadNum(name))
                 .setDaemon(true)
                 .build();
-        return Executors.newSingleThreadExecutor(threadFactory);
+        return new InstrumentedThreadPoolExecutor(name, 1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
     }
 
+    /**
+     * Not instrumented, as the delayed tasks would distort the wait time metrics.
+     */
     public static ScheduledExecutorService newSingleThreadScheduledExecutor(String name) {
         ThreadFactory threadFactory = new ThreadFactoryBuilder()
                 .setNameFormat(getNameWithThreadNum(name))
@@ -66,10 +70,8 @@ public class ExecutorFactory {
                 .setNameFormat(getNameWithThreadNum(name))
                 .setDaemon(true)
                 .build();
-        ExecutorService executorService = Executors.newCachedThreadPool(threadFactory);
-        ((ThreadPoolExecutor) executorService).setKeepAliveTime(5, TimeUnit.SECONDS);
-        ((ThreadPoolExecutor) executorService).setMaximumPoolSize(1000);
-        return executorService;
+        return new InstrumentedThreadPoolExecutor(name, 0, 1000, 5, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
     }
 
     public static ExecutorService newCachedThreadPool(String name, int poolSize, long keepAliveInSeconds) {
@@ -80,11 +82,8 @@ public class ExecutorFactory {
         ThreadFactory threadFactory = new ThreadFactoryBuilder()
                 .setNameFormat(getNameWithThreadNum(name))
                 .build();
-        ExecutorService executorService = Executors.newCachedThreadPool(threadFactory);
-        ((ThreadPoolExecutor) executorService).setKeepAliveTime(keepAliveInSeconds, TimeUnit.SECONDS);
-        ((ThreadPoolExecutor) executorService).setCorePoolSize(corePoolSize);
-        ((ThreadPoolExecutor) executorService).setMaximumPoolSize(maxPoolSize);
-        return executorService;
+        return new InstrumentedThreadPoolExecutor(name, corePoolSize, maxPoolSize, keepAliveInSeconds, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory);
     }
 
     /**
@@ -99,7 +98,8 @@ public class ExecutorFactory {
                 .setNameFormat(getNameWithThreadNum(name))
                 .setDaemon(true)
                 .build();
-        return Executors.newFixedThreadPool(numThreads, threadFactory);
+        return new InstrumentedThreadPoolExecutor(name, numThreads, numThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
     }
 
     public static ThreadPoolExecutor getThreadPoolExecutor(String name,
@@ -119,7 +119,7 @@ public class ExecutorFactory {
                 .setDaemon(true)
                 .build();
 
-        return new ThreadPoolExecutor(corePoolSize, maximumPoolSize, keepAliveTimeInSec,
+        return new InstrumentedThreadPoolExecutor(name, corePoolSize, maximumPoolSize, keepAliveTimeInSec,
                 TimeUnit.MILLISECONDS, workQueue, threadFactory);
     }
 
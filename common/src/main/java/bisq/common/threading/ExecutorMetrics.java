@@ -0,0 +1,92 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.threading;
+
+import bisq.common.data.Histogram;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of an {@link InstrumentedThreadPoolExecutor}. Wait and run times are recorded in microseconds.
+ * The max. queue size is sampled at each submission.
+ */
+@Getter
+public final class ExecutorMetrics {
+    private final String name;
+    private final LongAdder numSubmittedTasks = new LongAdder();
+    private final LongAdder numCompletedTasks = new LongAdder();
+    private final LongAdder numFailedTasks = new LongAdder();
+    private final LongAdder numRejectedTasks = new LongAdder();
+    private final AtomicLong maxQueueSize = new AtomicLong();
+    private final Histogram waitTimeHistogram = new Histogram();
+    private final Histogram runTimeHistogram = new Histogram();
+
+    ExecutorMetrics(String name) {
+        this.name = name;
+    }
+
+    void onSubmitted(int queueSize) {
+        numSubmittedTasks.increment();
+        long current = maxQueueSize.get();
+        while (queueSize > current && !maxQueueSize.compareAndSet(current, queueSize)) {
+            current = maxQueueSize.get();
+        }
+    }
+
+    void onStarted(long waitTimeNanos) {
+        waitTimeHistogram.record(waitTimeNanos / 1000);
+    }
+
+    void onCompleted(long runTimeNanos, boolean failed) {
+        runTimeHistogram.record(runTimeNanos / 1000);
+        numCompletedTasks.increment();
+        if (failed) {
+            numFailedTasks.increment();
+        }
+    }
+
+    void onRejected() {
+        numRejectedTasks.increment();
+    }
+
+    public void reset() {
+        numSubmittedTasks.reset();
+        numCompletedTasks.reset();
+        numFailedTasks.reset();
+        numRejectedTasks.reset();
+        maxQueueSize.set(0);
+        waitTimeHistogram.reset();
+        runTimeHistogram.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "ExecutorMetrics{" +
+                "name='" + name + '\'' +
+                ", submitted=" + numSubmittedTasks.sum() +
+                ", completed=" + numCompletedTasks.sum() +
+                ", failed=" + numFailedTasks.sum() +
+                ", rejected=" + numRejectedTasks.sum() +
+                ", maxQueueSize=" + maxQueueSize.get() +
+                ", waitTimeMicros=" + waitTimeHistogram +
+                ", runTimeMicros=" + runTimeHistogram +
+                '}';
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.threading;
+
+import bisq.common.timer.Scheduler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Registry of all {@link InstrumentedThreadPoolExecutor} instances which are not terminated yet.
+ * Names are not required to be unique, as e.g. each connection might create an executor with the same name.
+ * Executors get removed once they are terminated, so they have to be shut down. Holding them weakly does not help for
+ * executors which have been used, as their worker threads keep them reachable.
+ */
+@Slf4j
+public class ExecutorMetricsRegistry {
+    private static final Set<InstrumentedThreadPoolExecutor> executors = Collections.newSetFromMap(new WeakHashMap<>());
+    private static volatile Optional<Scheduler> logMetricsScheduler = Optional.empty();
+
+    static synchronized void register(InstrumentedThreadPoolExecutor executor) {
+        executors.add(executor);
+    }
+
+    static synchronized void unregister(InstrumentedThreadPoolExecutor executor) {
+        executors.remove(executor);
+    }
+
+    public static synchronized List<ExecutorMetrics> getMetrics() {
+        return executors.stream()
+                .map(InstrumentedThreadPoolExecutor::getMetrics)
+                .sorted(Comparator.comparing(ExecutorMetrics::getName))
+                .collect(Collectors.toList());
+    }
+
+    public static synchronized List<ExecutorMetrics> findMetrics(String name) {
+        return executors.stream()
+                .map(InstrumentedThreadPoolExecutor::getMetrics)
+                .filter(metrics -> metrics.getName().equals(name))
+                .collect(Collectors.toList());
+    }
+
+    public static String getMetricsAsString() {
+        return getMetrics().stream()
+                .map(ExecutorMetrics::toString)
+                .collect(Collectors.joining("\n"));
+    }
+
+    public static void logMetrics() {
+        log.info("Executor metrics:\n{}", getMetricsAsString());
+    }
+
+    public static synchronized void startLoggingMetrics(long interval, TimeUnit timeUnit) {
+        stopLoggingMetrics();
+        logMetricsScheduler = Optional.of(Scheduler.run(ExecutorMetricsRegistry::logMetrics)
+                .periodically(interval, timeUnit)
+                .name("ExecutorMetricsRegistry.logMetrics"));
+    }
+
+    public static synchronized void stopLoggingMetrics() {
+        logMetricsScheduler.ifPresent(Scheduler::stop);
+        logMetricsScheduler = Optional.empty();
+    }
+}
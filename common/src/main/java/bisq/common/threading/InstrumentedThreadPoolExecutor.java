@@ -0,0 +1,188 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.threading;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * ThreadPoolExecutor which records the queue size at submission, the time a task waited until it got started, the
+ * run time and the number of rejected tasks. The overhead per task are two calls of System.nanoTime and a few
+ * atomic increments.
+ * Executors are registered at the {@link ExecutorMetricsRegistry} and get removed once they are terminated.
+ * <p>
+ * Tasks get wrapped at execute, so the queue and the internal bookkeeping contain the wrappers. The remove, purge and
+ * shutdownNow methods are overridden to work with the submitted tasks, but getQueue returns the wrappers.
+ * Failures of tasks submitted with submit or invokeAll are detected by inspecting the completed future. Tasks of
+ * CompletableFuture.runAsync/supplyAsync report failures only to their CompletableFuture and are not counted as
+ * failed.
+ */
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+    @Getter
+    private final ExecutorMetrics metrics;
+
+    public InstrumentedThreadPoolExecutor(String name,
+                                          int corePoolSize,
+                                          int maximumPoolSize,
+                                          long keepAliveTime,
+                                          TimeUnit unit,
+                                          BlockingQueue<Runnable> workQueue,
+                                          ThreadFactory threadFactory) {
+        this(name, corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory, new AbortPolicy());
+    }
+
+    public InstrumentedThreadPoolExecutor(String name,
+                                          int corePoolSize,
+                                          int maximumPoolSize,
+                                          long keepAliveTime,
+                                          TimeUnit unit,
+                                          BlockingQueue<Runnable> workQueue,
+                                          ThreadFactory threadFactory,
+                                          RejectedExecutionHandler rejectedExecutionHandler) {
+        this(new ExecutorMetrics(name), corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory,
+                rejectedExecutionHandler);
+    }
+
+    private InstrumentedThreadPoolExecutor(ExecutorMetrics metrics,
+                                           int corePoolSize,
+                                           int maximumPoolSize,
+                                           long keepAliveTime,
+                                           TimeUnit unit,
+                                           BlockingQueue<Runnable> workQueue,
+                                           ThreadFactory threadFactory,
+                                           RejectedExecutionHandler rejectedExecutionHandler) {
+        super(corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue, threadFactory,
+                (runnable, executor) -> {
+                    metrics.onRejected();
+                    rejectedExecutionHandler.rejectedExecution(runnable, executor);
+                });
+        this.metrics = metrics;
+        ExecutorMetricsRegistry.register(this);
+    }
+
+    public String getName() {
+        return metrics.getName();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new InstrumentedTask(command, System.nanoTime()));
+        metrics.onSubmitted(getQueue().size());
+    }
+
+    @Override
+    public boolean remove(Runnable task) {
+        for (Runnable queued : getQueue()) {
+            if (queued instanceof InstrumentedTask && ((InstrumentedTask) queued).task == task) {
+                return super.remove(queued);
+            }
+        }
+        return super.remove(task);
+    }
+
+    @Override
+    public void purge() {
+        for (Runnable queued : getQueue().toArray(new Runnable[0])) {
+            if (queued instanceof InstrumentedTask &&
+                    ((InstrumentedTask) queued).task instanceof Future &&
+                    ((Future<?>) ((InstrumentedTask) queued).task).isCancelled()) {
+                super.remove(queued);
+            }
+        }
+        super.purge();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return super.shutdownNow().stream()
+                .map(runnable -> runnable instanceof InstrumentedTask ? ((InstrumentedTask) runnable).task : runnable)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        super.beforeExecute(thread, runnable);
+        if (runnable instanceof InstrumentedTask) {
+            InstrumentedTask instrumentedTask = (InstrumentedTask) runnable;
+            instrumentedTask.startTime = System.nanoTime();
+            metrics.onStarted(instrumentedTask.startTime - instrumentedTask.submitTime);
+        }
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable) {
+        super.afterExecute(runnable, throwable);
+        if (runnable instanceof InstrumentedTask) {
+            InstrumentedTask instrumentedTask = (InstrumentedTask) runnable;
+            boolean failed = throwable != null || hasFailed(instrumentedTask.task);
+            metrics.onCompleted(System.nanoTime() - instrumentedTask.startTime, failed);
+        }
+    }
+
+    @Override
+    protected void terminated() {
+        super.terminated();
+        ExecutorMetricsRegistry.unregister(this);
+    }
+
+    // FutureTask catches the exception of the task and completes exceptionally instead
+    private static boolean hasFailed(Runnable task) {
+        if (!(task instanceof Future)) {
+            return false;
+        }
+        Future<?> future = (Future<?>) task;
+        // Only completed futures get inspected, as get would block otherwise
+        if (!future.isDone() || future.isCancelled()) {
+            return false;
+        }
+        try {
+            future.get();
+            return false;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class InstrumentedTask implements Runnable {
+        private final Runnable task;
+        private final long submitTime;
+        // Only accessed from the worker thread running the task
+        private long startTime;
+
+        private InstrumentedTask(Runnable task, long submitTime) {
+            this.task = task;
+            this.submitTime = submitTime;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
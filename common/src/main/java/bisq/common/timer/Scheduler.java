@@ -17,30 +17,40 @@
 
 package bisq.common.timer;
 
-import bisq.common.threading.ExecutorFactory;
+import com.google.common.annotations.VisibleForTesting;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Optional;
-import java.util.Random;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 public class Scheduler implements TaskScheduler {
-    // We do not use a ScheduledThreadPoolExecutor as the queue cannot be customized. It would cause undesired behaviour 
-    // in case we would use a static executor for all Scheduler instances and multiple schedule calls would get 
-    // queued up instead of starting a new scheduler.
-    private final ScheduledExecutorService executor;
+    // All Scheduler instances share one timing wheel and a cached dispatch pool instead of owning a dedicated
+    // thread. The dispatch pool starts a new thread if all threads are busy, so a long-running task does not delay
+    // other tasks.
+    private final SharedTimer timer;
     private final Runnable task;
+    private final Set<TimingWheel.Timeout> pendingTimeouts = ConcurrentHashMap.newKeySet();
+    // Runs of the same scheduler are not executed concurrently, as it was the case with the single thread executor.
+    private final Object runLock = new Object();
     private volatile boolean stopped;
     @Getter
-    private long counter;
+    private volatile long counter;
     private Optional<String> threadName = Optional.empty();
 
     private Scheduler(Runnable task) {
+        this(task, SharedTimer.getInstance());
+    }
+
+    @VisibleForTesting
+    Scheduler(Runnable task, SharedTimer timer) {
         this.task = task;
-        executor = ExecutorFactory.newSingleThreadScheduledExecutor("Scheduler-" + new Random().nextInt(1000));
+        this.timer = timer;
     }
 
     public static Scheduler run(Runnable task) {
@@ -93,32 +103,15 @@ public class Scheduler implements TaskScheduler {
             return this;
         }
         if (cycles == 1) {
-            executor.schedule(() -> {
-                if (stopped) {
-                    return;
-                }
-                threadName.ifPresent(name -> Thread.currentThread().setName(name));
+            schedule(delay, timeUnit, () -> {
                 try {
-                    task.run();
+                    runTask();
                 } finally {
                     stop();
                 }
-            }, delay, timeUnit);
+            });
         } else {
-            executor.scheduleWithFixedDelay(() -> {
-                if (stopped) {
-                    return;
-                }
-                threadName.ifPresent(name -> Thread.currentThread().setName(name));
-                try {
-                    task.run();
-                } finally {
-                    counter++;
-                    if (counter >= cycles) {
-                        stop();
-                    }
-                }
-            }, initialDelay, delay, timeUnit);
+            schedule(initialDelay, timeUnit, () -> runWithFixedDelay(delay, timeUnit, cycles));
         }
         return this;
     }
@@ -126,6 +119,72 @@ public class Scheduler implements TaskScheduler {
     @Override
     public void stop() {
         stopped = true;
-        ExecutorFactory.shutdownAndAwaitTermination(executor);
+        pendingTimeouts.forEach(TimingWheel.Timeout::cancel);
+        pendingTimeouts.clear();
+    }
+
+    private void runWithFixedDelay(long delay, TimeUnit timeUnit, long cycles) {
+        try {
+            runTask();
+        } catch (Throwable t) {
+            // Like with ScheduledExecutorService.scheduleWithFixedDelay, an exception suppresses subsequent executions.
+            log.error("Periodic task failed. Subsequent executions are suppressed.", t);
+            return;
+        } finally {
+            counter++;
+            if (counter >= cycles) {
+                stop();
+            }
+        }
+        // The next run is scheduled after the current run has completed, to keep the fixed delay semantics.
+        schedule(delay, timeUnit, () -> runWithFixedDelay(delay, timeUnit, cycles));
+    }
+
+    private void runTask() {
+        if (stopped) {
+            return;
+        }
+        synchronized (runLock) {
+            if (stopped) {
+                return;
+            }
+            Thread currentThread = Thread.currentThread();
+            String previousName = currentThread.getName();
+            threadName.ifPresent(currentThread::setName);
+            try {
+                task.run();
+            } finally {
+                currentThread.setName(previousName);
+            }
+        }
+    }
+
+    private void schedule(long delay, TimeUnit timeUnit, Runnable runnable) {
+        if (stopped) {
+            return;
+        }
+        AtomicReference<TimingWheel.Timeout> reference = new AtomicReference<>();
+        AtomicBoolean fired = new AtomicBoolean();
+        TimingWheel.Timeout timeout = timer.schedule(() -> {
+            fired.set(true);
+            TimingWheel.Timeout self = reference.get();
+            if (self != null) {
+                pendingTimeouts.remove(self);
+            }
+            if (!stopped) {
+                runnable.run();
+            }
+        }, delay, timeUnit);
+        reference.set(timeout);
+        pendingTimeouts.add(timeout);
+        if (fired.get()) {
+            // Timeouts without delay are dispatched before we got the reference.
+            pendingTimeouts.remove(timeout);
+        }
+        if (stopped) {
+            // We got stopped concurrently, so we cancel the timeout which might have been missed by stop().
+            timeout.cancel();
+            pendingTimeouts.remove(timeout);
+        }
     }
 }
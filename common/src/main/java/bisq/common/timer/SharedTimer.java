@@ -0,0 +1,160 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.timer;
+
+import bisq.common.threading.ExecutorFactory;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Timer shared by all {@link Scheduler} instances. A single ticker thread advances a hierarchical {@link TimingWheel}
+ * and hands expired timeouts over to a cached dispatch pool. As the dispatch pool does not queue tasks but starts a
+ * new thread if all threads are busy, a long-running task never delays other tasks. Idle dispatch threads are
+ * released after a few seconds, so the number of threads follows the number of concurrently running tasks.
+ * <p>
+ * Timeouts are rounded up to the next tick, thus tasks never run earlier than requested but might run up to one
+ * tick later.
+ * <p>
+ * If the dispatch pool rejects a task (e.g. as the maximum number of threads is reached), the task is run on the
+ * thread which dispatches it, so that the task and the following runs of a periodic {@link Scheduler} are not lost.
+ */
+@Slf4j
+final class SharedTimer {
+    static final long TICK_MS = 10;
+    static final int WHEEL_SIZE = 64;
+
+    private static class Holder {
+        private static final SharedTimer INSTANCE = new SharedTimer(ExecutorFactory.newCachedThreadPool("Scheduler"));
+    }
+
+    static SharedTimer getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private final DelayQueue<TimingWheel.Bucket> delayQueue = new DelayQueue<>();
+    private final TimingWheel timingWheel;
+    // Adding timeouts to the wheel can be done concurrently, advancing the clock requires exclusive access.
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService dispatcher;
+    private final LongSupplier nanoClock;
+
+    SharedTimer(ExecutorService dispatcher) {
+        this(dispatcher, System::nanoTime, true);
+    }
+
+    /**
+     * @param nanoClock   Provides the current time in nanoseconds
+     * @param startTicker If false, no ticker thread is started and expired timeouts are only dispatched at
+     *                    {@link #dispatchExpiredTimeouts()}. Used for advancing the clock manually in tests.
+     */
+    @VisibleForTesting
+    SharedTimer(ExecutorService dispatcher, LongSupplier nanoClock, boolean startTicker) {
+        this.dispatcher = dispatcher;
+        this.nanoClock = nanoClock;
+        timingWheel = new TimingWheel(TICK_MS, WHEEL_SIZE, TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong()), delayQueue);
+        if (startTicker) {
+            Thread ticker = new Thread(this::tick, "Scheduler-ticker");
+            ticker.setDaemon(true);
+            ticker.start();
+        }
+    }
+
+    TimingWheel.Timeout schedule(Runnable runnable, long delay, TimeUnit timeUnit) {
+        long expirationNanos = nanoClock.getAsLong() + Math.max(0, timeUnit.toNanos(delay));
+        // Round up to the next tick so that the bucket does not expire before the timeout.
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+        long expirationMs = Math.floorDiv(expirationNanos + tickNanos - 1, tickNanos) * TICK_MS;
+        TimingWheel.Timeout timeout = new TimingWheel.Timeout(runnable, expirationMs);
+        lock.readLock().lock();
+        try {
+            addOrDispatch(timeout);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return timeout;
+    }
+
+    private void tick() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                TimingWheel.Bucket bucket = delayQueue.take();
+                lock.writeLock().lock();
+                try {
+                    while (bucket != null) {
+                        flush(bucket);
+                        bucket = delayQueue.poll();
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                log.error("Error at advancing the timing wheel", t);
+            }
+        }
+    }
+
+    /**
+     * Dispatches the timeouts which are expired at the current time of the clock. The buckets of the delay queue
+     * are checked against the given clock, so that the clock can be advanced manually.
+     */
+    @VisibleForTesting
+    void dispatchExpiredTimeouts() {
+        long nowMs = TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong());
+        lock.writeLock().lock();
+        try {
+            TimingWheel.Bucket bucket = delayQueue.peek();
+            while (bucket != null && bucket.getExpiration() <= nowMs) {
+                delayQueue.remove(bucket);
+                flush(bucket);
+                bucket = delayQueue.peek();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void flush(TimingWheel.Bucket bucket) {
+        timingWheel.advanceClock(bucket.getExpiration());
+        bucket.flush(this::addOrDispatch);
+    }
+
+    private void addOrDispatch(TimingWheel.Timeout timeout) {
+        if (!timingWheel.add(timeout) && !timeout.isCancelled()) {
+            Runnable runnable = timeout.getRunnable();
+            try {
+                dispatcher.execute(runnable);
+            } catch (RejectedExecutionException e) {
+                log.warn("Dispatch pool rejected the timeout. We run it on the current thread.", e);
+                try {
+                    runnable.run();
+                } catch (Throwable t) {
+                    log.error("Error at running timeout", t);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.timer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel as described by Varghese and Lauck. Each level has a fixed number of buckets covering
+ * one tick of the level. Timeouts which do not fit into the interval of a level are added to a lazily created
+ * overflow wheel whose tick is the interval of the level below. When a bucket of a higher level expires, its
+ * timeouts are re-added and cascade down to the finer levels.
+ * <p>
+ * Only non-empty buckets are put into the shared delay queue, so the ticker thread sleeps until the next bucket
+ * expires instead of waking up at each tick.
+ * <p>
+ * Adding timeouts is thread safe, advancing the clock requires exclusive access which is guarded by the
+ * {@link SharedTimer}.
+ */
+final class TimingWheel {
+    private final long tickMs;
+    private final int wheelSize;
+    private final long interval;
+    private final Bucket[] buckets;
+    private final DelayQueue<Bucket> queue;
+    private volatile long currentTime;
+    private volatile TimingWheel overflowWheel;
+
+    TimingWheel(long tickMs, int wheelSize, long startMs, DelayQueue<Bucket> queue) {
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.interval = tickMs * wheelSize;
+        this.queue = queue;
+        buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new Bucket();
+        }
+        currentTime = startMs - (startMs % tickMs);
+    }
+
+    /**
+     * @return false if the timeout is already expired or cancelled and should be dispatched (or dropped) directly.
+     */
+    boolean add(Timeout timeout) {
+        long expiration = timeout.getExpirationMs();
+        if (timeout.isCancelled()) {
+            return false;
+        } else if (expiration < currentTime + tickMs) {
+            return false;
+        } else if (expiration < currentTime + interval) {
+            long virtualId = expiration / tickMs;
+            Bucket bucket = buckets[(int) (virtualId % wheelSize)];
+            bucket.add(timeout);
+            // A bucket gets reused after it was flushed, so we only enqueue it if its expiration has changed.
+            if (bucket.setExpiration(virtualId * tickMs)) {
+                queue.offer(bucket);
+            }
+            return true;
+        } else {
+            return getOrCreateOverflowWheel().add(timeout);
+        }
+    }
+
+    void advanceClock(long timeMs) {
+        if (timeMs >= currentTime + tickMs) {
+            currentTime = timeMs - (timeMs % tickMs);
+            if (overflowWheel != null) {
+                overflowWheel.advanceClock(currentTime);
+            }
+        }
+    }
+
+    private TimingWheel getOrCreateOverflowWheel() {
+        // Adding timeouts can happen concurrently, so creation of the overflow wheel must be guarded.
+        if (overflowWheel == null) {
+            synchronized (this) {
+                if (overflowWheel == null) {
+                    overflowWheel = new TimingWheel(interval, wheelSize, currentTime, queue);
+                }
+            }
+        }
+        return overflowWheel;
+    }
+
+    static long nowMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    static final class Bucket implements Delayed {
+        private final AtomicLong expiration = new AtomicLong(-1);
+        private final Set<Timeout> timeouts = new HashSet<>();
+
+        synchronized void add(Timeout timeout) {
+            timeout.setBucket(this);
+            timeouts.add(timeout);
+        }
+
+        synchronized void remove(Timeout timeout) {
+            if (timeout.getBucket() == this) {
+                timeouts.remove(timeout);
+                timeout.setBucket(null);
+            }
+        }
+
+        synchronized void flush(Consumer<Timeout> consumer) {
+            List<Timeout> flushed = new ArrayList<>(timeouts);
+            timeouts.clear();
+            expiration.set(-1);
+            flushed.forEach(timeout -> {
+                timeout.setBucket(null);
+                consumer.accept(timeout);
+            });
+        }
+
+        boolean setExpiration(long expirationMs) {
+            return expiration.getAndSet(expirationMs) != expirationMs;
+        }
+
+        long getExpiration() {
+            return expiration.get();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(Math.max(getExpiration() - nowMs(), 0), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getExpiration(), ((Bucket) other).getExpiration());
+        }
+    }
+
+    static final class Timeout {
+        private final Runnable runnable;
+        private final long expirationMs;
+        private volatile boolean cancelled;
+        private Bucket bucket;
+
+        Timeout(Runnable runnable, long expirationMs) {
+            this.runnable = runnable;
+            this.expirationMs = expirationMs;
+        }
+
+        void cancel() {
+            cancelled = true;
+            Bucket bucket = getBucket();
+            if (bucket != null) {
+                bucket.remove(this);
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        long getExpirationMs() {
+            return expirationMs;
+        }
+
+        Runnable getRunnable() {
+            return runnable;
+        }
+
+        synchronized Bucket getBucket() {
+            return bucket;
+        }
+
+        synchronized void setBucket(Bucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+}
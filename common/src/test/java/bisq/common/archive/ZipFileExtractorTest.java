@@ -0,0 +1,157 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.archive;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZipFileExtractorTest {
+    private static final long OLD_TIMESTAMP = 1_000_000_000_000L;
+
+    @Test
+    void extractAllEntries(@TempDir Path tempDir) throws IOException {
+        Map<String, byte[]> entries = createEntries();
+        byte[] archive = createArchive(entries);
+
+        File destDir = tempDir.resolve("dest").toFile();
+        extract(archive, destDir);
+
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            assertArrayEquals(entry.getValue(), Files.readAllBytes(new File(destDir, entry.getKey()).toPath()),
+                    entry.getKey());
+        }
+    }
+
+    @Test
+    void skipUpToDateFiles(@TempDir Path tempDir) throws IOException {
+        Map<String, byte[]> entries = createEntries();
+        byte[] archive = createArchive(entries);
+        File destDir = tempDir.toFile();
+        extract(archive, destDir);
+        for (String name : entries.keySet()) {
+            assertTrue(new File(destDir, name).setLastModified(OLD_TIMESTAMP));
+        }
+
+        // Same size but different content
+        File changedFile = new File(destDir, "dir/small.txt");
+        byte[] changedData = entries.get("dir/small.txt").clone();
+        changedData[0]++;
+        Files.write(changedFile.toPath(), changedData);
+        changedFile.setLastModified(OLD_TIMESTAMP);
+
+        extract(archive, destDir);
+
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            File file = new File(destDir, entry.getKey());
+            assertArrayEquals(entry.getValue(), Files.readAllBytes(file.toPath()), entry.getKey());
+            if (entry.getKey().equals("dir/small.txt") || entry.getKey().equals("large-deflated.bin")) {
+                // Large entries without size in the local header are written again
+                continue;
+            }
+            assertEquals(OLD_TIMESTAMP, file.lastModified(), entry.getKey());
+        }
+        assertNotEquals(OLD_TIMESTAMP, changedFile.lastModified());
+    }
+
+    @Test
+    void workerFailureDoesNotReplaceExtractionFailure(@TempDir Path tempDir) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("dir/small.txt", "Hello world".getBytes());
+        entries.put("medium.bin", randomBytes(new Random(1), 300_000));
+        byte[] archive = createArchive(entries);
+        // Truncated inside the medium.bin entry
+        byte[] truncatedArchive = Arrays.copyOf(archive, archive.length / 2);
+
+        // Writing small.txt fails at the worker, as a directory exists at its path
+        File destDir = tempDir.toFile();
+        assertTrue(new File(destDir, "dir/small.txt").mkdirs());
+
+        ZipFileExtractionFailedException exception = assertThrows(ZipFileExtractionFailedException.class,
+                () -> extract(truncatedArchive, destDir));
+        assertEquals("Couldn't extract zip file.", exception.getMessage());
+        assertTrue(exception.getCause() instanceof IOException);
+        assertEquals(1, exception.getSuppressed().length);
+        assertTrue(exception.getSuppressed()[0].getMessage().startsWith("Couldn't write to file"));
+    }
+
+    private static void extract(byte[] archive, File destDir) throws IOException {
+        try (ZipFileExtractor zipFileExtractor = new ZipFileExtractor(new ByteArrayInputStream(archive), destDir)) {
+            zipFileExtractor.extractArchive();
+        }
+    }
+
+    private static Map<String, byte[]> createEntries() {
+        Random random = new Random(1);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("dir/small.txt", "Hello world".getBytes());
+        entries.put("dir/sub/empty.txt", new byte[0]);
+        entries.put("medium.bin", randomBytes(random, 300_000));
+        entries.put("stored.bin", randomBytes(random, 200_000));
+        entries.put("large-deflated.bin", randomBytes(random, 9 * 1024 * 1024));
+        entries.put("large-stored.bin", randomBytes(random, 9 * 1024 * 1024));
+        return entries;
+    }
+
+    private static byte[] randomBytes(Random random, int size) {
+        byte[] bytes = new byte[size];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    // ZipOutputStream writes deflated entries with a data descriptor, thus without size and CRC in the local header.
+    // Stored entries have size and CRC in the local header.
+    private static byte[] createArchive(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOutputStream = new ZipOutputStream(outputStream)) {
+            zipOutputStream.putNextEntry(new ZipEntry("dir/"));
+            zipOutputStream.closeEntry();
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                byte[] data = entry.getValue();
+                if (entry.getKey().startsWith("stored") || entry.getKey().startsWith("large-stored")) {
+                    CRC32 crc32 = new CRC32();
+                    crc32.update(data);
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(data.length);
+                    zipEntry.setCompressedSize(data.length);
+                    zipEntry.setCrc(crc32.getValue());
+                }
+                zipOutputStream.putNextEntry(zipEntry);
+                zipOutputStream.write(data);
+                zipOutputStream.closeEntry();
+            }
+        }
+        return outputStream.toByteArray();
+    }
+}
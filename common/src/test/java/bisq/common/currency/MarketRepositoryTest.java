@@ -0,0 +1,218 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.currency;
+
+import bisq.common.locale.LocaleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+public class MarketRepositoryTest {
+
+    @Test
+    void testSameResultsAsDerivedFromRepositories() {
+        try {
+            assertSameResultsAsReference();
+
+            // Changing the locale replaces the fiat currencies, so the index must get rebuilt
+            FiatCurrencyRepository.setLocale(Locale.GERMANY);
+            assertEquals("EUR", MarketRepository.getDefault().getQuoteCurrencyCode());
+            assertSameResultsAsReference();
+
+            FiatCurrencyRepository.setLocale(Locale.US);
+            assertEquals("USD", MarketRepository.getDefault().getQuoteCurrencyCode());
+            assertSameResultsAsReference();
+        } finally {
+            FiatCurrencyRepository.setLocale(LocaleRepository.getDefaultLocale());
+        }
+    }
+
+    @Test
+    void testFindMarket() {
+        Market market = MarketRepository.findAnyMarketByMarketCodes("BTC/EUR").orElseThrow();
+        assertEquals("BTC", market.getBaseCurrencyCode());
+        assertEquals("EUR", market.getQuoteCurrencyCode());
+        assertEquals(Optional.of(market), MarketRepository.findAnyMarketByCurrencyCodes("BTC", "EUR"));
+        assertEquals(Optional.of(market), MarketRepository.findAnyFiatMarketByMarketCodes("BTC/EUR"));
+
+        assertEquals(Optional.of(MarketRepository.getXmrMarket()), MarketRepository.findAnyMarketByMarketCodes("XMR/BTC"));
+        assertTrue(MarketRepository.findAnyFiatMarketByMarketCodes("XMR/BTC").isEmpty());
+
+        assertTrue(MarketRepository.findAnyMarketByMarketCodes("EUR/BTC").isEmpty());
+        assertTrue(MarketRepository.findAnyMarketByCurrencyCodes("EUR", "BTC").isEmpty());
+        assertTrue(MarketRepository.findAnyMarketByMarketCodes("").isEmpty());
+    }
+
+    @Test
+    void testReturnedListsAreMutableCopies() {
+        List<Market> markets = MarketRepository.getAllMarkets();
+        int size = markets.size();
+        markets.clear();
+        assertEquals(size, MarketRepository.getAllMarkets().size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkLookups() {
+        List<String> marketCodes = getAllMarkets().stream().map(Market::getMarketCodes).collect(Collectors.toList());
+        int iterations = 200;
+        // The index gets built at the first lookup, which should not be part of the measured lookups
+        MarketRepository.findAnyMarketByMarketCodes(marketCodes.get(0));
+
+        long ts = System.nanoTime();
+        int numFound = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (String codes : marketCodes) {
+                if (getAllMarkets().stream().anyMatch(e -> e.getMarketCodes().equals(codes))) {
+                    numFound++;
+                }
+            }
+        }
+        long referenceDuration = System.nanoTime() - ts;
+
+        ts = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String codes : marketCodes) {
+                if (MarketRepository.findAnyMarketByMarketCodes(codes).isPresent()) {
+                    numFound++;
+                }
+            }
+        }
+        long duration = System.nanoTime() - ts;
+
+        int numLookups = iterations * marketCodes.size();
+        assertEquals(2 * numLookups, numFound);
+        log.info("{} lookups. Lookups per second with scanning the rebuilt lists: {}, with the index: {}",
+                numLookups,
+                numLookups * 1_000_000_000L / referenceDuration,
+                numLookups * 1_000_000_000L / duration);
+        // A hash lookup in the index must beat rebuilding and scanning the market lists by far, so the check holds
+        // even with noisy timings
+        assertTrue(duration < referenceDuration,
+                "Index lookups took " + duration + " ns, scanning the rebuilt lists " + referenceDuration + " ns");
+    }
+
+    private static void assertSameResultsAsReference() {
+        assertEquals(getDefault(), MarketRepository.getDefault());
+        assertMarketsEqual(getMajorFiatMarkets(), MarketRepository.getMajorFiatMarkets());
+        assertMarketsEqual(getMinorFiatMarkets(), MarketRepository.getMinorFiatMarkets());
+        assertMarketsEqual(toFiatMarkets(FiatCurrencyRepository.getAllCurrencies()), MarketRepository.getAllUnsortedFiatMarkets());
+        assertMarketsEqual(getMajorCryptoCurrencyMarkets(), MarketRepository.getMajorCryptoCurrencyMarkets());
+        assertMarketsEqual(getMinorCryptoCurrencyMarkets(), MarketRepository.getMinorCryptoCurrencyMarkets());
+        assertMarketsEqual(toCryptoCurrencyMarkets(CryptoCurrencyRepository.getAllCurrencies()), MarketRepository.getAllCryptoCurrencyMarkets());
+        assertMarketsEqual(getMajorMarkets(), MarketRepository.getMajorMarkets());
+        assertMarketsEqual(getMinorMarkets(), MarketRepository.getMinorMarkets());
+        assertMarketsEqual(getAllMarkets(), MarketRepository.getAllMarkets());
+        assertMarketsEqual(getAllFiatMarkets(), MarketRepository.getAllFiatMarkets());
+
+        for (Market market : getAllMarkets()) {
+            String marketCodes = market.getMarketCodes();
+            Optional<Market> expected = getAllMarkets().stream().filter(e -> e.getMarketCodes().equals(marketCodes)).findAny();
+            assertEquals(expected, MarketRepository.findAnyMarketByMarketCodes(marketCodes));
+            assertEquals(expected, MarketRepository.findAnyMarketByCurrencyCodes(market.getBaseCurrencyCode(), market.getQuoteCurrencyCode()));
+            Optional<Market> expectedFiat = getAllFiatMarkets().stream().filter(e -> e.getMarketCodes().equals(marketCodes)).findAny();
+            assertEquals(expectedFiat, MarketRepository.findAnyFiatMarketByMarketCodes(marketCodes));
+        }
+    }
+
+    // Market.equals does not cover the names, so we compare the names as well
+    private static void assertMarketsEqual(List<Market> expected, List<Market> actual) {
+        assertEquals(expected, actual);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getMarketName(), actual.get(i).getMarketName());
+        }
+    }
+
+    // Reference implementation deriving the markets from the currency repositories at each call
+
+    private static Market getDefault() {
+        return new Market(CryptoCurrencyRepository.getDefaultCurrency().getCode(),
+                FiatCurrencyRepository.getDefaultCurrency().getCode(),
+                CryptoCurrencyRepository.getDefaultCurrency().getName(),
+                FiatCurrencyRepository.getDefaultCurrency().getName());
+    }
+
+    private static List<Market> toFiatMarkets(List<FiatCurrency> currencies) {
+        return currencies.stream()
+                .map(currency -> new Market("BTC", currency.getCode(), "Bitcoin", currency.getName()))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static List<Market> toCryptoCurrencyMarkets(List<CryptoCurrency> currencies) {
+        return currencies.stream()
+                .map(currency -> new Market(currency.getCode(), "BTC", currency.getName(), "Bitcoin"))
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static List<Market> getMajorFiatMarkets() {
+        return toFiatMarkets(FiatCurrencyRepository.getMajorCurrencies());
+    }
+
+    private static List<Market> getMinorFiatMarkets() {
+        return toFiatMarkets(FiatCurrencyRepository.getMinorCurrencies());
+    }
+
+    private static List<Market> getMajorCryptoCurrencyMarkets() {
+        return toCryptoCurrencyMarkets(CryptoCurrencyRepository.getMajorCurrencies());
+    }
+
+    private static List<Market> getMinorCryptoCurrencyMarkets() {
+        return toCryptoCurrencyMarkets(CryptoCurrencyRepository.getMinorCurrencies());
+    }
+
+    private static List<Market> getMajorMarkets() {
+        return Stream.concat(getMajorFiatMarkets().stream(), getMajorCryptoCurrencyMarkets().stream())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static List<Market> getMinorMarkets() {
+        return Stream.concat(getMinorFiatMarkets().stream(), getMinorCryptoCurrencyMarkets().stream())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static List<Market> getAllMarkets() {
+        List<Market> list = new ArrayList<>();
+        list.add(getDefault());
+        list.addAll(getMajorMarkets());
+        list.addAll(getMinorMarkets());
+        return list.stream().distinct().collect(Collectors.toList());
+    }
+
+    private static List<Market> getAllFiatMarkets() {
+        List<Market> list = new ArrayList<>();
+        list.add(getDefault());
+        list.addAll(getMajorFiatMarkets());
+        list.addAll(getMinorFiatMarkets());
+        return list.stream().distinct().collect(Collectors.toList());
+    }
+}
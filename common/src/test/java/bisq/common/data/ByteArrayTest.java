@@ -0,0 +1,95 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class ByteArrayTest {
+
+    @Test
+    void testCompareMatchesBigIntegerOrder() {
+        List<byte[]> values = new ArrayList<>(List.of(
+                new byte[]{0},
+                new byte[]{0, 0},
+                new byte[]{1},
+                new byte[]{0, 1},
+                new byte[]{-1},
+                new byte[]{-1, -1},
+                new byte[]{-1, 0},
+                new byte[]{-128},
+                new byte[]{-128, 0},
+                new byte[]{127},
+                new byte[]{0, -128},
+                new byte[]{127, -1, -1},
+                new byte[]{-128, 0, 0, 0}
+        ));
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            byte[] bytes = new byte[1 + random.nextInt(34)];
+            random.nextBytes(bytes);
+            // Leading zero and sign bytes cover the sign extension for arrays of different length
+            if (random.nextInt(4) == 0) {
+                bytes[0] = (byte) (random.nextBoolean() ? 0 : -1);
+            }
+            values.add(bytes);
+        }
+
+        for (byte[] a : values) {
+            for (byte[] b : values) {
+                int expected = new BigInteger(a).compareTo(new BigInteger(b));
+                int actual = new ByteArray(a).compareTo(new ByteArray(b));
+                assertEquals(expected, actual, Arrays.toString(a) + " / " + Arrays.toString(b));
+            }
+        }
+    }
+
+    @Test
+    void testCompareEmptyArrayAsZero() {
+        assertEquals(0, ByteArray.compare(new byte[0], new byte[]{0}));
+        assertEquals(-1, ByteArray.compare(new byte[0], new byte[]{1}));
+        assertEquals(1, ByteArray.compare(new byte[0], new byte[]{-1}));
+    }
+
+    @Test
+    void testHashCodeAndEquals() {
+        byte[] bytes = new byte[]{1, 2, 3};
+        ByteArray byteArray = new ByteArray(bytes);
+        assertEquals(Arrays.hashCode(bytes), byteArray.hashCode());
+        // Cached value
+        assertEquals(Arrays.hashCode(bytes), byteArray.hashCode());
+
+        ByteArray other = new ByteArray(new byte[]{1, 2, 3});
+        assertEquals(byteArray, other);
+        other.hashCode();
+        assertEquals(byteArray, other);
+        assertNotEquals(byteArray, new ByteArray(new byte[]{1, 2, 4}));
+
+        // Zero hash code is recomputed but still valid
+        ByteArray empty = new ByteArray(new byte[0]);
+        assertEquals(Arrays.hashCode(new byte[0]), empty.hashCode());
+    }
+}
@@ -18,12 +18,19 @@
 package bisq.common.fsm;
 
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+@Slf4j
 public class FsmTest {
 
     @Test
@@ -521,6 +528,72 @@ public class FsmTest {
         });
     }
 
+    @Test
+    @Tag("benchmark")
+    void benchmarkEventsPerSecond() {
+        // Warm up
+        long nanosPerEventAtWarmUp = runBenchmark(10_000);
+        long nanosPerEvent = runBenchmark(50_000);
+        // The cost per event must not grow with the number of FSMs. The warmed up run is usually faster, so a loose
+        // factor only catches costs which grow with the number of FSMs.
+        assertTrue(nanosPerEvent <= Math.max(1, nanosPerEventAtWarmUp) * 4,
+                "Cost per event: " + nanosPerEvent + " ns, at warm up: " + nanosPerEventAtWarmUp + " ns");
+    }
+
+    // Returns the duration per event in ns
+    private long runBenchmark(int numFsms) {
+        List<MockModel> models = new ArrayList<>(numFsms);
+        List<SimpleFsm<MockModel>> fsms = new ArrayList<>(numFsms);
+        for (int i = 0; i < numFsms; i++) {
+            MockModel model = new MockModel(MockState.INIT);
+            SimpleFsm<MockModel> fsm = new SimpleFsm<>(model);
+            fsm.addTransition()
+                    .from(MockState.INIT)
+                    .on(MockEvent1.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.S1)
+                    .then()
+                    .from(MockState.S1)
+                    .on(MockEvent2.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.S2)
+                    .then()
+                    .from(MockState.S2)
+                    .on(MockEvent3.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.S3)
+                    .then()
+                    .from(MockState.S3)
+                    .on(MockEvent4.class)
+                    .run(MockEventHandler.class)
+                    .to(MockState.COMPLETED);
+            models.add(model);
+            fsms.add(fsm);
+        }
+
+        long ts = System.nanoTime();
+        for (int i = 0; i < numFsms; i++) {
+            MockModel model = models.get(i);
+            SimpleFsm<MockModel> fsm = fsms.get(i);
+            // MockEvent3 arrives out of order and gets applied from the event queue
+            fsm.handle(new MockEvent1(model, "1"));
+            fsm.handle(new MockEvent3(model, "3"));
+            fsm.handle(new MockEvent2(model, "2"));
+            fsm.handle(new MockEvent4(model, "4"));
+        }
+        long duration = System.nanoTime() - ts;
+        int numEvents = numFsms * 4;
+        log.info("Handled {} events in {} ms. Events per second: {}",
+                numEvents, duration / 1_000_000, numEvents * 1_000_000_000L / duration);
+
+        models.forEach(model -> {
+            assertEquals(MockState.COMPLETED, model.getState());
+            assertEquals("4", model.data);
+            // The out of order event got applied from the queue
+            assertTrue(model.getEventQueue().isEmpty());
+        });
+        return duration / numEvents;
+    }
 
     @Getter
     public enum MockState implements State {
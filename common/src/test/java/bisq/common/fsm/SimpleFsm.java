@@ -1,6 +1,7 @@
 package bisq.common.fsm;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 
 public class SimpleFsm<M extends FsmModel> extends Fsm<M> {
 
@@ -22,7 +23,7 @@ public class SimpleFsm<M extends FsmModel> extends Fsm<M> {
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass)
             throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        return handlerClass.getDeclaredConstructor().newInstance();
+        return newEventHandler(handlerClass, List.of());
     }
 
     @Override
@@ -0,0 +1,147 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.monetary;
+
+import bisq.common.util.MathUtils;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Compares the results of FixedPointMath with the BigDecimal based implementation for random values.
+ */
+public class FixedPointMathTest {
+    private static final int NUM_SAMPLES = 200_000;
+    private static final int[] PRECISIONS = {0, 2, 4, 8, 12, 18, 20};
+
+    @Test
+    void scaleUpAndDivideHalfUp() {
+        Random random = new Random(1);
+        for (int i = 0; i < NUM_SAMPLES; i++) {
+            long dividend = randomLong(random);
+            int exponent = randomPrecision(random);
+            long divisor = randomLong(random);
+            if (divisor == 0) {
+                continue;
+            }
+            assertEquals(bigDecimalScaleUpAndDivideHalfUp(dividend, exponent, divisor),
+                    FixedPointMath.scaleUpAndDivideHalfUp(dividend, exponent, divisor),
+                    dividend + " * 10^" + exponent + " / " + divisor);
+        }
+
+        // Ties
+        assertEquals(3, FixedPointMath.scaleUpAndDivideHalfUp(5, 0, 2));
+        assertEquals(-3, FixedPointMath.scaleUpAndDivideHalfUp(-5, 0, 2));
+        assertEquals(-3, FixedPointMath.scaleUpAndDivideHalfUp(5, 0, -2));
+        assertEquals(3, FixedPointMath.scaleUpAndDivideHalfUp(-5, 0, -2));
+        assertEquals(bigDecimalScaleUpAndDivideHalfUp(Long.MAX_VALUE, 0, Long.MIN_VALUE),
+                FixedPointMath.scaleUpAndDivideHalfUp(Long.MAX_VALUE, 0, Long.MIN_VALUE));
+        assertThrows(ArithmeticException.class, () -> FixedPointMath.scaleUpAndDivideHalfUp(1, 0, 0));
+    }
+
+    @Test
+    void multiplyAndScaleDown() {
+        Random random = new Random(2);
+        for (int i = 0; i < NUM_SAMPLES; i++) {
+            long value1 = randomLong(random);
+            long value2 = randomLong(random);
+            int exponent = randomPrecision(random);
+            assertEquals(bigDecimalMultiplyAndScaleDown(value1, value2, exponent),
+                    FixedPointMath.multiplyAndScaleDown(value1, value2, exponent),
+                    value1 + " * " + value2 + " / 10^" + exponent);
+        }
+    }
+
+    @Test
+    void toDouble() {
+        Random random = new Random(3);
+        for (int i = 0; i < NUM_SAMPLES; i++) {
+            long value = randomLong(random);
+            int precision = randomPrecision(random);
+            assertEquals(bigDecimalToDouble(value, precision),
+                    FixedPointMath.toDouble(value, precision),
+                    value + " / 10^" + precision);
+        }
+    }
+
+    @Test
+    void toLong() {
+        Random random = new Random(4);
+        for (int i = 0; i < NUM_SAMPLES; i++) {
+            int precision = randomPrecision(random);
+            // Face values as entered by users, market prices with markup and arbitrary doubles
+            double value;
+            switch (random.nextInt(3)) {
+                case 0:
+                    value = randomLong(random) / Math.pow(10, random.nextInt(precision + 1));
+                    break;
+                case 1:
+                    value = random.nextDouble() * 100_000 * (1 + (random.nextInt(2000) - 1000) / 10_000d);
+                    break;
+                default:
+                    value = Double.longBitsToDouble(random.nextLong());
+                    if (!Double.isFinite(value)) {
+                        continue;
+                    }
+            }
+            assertEquals(BigDecimal.valueOf(value).movePointRight(precision).longValue(),
+                    FixedPointMath.toLong(value, precision),
+                    value + " * 10^" + precision);
+        }
+    }
+
+    // Mixes small values as used for amounts and prices with values of the full long range
+    private static long randomLong(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(1_000_000) - 500_000;
+            case 1:
+                return random.nextLong() % 100_000_000_000_000L;
+            case 2:
+                return random.nextLong() >> random.nextInt(64);
+            default:
+                return random.nextLong();
+        }
+    }
+
+    private static int randomPrecision(Random random) {
+        return PRECISIONS[random.nextInt(PRECISIONS.length)];
+    }
+
+    private static long bigDecimalScaleUpAndDivideHalfUp(long dividend, int exponent, long divisor) {
+        return BigDecimal.valueOf(dividend)
+                .movePointRight(exponent)
+                .divide(BigDecimal.valueOf(divisor), RoundingMode.HALF_UP)
+                .longValue();
+    }
+
+    private static long bigDecimalMultiplyAndScaleDown(long value1, long value2, int exponent) {
+        return BigDecimal.valueOf(value1).multiply(BigDecimal.valueOf(value2))
+                .movePointLeft(exponent)
+                .longValue();
+    }
+
+    private static double bigDecimalToDouble(long value, int precision) {
+        return MathUtils.roundDouble(BigDecimal.valueOf(value).movePointLeft(precision).doubleValue(), precision);
+    }
+}
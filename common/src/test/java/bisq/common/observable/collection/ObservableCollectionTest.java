@@ -0,0 +1,256 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObservableCollectionTest {
+
+    @Test
+    void testEventOrderOfSingleMutations() {
+        ObservableArray<String> observableArray = new ObservableArray<>();
+        RecordingObserver observer = new RecordingObserver();
+        observableArray.addObserver(observer);
+
+        observableArray.add("a");
+        observableArray.addAll(List.of("b", "c"));
+        observableArray.remove("a");
+        observableArray.clear();
+
+        assertEquals(List.of("addAll[]", "add a", "addAll[b, c]", "remove a", "clear"), observer.events);
+    }
+
+    @Test
+    void testApplyBatchNotifiesOnce() {
+        ObservableArray<String> observableArray = new ObservableArray<>(List.of("a", "b"));
+        RecordingObserver observer = new RecordingObserver();
+        observableArray.addObserver(observer);
+        observer.events.clear();
+
+        boolean changed = observableArray.applyBatch(batch -> {
+            batch.remove("a");
+            batch.add("c");
+            batch.add("d");
+            batch.remove("d");
+        });
+
+        assertTrue(changed);
+        assertEquals(List.of("b", "c"), observableArray.getList());
+        assertEquals(1, observer.changes.size());
+        CollectionChange<String> change = observer.changes.get(0);
+        assertFalse(change.isReplaced());
+        assertEquals(List.of("c"), change.getAdded());
+        assertEquals(List.of("a"), change.getRemoved());
+        assertEquals(List.of("applyChange"), observer.events);
+    }
+
+    @Test
+    void testApplyBatchWithClear() {
+        ObservableArray<String> observableArray = new ObservableArray<>(List.of("a", "b"));
+        RecordingObserver observer = new RecordingObserver();
+        observableArray.addObserver(observer);
+
+        observableArray.applyBatch(batch -> {
+            batch.add("c");
+            batch.clear();
+            batch.addAll(List.of("d", "e"));
+            batch.remove("x");
+        });
+
+        assertEquals(List.of("d", "e"), observableArray.getList());
+        CollectionChange<String> change = observer.changes.get(0);
+        assertTrue(change.isReplaced());
+        assertEquals(List.of("d", "e"), change.getAdded());
+        assertTrue(change.getRemoved().isEmpty());
+    }
+
+    @Test
+    void testApplyBatchWithoutChange() {
+        ObservableSet<String> observableSet = new ObservableSet<>(List.of("a"));
+        RecordingObserver observer = new RecordingObserver();
+        observableSet.addObserver(observer);
+        observer.events.clear();
+
+        assertFalse(observableSet.applyBatch(batch -> batch.add("a")));
+        assertFalse(observableSet.applyBatch(batch -> {
+            batch.add("b");
+            batch.remove("b");
+        }));
+        assertTrue(observer.events.isEmpty());
+    }
+
+    @Test
+    void testDefaultApplyChangeUsesBulkCalls() {
+        ObservableArray<String> observableArray = new ObservableArray<>(List.of("a", "b"));
+        List<String> events = new ArrayList<>();
+        observableArray.addObserver(new CollectionObserver<>() {
+            @Override
+            public void add(String element) {
+                events.add("add " + element);
+            }
+
+            @Override
+            public void addAll(Collection<? extends String> values) {
+                events.add("addAll" + values);
+            }
+
+            @Override
+            public void remove(Object element) {
+                events.add("remove " + element);
+            }
+
+            @Override
+            public void removeAll(Collection<?> values) {
+                events.add("removeAll" + values);
+            }
+
+            @Override
+            public void clear() {
+                events.add("clear");
+            }
+        });
+        events.clear();
+
+        observableArray.applyBatch(batch -> {
+            batch.add("c");
+            batch.remove("a");
+        });
+        // Removals are applied before additions
+        assertEquals(List.of("removeAll[a]", "addAll[c]"), events);
+    }
+
+    @Test
+    void testCoalescingObserver() {
+        ObservableArray<String> observableArray = new ObservableArray<>(List.of("a"));
+        List<Runnable> pendingTasks = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver();
+        observableArray.addObserver(observer, pendingTasks::add);
+
+        observableArray.add("b");
+        observableArray.add("c");
+        observableArray.remove("a");
+        observableArray.remove("c");
+        observableArray.add("d");
+
+        // Only one flush task is scheduled and the observer is not called before it runs
+        assertEquals(1, pendingTasks.size());
+        assertTrue(observer.events.isEmpty());
+
+        pendingTasks.remove(0).run();
+        assertEquals(1, observer.changes.size());
+        CollectionChange<String> change = observer.changes.get(0);
+        assertEquals(List.of("b", "d"), change.getAdded());
+        // "a" was added by the initial notification in the same coalescing window, so it got netted out
+        assertTrue(change.getRemoved().isEmpty());
+
+        // Changes after the flush are delivered with the next flush in the order they happened
+        observableArray.remove("b");
+        observableArray.add("e");
+        assertEquals(1, pendingTasks.size());
+        pendingTasks.remove(0).run();
+        assertEquals(2, observer.changes.size());
+        change = observer.changes.get(1);
+        assertEquals(List.of("e"), change.getAdded());
+        assertEquals(List.of("b"), change.getRemoved());
+
+        observableArray.setAll(List.of("x"));
+        observableArray.add("y");
+        pendingTasks.remove(0).run();
+        change = observer.changes.get(2);
+        assertTrue(change.isReplaced());
+        assertEquals(List.of("x", "y"), change.getAdded());
+    }
+
+    @Test
+    void testCoalescingObserverWithDuplicates() {
+        ObservableArray<String> observableArray = new ObservableArray<>();
+        List<Runnable> pendingTasks = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver();
+        observableArray.addObserver(observer, pendingTasks::add);
+
+        observableArray.add("a");
+        observableArray.add("b");
+        observableArray.add("a");
+        // Removes the first occurrence, as the array does
+        observableArray.remove("a");
+        observableArray.add("c");
+
+        pendingTasks.remove(0).run();
+        CollectionChange<String> change = observer.changes.get(observer.changes.size() - 1);
+        assertEquals(observableArray.getList(), change.getAdded());
+        assertEquals(List.of("b", "a", "c"), change.getAdded());
+    }
+
+    @Test
+    void testCollectionChangeMapperAppliesBatch() {
+        ObservableArray<Integer> observableArray = new ObservableArray<>(List.of(1, 2, 3));
+        List<String> target = new ArrayList<>();
+        List<Runnable> pendingTasks = new ArrayList<>();
+        observableArray.addCollectionChangeMapper(target, value -> value != 5, String::valueOf, pendingTasks::add);
+        pendingTasks.forEach(Runnable::run);
+        pendingTasks.clear();
+
+        observableArray.applyBatch(batch -> {
+            batch.remove(1);
+            batch.addAll(List.of(4, 5, 6));
+        });
+        assertEquals(1, pendingTasks.size());
+        pendingTasks.get(0).run();
+        assertEquals(List.of("2", "3", "4", "6"), target);
+    }
+
+    private static class RecordingObserver implements CollectionObserver<String> {
+        private final List<String> events = new ArrayList<>();
+        private final List<CollectionChange<String>> changes = new ArrayList<>();
+
+        @Override
+        public void add(String element) {
+            events.add("add " + element);
+        }
+
+        @Override
+        public void addAll(Collection<? extends String> values) {
+            events.add("addAll" + values);
+        }
+
+        @Override
+        public void remove(Object element) {
+            events.add("remove " + element);
+        }
+
+        @Override
+        public void clear() {
+            events.add("clear");
+        }
+
+        @Override
+        public void applyChange(CollectionChange<? extends String> change) {
+            events.add("applyChange");
+            //noinspection unchecked
+            changes.add((CollectionChange<String>) change);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.observable.map;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObservableHashMapTest {
+
+    @Test
+    void testSetAllNotifiesOnce() {
+        ObservableHashMap<String, Integer> observableHashMap = new ObservableHashMap<>();
+        observableHashMap.put("a", 1);
+        RecordingObserver observer = new RecordingObserver();
+        observableHashMap.addObserver(observer);
+        observer.events.clear();
+
+        observableHashMap.setAll(Map.of("b", 2, "c", 3));
+
+        assertEquals(Map.of("b", 2, "c", 3), observableHashMap.getMap());
+        assertEquals(List.of("applyChange"), observer.events);
+        HashMapChange<String, Integer> change = observer.changes.get(0);
+        assertTrue(change.isReplaced());
+        assertEquals(Map.of("b", 2, "c", 3), change.getPut());
+    }
+
+    @Test
+    void testApplyBatchNetChange() {
+        ObservableHashMap<String, Integer> observableHashMap = new ObservableHashMap<>();
+        observableHashMap.put("a", 1);
+        observableHashMap.put("b", 2);
+        RecordingObserver observer = new RecordingObserver();
+        observableHashMap.addObserver(observer);
+
+        boolean changed = observableHashMap.applyBatch(batch -> {
+            batch.remove("a");
+            batch.put("c", 3);
+            batch.put("c", 4);
+            batch.put("d", 5);
+            batch.remove("d");
+            batch.remove("x");
+        });
+
+        assertTrue(changed);
+        assertEquals(Map.of("b", 2, "c", 4), observableHashMap.getMap());
+        HashMapChange<String, Integer> change = observer.changes.get(0);
+        assertFalse(change.isReplaced());
+        assertEquals(Map.of("c", 4), change.getPut());
+        assertEquals(Set.of("a", "d"), change.getRemoved());
+
+        assertFalse(observableHashMap.applyBatch(batch -> batch.remove("x")));
+        assertEquals(1, observer.changes.size());
+    }
+
+    @Test
+    void testDefaultApplyChangeOrder() {
+        ObservableHashMap<String, Integer> observableHashMap = new ObservableHashMap<>();
+        observableHashMap.put("a", 1);
+        List<String> events = new ArrayList<>();
+        observableHashMap.addObserver(new HashMapObserver<>() {
+            @Override
+            public void put(String key, Integer value) {
+                events.add("put " + key);
+            }
+
+            @Override
+            public void putAll(Map<? extends String, ? extends Integer> map) {
+                events.add("putAll" + map);
+            }
+
+            @Override
+            public void remove(Object key) {
+                events.add("remove " + key);
+            }
+
+            @Override
+            public void clear() {
+                events.add("clear");
+            }
+        });
+        events.clear();
+
+        observableHashMap.applyBatch(batch -> {
+            batch.put("b", 2);
+            batch.remove("a");
+        });
+        assertEquals(List.of("remove a", "putAll{b=2}"), events);
+
+        events.clear();
+        observableHashMap.setAll(Map.of("c", 3));
+        assertEquals(List.of("clear", "putAll{c=3}"), events);
+    }
+
+    @Test
+    void testCoalescingObserver() {
+        ObservableHashMap<String, Integer> observableHashMap = new ObservableHashMap<>();
+        List<Runnable> pendingTasks = new ArrayList<>();
+        RecordingObserver observer = new RecordingObserver();
+        observableHashMap.addObserver(observer, pendingTasks::add);
+        pendingTasks.remove(0).run();
+
+        for (int i = 0; i < 1000; i++) {
+            observableHashMap.put("key", i);
+        }
+        observableHashMap.put("a", 1);
+        observableHashMap.remove("a");
+
+        assertEquals(1, pendingTasks.size());
+        assertTrue(observer.changes.isEmpty());
+        pendingTasks.remove(0).run();
+
+        assertEquals(1, observer.changes.size());
+        HashMapChange<String, Integer> change = observer.changes.get(0);
+        assertEquals(Map.of("key", 999), change.getPut());
+        assertEquals(Set.of("a"), change.getRemoved());
+
+        observableHashMap.clear();
+        observableHashMap.put("b", 2);
+        pendingTasks.remove(0).run();
+        change = observer.changes.get(1);
+        assertTrue(change.isReplaced());
+        assertEquals(Map.of("b", 2), change.getPut());
+        assertTrue(pendingTasks.isEmpty());
+    }
+
+    private static class RecordingObserver implements HashMapObserver<String, Integer> {
+        private final List<String> events = new ArrayList<>();
+        private final List<HashMapChange<String, Integer>> changes = new ArrayList<>();
+
+        @Override
+        public void put(String key, Integer value) {
+            events.add("put " + key);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends Integer> map) {
+            events.add("putAll" + map);
+        }
+
+        @Override
+        public void remove(Object key) {
+            events.add("remove " + key);
+        }
+
+        @Override
+        public void clear() {
+            events.add("clear");
+        }
+
+        @Override
+        public void applyChange(HashMapChange<? extends String, ? extends Integer> change) {
+            events.add("applyChange");
+            //noinspection unchecked
+            changes.add((HashMapChange<String, Integer>) change);
+        }
+    }
+}
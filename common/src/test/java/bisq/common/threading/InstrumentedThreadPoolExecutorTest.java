@@ -0,0 +1,178 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.threading;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Slf4j
+public class InstrumentedThreadPoolExecutorTest {
+    @Test
+    void recordsTaskMetrics() throws InterruptedException {
+        InstrumentedThreadPoolExecutor executor = new InstrumentedThreadPoolExecutor("recordsTaskMetrics",
+                1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), Executors.defaultThreadFactory());
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocker.await();
+                Thread.sleep(5);
+            } catch (InterruptedException ignore) {
+            }
+        });
+        executor.execute(() -> {
+        });
+        executor.execute(() -> {
+            throw new RuntimeException("Expected");
+        });
+        blocker.countDown();
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 5, TimeUnit.SECONDS);
+
+        ExecutorMetrics metrics = executor.getMetrics();
+        assertEquals(3, metrics.getNumSubmittedTasks().sum());
+        assertEquals(3, metrics.getNumCompletedTasks().sum());
+        assertEquals(1, metrics.getNumFailedTasks().sum());
+        assertEquals(0, metrics.getNumRejectedTasks().sum());
+        assertTrue(metrics.getMaxQueueSize().get() >= 1);
+        assertEquals(3, metrics.getWaitTimeHistogram().getCount());
+        assertEquals(3, metrics.getRunTimeHistogram().getCount());
+        // The first task blocked the other tasks for at least 5 ms
+        assertTrue(metrics.getRunTimeHistogram().getMax() >= 5000);
+        assertTrue(metrics.getWaitTimeHistogram().getMax() >= 5000);
+    }
+
+    @Test
+    void countsFailedFutures() throws InterruptedException {
+        InstrumentedThreadPoolExecutor executor = new InstrumentedThreadPoolExecutor("countsFailedFutures",
+                1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), Executors.defaultThreadFactory());
+        Future<?> failed = executor.submit(() -> {
+            throw new RuntimeException("Expected");
+        });
+        executor.submit(() -> "result");
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 5, TimeUnit.SECONDS);
+
+        assertThrows(ExecutionException.class, failed::get);
+        assertEquals(2, executor.getMetrics().getNumCompletedTasks().sum());
+        assertEquals(1, executor.getMetrics().getNumFailedTasks().sum());
+    }
+
+    @Test
+    void removeQueuedTask() throws InterruptedException {
+        InstrumentedThreadPoolExecutor executor = new InstrumentedThreadPoolExecutor("removeQueuedTask",
+                1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), Executors.defaultThreadFactory());
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignore) {
+            }
+        });
+        Runnable queued = () -> {
+        };
+        executor.execute(queued);
+
+        assertTrue(executor.remove(queued));
+        assertFalse(executor.remove(queued));
+        blocker.countDown();
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 5, TimeUnit.SECONDS);
+
+        assertEquals(1, executor.getMetrics().getNumCompletedTasks().sum());
+    }
+
+    @Test
+    void countsRejectedTasks() throws InterruptedException {
+        InstrumentedThreadPoolExecutor executor = new InstrumentedThreadPoolExecutor("countsRejectedTasks",
+                1, 1, 0, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), Executors.defaultThreadFactory());
+        CountDownLatch blocker = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException ignore) {
+            }
+        });
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> {
+        }));
+        blocker.countDown();
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 5, TimeUnit.SECONDS);
+
+        assertEquals(1, executor.getMetrics().getNumRejectedTasks().sum());
+        assertEquals(1, executor.getMetrics().getNumCompletedTasks().sum());
+    }
+
+    @Test
+    void registryContainsOnlyRunningExecutors() throws InterruptedException {
+        String name = "registryContainsOnlyRunningExecutors";
+        ExecutorService executor = ExecutorFactory.newFixedThreadPool(name, 2);
+        executor.submit(() -> {
+        });
+        assertEquals(1, ExecutorMetricsRegistry.findMetrics(name).size());
+        assertTrue(ExecutorMetricsRegistry.getMetricsAsString().contains(name));
+
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 5, TimeUnit.SECONDS);
+        assertTrue(ExecutorMetricsRegistry.findMetrics(name).isEmpty());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkOverhead() throws Exception {
+        int numTasks = 200_000;
+        long plain = Long.MAX_VALUE;
+        long instrumented = Long.MAX_VALUE;
+        // Tasks are trivial, so we measure the worst case. We take the best of several rounds to reduce GC noise.
+        for (int i = 0; i < 10; i++) {
+            plain = Math.min(plain, measure(newPlainExecutor(), numTasks));
+            InstrumentedThreadPoolExecutor instrumentedExecutor = newInstrumentedExecutor();
+            instrumented = Math.min(instrumented, measure(instrumentedExecutor, numTasks));
+            // Each task got recorded
+            ExecutorMetrics metrics = instrumentedExecutor.getMetrics();
+            assertEquals(numTasks, metrics.getNumCompletedTasks().sum());
+            assertEquals(numTasks, metrics.getRunTimeHistogram().getCount());
+        }
+        log.info("{} tasks on plain executor took {} ms, on instrumented executor {} ms. Overhead per task: {} ns",
+                numTasks, plain / 1_000_000, instrumented / 1_000_000, (instrumented - plain) / numTasks);
+        // With trivial tasks the recording is the larger part of the work per task, so a ratio to the plain executor
+        // says little. We check a loose bound of the overhead per task instead, which is a few 100 ns usually.
+        long overheadPerTask = (instrumented - plain) / numTasks;
+        assertTrue(overheadPerTask < 2000, "Overhead per task: " + overheadPerTask + " ns");
+    }
+
+    private static ThreadPoolExecutor newPlainExecutor() {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    }
+
+    private static InstrumentedThreadPoolExecutor newInstrumentedExecutor() {
+        return new InstrumentedThreadPoolExecutor("benchmarkOverhead", 1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), Executors.defaultThreadFactory());
+    }
+
+    private static long measure(ThreadPoolExecutor executor, int numTasks) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(numTasks);
+        long ts = System.nanoTime();
+        for (int i = 0; i < numTasks; i++) {
+            executor.execute(latch::countDown);
+        }
+        latch.await();
+        long duration = System.nanoTime() - ts;
+        ExecutorFactory.shutdownAndAwaitTermination(executor, 5, TimeUnit.SECONDS);
+        return duration;
+    }
+}
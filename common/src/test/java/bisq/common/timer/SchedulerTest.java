@@ -0,0 +1,189 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.timer;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchedulerTest {
+    // The timer has no ticker thread. Time only passes by calling advance, and timeouts run on the test thread.
+    private final AtomicLong nanoTime = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+    private final ExecutorService dispatcher = MoreExecutors.newDirectExecutorService();
+    private final SharedTimer timer = new SharedTimer(dispatcher, nanoTime::get, false);
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    void testAfter() {
+        AtomicInteger numRuns = new AtomicInteger();
+        run(numRuns::incrementAndGet).after(100);
+        advance(90);
+        assertEquals(0, numRuns.get());
+        advance(10);
+        assertEquals(1, numRuns.get());
+        advance(1000);
+        assertEquals(1, numRuns.get());
+    }
+
+    @Test
+    void testAfterWithoutDelay() {
+        AtomicInteger numRuns = new AtomicInteger();
+        run(numRuns::incrementAndGet).after(0);
+        assertEquals(1, numRuns.get());
+    }
+
+    @Test
+    void testLongDelayCascadesDownToFinerWheels() {
+        // Exceeds the interval of the first wheel level (640 ms)
+        AtomicInteger numRuns = new AtomicInteger();
+        run(numRuns::incrementAndGet).after(1000);
+        advance(990);
+        assertEquals(0, numRuns.get());
+        advance(10);
+        assertEquals(1, numRuns.get());
+    }
+
+    @Test
+    void testRepeated() {
+        AtomicInteger numRuns = new AtomicInteger();
+        Scheduler scheduler = run(numRuns::incrementAndGet).repeated(20, 3);
+        advance(40);
+        assertEquals(2, numRuns.get());
+        advance(500);
+        assertEquals(3, numRuns.get());
+        assertEquals(3, scheduler.getCounter());
+    }
+
+    @Test
+    void testPeriodicallyAndStop() {
+        AtomicInteger numRuns = new AtomicInteger();
+        Scheduler scheduler = run(numRuns::incrementAndGet).periodically(20);
+        advance(60);
+        assertEquals(3, numRuns.get());
+
+        scheduler.stop();
+        advance(200);
+        assertEquals(3, numRuns.get());
+    }
+
+    @Test
+    void testStopBeforeExecution() {
+        AtomicInteger numRuns = new AtomicInteger();
+        Scheduler scheduler = run(numRuns::incrementAndGet).after(50);
+        scheduler.stop();
+        advance(200);
+        assertEquals(0, numRuns.get());
+
+        // A stopped scheduler does not accept new tasks
+        scheduler.after(10);
+        advance(100);
+        assertEquals(0, numRuns.get());
+    }
+
+    @Test
+    void testName() {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        String previousName = Thread.currentThread().getName();
+        run(() -> threadName.set(Thread.currentThread().getName())).name("SchedulerTest.testName").after(10);
+        advance(10);
+        assertEquals("SchedulerTest.testName", threadName.get());
+        assertEquals(previousName, Thread.currentThread().getName());
+    }
+
+    @Test
+    void testLongTaskDoesNotDelayOthers() throws InterruptedException {
+        ExecutorService pool = Executors.newCachedThreadPool();
+        SharedTimer timer = new SharedTimer(pool, nanoTime::get, false);
+        try {
+            CountDownLatch blockingTaskLatch = new CountDownLatch(1);
+            new Scheduler(() -> {
+                try {
+                    blockingTaskLatch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ignore) {
+                }
+            }, timer).after(0);
+
+            int numTasks = 100;
+            CountDownLatch latch = new CountDownLatch(numTasks);
+            for (int i = 0; i < numTasks; i++) {
+                new Scheduler(latch::countDown, timer).after(10 + i);
+            }
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(10 + numTasks));
+            timer.dispatchExpiredTimeouts();
+            assertTrue(latch.await(2, TimeUnit.SECONDS));
+            blockingTaskLatch.countDown();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecutionOrder() {
+        List<Integer> result = new ArrayList<>();
+        run(() -> result.add(3)).after(300);
+        run(() -> result.add(1)).after(50);
+        run(() -> result.add(2)).after(150);
+        // A single jump of the clock dispatches the expired timeouts in the order of their expiration
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        timer.dispatchExpiredTimeouts();
+        assertEquals(List.of(1, 2, 3), result);
+    }
+
+    @Test
+    void testRejectedDispatchRunsOnCurrentThread() {
+        ExecutorService rejectingDispatcher = Executors.newSingleThreadExecutor();
+        rejectingDispatcher.shutdown();
+        SharedTimer timer = new SharedTimer(rejectingDispatcher, nanoTime::get, false);
+        AtomicInteger numRuns = new AtomicInteger();
+        new Scheduler(numRuns::incrementAndGet, timer).periodically(20);
+        for (int i = 1; i <= 5; i++) {
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(20));
+            timer.dispatchExpiredTimeouts();
+            // The periodic chain is not interrupted by the rejections
+            assertEquals(i, numRuns.get());
+        }
+    }
+
+    private Scheduler run(Runnable task) {
+        return new Scheduler(task, timer);
+    }
+
+    private void advance(long ms) {
+        for (long i = 0; i < ms; i += SharedTimer.TICK_MS) {
+            nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(SharedTimer.TICK_MS));
+            timer.dispatchExpiredTimeouts();
+        }
+    }
+}
@@ -27,48 +27,67 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 @Slf4j
 public class Res {
-    private static final List<ResourceBundle> bundles = new ArrayList<>();
+    private static final List<String> BUNDLE_NAMES = List.of("default",
+            "application",
+            "chat",
+            "trade_apps",
+            "bisq_easy",
+            "academy",
+            "user",
+            "authorized_role",
+            "payment_method",
+            "wallet",
+            "settings");
+    private static final int MAX_MESSAGE_FORMAT_CACHE_SIZE = 1000;
+
+    // Flattened content of all bundles, built at setLanguage. If a key exists in multiple bundles the first bundle
+    // wins, as it was the case when we looked up the bundles in order.
+    private static volatile Map<String, String> stringByKey = Map.of();
+    private static volatile boolean isLanguageSet;
+
+    // Parsing the MessageFormat pattern is the expensive part of formatting, so we cache the parsed instances.
+    // MessageFormat is not thread safe, thus we synchronize on the instance when formatting.
+    private static final Map<String, MessageFormat> messageFormatByPattern = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, MessageFormat> eldest) {
+                    return size() > MAX_MESSAGE_FORMAT_CACHE_SIZE;
+                }
+            });
 
     public static void setLanguage(String languageCode) {
         Locale locale = Locale.forLanguageTag(languageCode);
-        bundles.clear();
-        bundles.addAll(List.of(
-                ResourceBundle.getBundle("default", locale),
-                ResourceBundle.getBundle("application", locale),
-                ResourceBundle.getBundle("chat", locale),
-                ResourceBundle.getBundle("trade_apps", locale),
-                ResourceBundle.getBundle("bisq_easy", locale),
-                ResourceBundle.getBundle("academy", locale),
-                ResourceBundle.getBundle("user", locale),
-                ResourceBundle.getBundle("authorized_role", locale),
-                ResourceBundle.getBundle("payment_method", locale),
-                ResourceBundle.getBundle("wallet", locale),
-                ResourceBundle.getBundle("settings", locale)
-        ));
+        Map<String, String> map = new HashMap<>();
+        BUNDLE_NAMES.forEach(bundleName -> {
+            ResourceBundle bundle = ResourceBundle.getBundle(bundleName, locale);
+            // keySet contains the keys of the parent bundles as well
+            bundle.keySet().forEach(key -> map.putIfAbsent(key, bundle.getString(key)));
+        });
+        stringByKey = Collections.unmodifiableMap(map);
+        // The MessageFormat instances use the default locale at creation time, which might have changed as well
+        messageFormatByPattern.clear();
+        isLanguageSet = true;
     }
 
     public static String get(String key, Object... arguments) {
-        return MessageFormat.format(get(key), arguments);
+        String pattern = get(key);
+        MessageFormat messageFormat = messageFormatByPattern.computeIfAbsent(pattern, MessageFormat::new);
+        synchronized (messageFormat) {
+            return messageFormat.format(arguments);
+        }
     }
 
     public static String get(String key) {
-        checkArgument(!bundles.isEmpty(), "Res.get cannot be called as bundles is still empty. key=" + key);
-        try {
-            return bundles.stream()
-                    .filter(bundle -> bundle.containsKey(key))
-                    .map(bundle -> bundle.getString(key))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        log.error("Missing resource for key: {}", key);
-                        if (DevMode.isDevMode()) {
-                            return "MISSING: " + key;
-                        } else {
-                            return "[" + key + "!]";
-                        }
-                    });
-        } catch (MissingResourceException e) {
-            log.warn("Missing resource for key: " + key, e);
-            return "[" + key + "!!!]";
+        checkArgument(isLanguageSet, "Res.get cannot be called as bundles is still empty. key=%s", key);
+        String value = stringByKey.get(key);
+        if (value != null) {
+            return value;
+        }
+        log.error("Missing resource for key: {}", key);
+        if (DevMode.isDevMode()) {
+            return "MISSING: " + key;
+        } else {
+            return "[" + key + "!]";
         }
     }
 
@@ -99,7 +118,7 @@ public class Res {
     }
 
     public static boolean has(String key) {
-        return bundles.stream().anyMatch(bundle -> bundle.containsKey(key));
+        return stringByKey.containsKey(key);
     }
 }
 
@@ -0,0 +1,94 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.i18n;
+
+import bisq.common.application.DevMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResTest {
+    private static final List<String> BUNDLE_NAMES = List.of("default", "application", "chat", "trade_apps",
+            "bisq_easy", "academy", "user", "authorized_role", "payment_method", "wallet", "settings");
+
+    @AfterEach
+    void tearDown() {
+        DevMode.setDevMode(false);
+        Res.setLanguage("en");
+    }
+
+    @Test
+    void testSameValuesAsBundleLookup() {
+        for (String languageCode : List.of("en", "de", "es", "pt-BR")) {
+            Res.setLanguage(languageCode);
+            List<ResourceBundle> bundles = getBundles(languageCode);
+            bundles.stream()
+                    .flatMap(bundle -> bundle.keySet().stream())
+                    .distinct()
+                    .forEach(key -> {
+                        String expected = bundles.stream()
+                                .filter(bundle -> bundle.containsKey(key))
+                                .map(bundle -> bundle.getString(key))
+                                .findFirst()
+                                .orElseThrow();
+                        assertEquals(expected, Res.get(key), key);
+                        assertTrue(Res.has(key));
+                    });
+        }
+    }
+
+    @Test
+    void testFormatWithArguments() {
+        Res.setLanguage("en");
+        String pattern = Res.get("action.goTo");
+        assertEquals(MessageFormat.format(pattern, "Settings"), Res.get("action.goTo", "Settings"));
+        // Cached MessageFormat gets used with other arguments
+        assertEquals(MessageFormat.format(pattern, "Chat"), Res.get("action.goTo", "Chat"));
+        assertEquals(MessageFormat.format(pattern, 1234), Res.get("action.goTo", 1234));
+
+        Res.setLanguage("de");
+        assertEquals(MessageFormat.format(Res.get("action.goTo"), "Chat"), Res.get("action.goTo", "Chat"));
+    }
+
+    @Test
+    void testMissingKey() {
+        Res.setLanguage("en");
+        assertFalse(Res.has("not.existing.key"));
+        assertEquals("[not.existing.key!]", Res.get("not.existing.key"));
+        assertEquals("[not.existing.key!]", Res.get("not.existing.key", "argument"));
+
+        DevMode.setDevMode(true);
+        assertEquals("MISSING: not.existing.key", Res.get("not.existing.key"));
+    }
+
+    private static List<ResourceBundle> getBundles(String languageCode) {
+        Locale locale = Locale.forLanguageTag(languageCode);
+        return BUNDLE_NAMES.stream()
+                .map(bundleName -> ResourceBundle.getBundle(bundleName, locale))
+                .collect(Collectors.toList());
+    }
+}
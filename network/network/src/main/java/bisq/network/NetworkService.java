@@ -20,6 +20,7 @@ package bisq.network;
 
 import bisq.common.application.Service;
 import bisq.common.observable.Observable;
+import bisq.common.observable.Pin;
 import bisq.common.observable.map.ObservableHashMap;
 import bisq.common.threading.ExecutorFactory;
 import bisq.common.util.CompletableFutureUtils;
@@ -375,6 +376,11 @@ public class NetworkService implements PersistenceClient<NetworkServiceStore>, S
         dataService.orElseThrow().removeListener(listener);
     }
 
+    public <T extends DistributedData> Pin subscribeToAuthenticatedData(Class<T> dataClass,
+                                                                       DataService.Subscriber<T> subscriber) {
+        return dataService.orElseThrow().subscribeToAuthenticatedData(dataClass, subscriber);
+    }
+
     public void addConfidentialMessageListener(ConfidentialMessageService.Listener listener) {
         serviceNodesByTransport.addConfidentialMessageListener(listener);
     }
@@ -33,6 +33,7 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -57,6 +58,7 @@ public class ClearNetHttpClient extends BaseHttpClient {
             hasPendingRequest = false;
             return CompletableFuture.completedFuture(true);
         }
+        ExecutorService executor = ExecutorFactory.newSingleThreadExecutor("ClearNetHttpClient-shutdown");
         CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
                     try {
                         if (connection != null) {
@@ -73,13 +75,15 @@ public class ClearNetHttpClient extends BaseHttpClient {
                         log.error("Error at shutdown {}", ExceptionUtil.getMessageOrToString(e));
                         return false;
                     }
-                }, ExecutorFactory.newSingleThreadExecutor("ClearNetHttpClient-shutdown"))
+                }, executor)
                 .orTimeout(500, TimeUnit.MILLISECONDS)
                 .whenComplete((result, throwable) -> {
                     if (throwable != null) {
                         log.warn("Error at shutdown: {}", ExceptionUtil.getMessageOrToString(throwable));
                     }
                 });
+        // The executor terminates once the task has completed
+        executor.shutdown();
         connection = null;
         return future;
     }
@@ -43,6 +43,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -68,6 +69,7 @@ public class TorHttpClient extends BaseHttpClient {
             return CompletableFuture.completedFuture(true);
         }
 
+        ExecutorService executor = ExecutorFactory.newSingleThreadExecutor("TorHttpClient-shutdown");
         CompletableFuture<Boolean> future = CompletableFuture.supplyAsync(() -> {
                     try {
                         try {
@@ -82,8 +84,10 @@ public class TorHttpClient extends BaseHttpClient {
                         log.error("Error at shutdown", e);
                         return false;
                     }
-                }, ExecutorFactory.newSingleThreadExecutor("TorHttpClient-shutdown"))
+                }, executor)
                 .orTimeout(500, TimeUnit.MILLISECONDS);
+        // The executor terminates once the task has completed
+        executor.shutdown();
         hasPendingRequest = false;
         return future;
     }
@@ -30,7 +30,9 @@ import bisq.network.identity.NetworkId;
 import bisq.network.p2p.message.EnvelopePayloadMessage;
 import bisq.network.p2p.node.authorization.AuthorizationService;
 import bisq.network.p2p.node.authorization.AuthorizationToken;
+import bisq.network.p2p.node.authorization.AuthorizationTokenPreMinter;
 import bisq.network.p2p.node.handshake.ConnectionHandshake;
+import bisq.network.p2p.node.network_load.NetworkLoad;
 import bisq.network.p2p.node.network_load.NetworkLoadSnapshot;
 import bisq.network.p2p.node.transport.ServerSocketResult;
 import bisq.network.p2p.node.transport.TransportService;
@@ -139,6 +141,7 @@ public class Node implements Connection.Handler {
     private final BanList banList;
     private final TransportService transportService;
     private final AuthorizationService authorizationService;
+    private final AuthorizationTokenPreMinter authorizationTokenPreMinter = new AuthorizationTokenPreMinter();
     private final int socketTimeout; // in ms
     private final int devModeDelayInMs; // Only set for clearnet, otherwise it is 0
     private final Set<TransportType> supportedTransportTypes;
@@ -343,11 +346,15 @@ public class Node implements Connection.Handler {
             throw new ConnectionClosedException(connection);
         }
         try {
-            AuthorizationToken token = authorizationService.createToken(envelopePayloadMessage,
-                    connection.getPeersNetworkLoadSnapshot().getCurrentNetworkLoad(),
-                    connection.getPeerAddress().getFullAddress(),
-                    connection.getSentMessageCounter().incrementAndGet(),
-                    connection.getPeersCapability().getFeatures());
+            NetworkLoad peersNetworkLoad = connection.getPeersNetworkLoadSnapshot().getCurrentNetworkLoad();
+            AuthorizationToken token = authorizationTokenPreMinter.take(connection.getId(),
+                            envelopePayloadMessage,
+                            peersNetworkLoad,
+                            connection.getSentMessageCounter().get())
+                    .orElseGet(() -> createToken(envelopePayloadMessage,
+                            peersNetworkLoad,
+                            connection,
+                            connection.getSentMessageCounter().incrementAndGet()));
             maybeSimulateDelay();
             return connection.send(envelopePayloadMessage, token);
         } catch (Exception exception) {
@@ -360,6 +367,33 @@ public class Node implements Connection.Handler {
         }
     }
 
+    /**
+     * Mints the authorization token for a message which will be sent later to that connection in the background.
+     * The message passed to the send method must be equal to the given message for using the pre-minted token.
+     */
+    public void preMintToken(EnvelopePayloadMessage envelopePayloadMessage, Connection connection) {
+        if (connection.isStopped()) {
+            return;
+        }
+        NetworkLoad peersNetworkLoad = connection.getPeersNetworkLoadSnapshot().getCurrentNetworkLoad();
+        authorizationTokenPreMinter.preMint(connection.getId(),
+                envelopePayloadMessage,
+                peersNetworkLoad,
+                () -> connection.getSentMessageCounter().incrementAndGet(),
+                messageCounter -> createToken(envelopePayloadMessage, peersNetworkLoad, connection, messageCounter));
+    }
+
+    private AuthorizationToken createToken(EnvelopePayloadMessage envelopePayloadMessage,
+                                           NetworkLoad peersNetworkLoad,
+                                           Connection connection,
+                                           int messageCounter) {
+        return authorizationService.createToken(envelopePayloadMessage,
+                peersNetworkLoad,
+                connection.getPeerAddress().getFullAddress(),
+                messageCounter,
+                connection.getPeersCapability().getFeatures());
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // Connection
@@ -577,6 +611,8 @@ public class Node implements Connection.Handler {
     public void handleConnectionClosed(Connection connection, CloseReason closeReason) {
         Address peerAddress = connection.getPeerAddress();
         log.debug("Got called onConnectionClosed. connection={}, peerAddress={}", connection, peerAddress);
+        authorizationTokenPreMinter.invalidate(connection.getId());
+        authorizationService.onConnectionClosed(connection.getId());
         boolean wasRemoved = false;
         if (connection instanceof InboundConnection) {
             wasRemoved = inboundConnectionsByAddress.remove(peerAddress) != null;
@@ -637,6 +673,7 @@ public class Node implements Connection.Handler {
         setState(State.STOPPING);
 
         server.ifPresent(Server::shutdown);
+        authorizationTokenPreMinter.shutdown();
         connectionHandshakes.values().forEach(ConnectionHandshake::shutdown);
         Stream<CompletableFuture<Void>> futures = getAllConnections()
                 .map(connection -> closeConnectionGracefullyAsync(connection, CloseReason.SHUTDOWN));
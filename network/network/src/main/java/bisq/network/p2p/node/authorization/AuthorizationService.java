@@ -117,6 +117,10 @@ public class AuthorizationService {
                 myAddress);
     }
 
+    public void onConnectionClosed(String connectionId) {
+        supportedServices.values().forEach(service -> service.onConnectionClosed(connectionId));
+    }
+
     // Get first match with peers feature based on order of myPreferredFilterTypes
     private AuthorizationTokenType selectAuthorizationTokenType(List<Feature> peersFeatures) {
         return selectAuthorizationTokenType(myPreferredAuthorizationTokenTypes, peersFeatures);
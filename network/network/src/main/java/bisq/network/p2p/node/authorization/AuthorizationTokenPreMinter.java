@@ -0,0 +1,199 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.authorization;
+
+import bisq.common.threading.ExecutorFactory;
+import bisq.network.p2p.message.EnvelopePayloadMessage;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * Mints authorization tokens in the background for messages where payload and receiver are known before the
+ * message gets sent (e.g. the next Ping of the keep-alive service). At send time a ready token can be taken without
+ * waiting for the proof of work.
+ * <p>
+ * Minting runs on a single thread and the number of pending tokens is limited, so that pre-minting never uses more
+ * than one core. A pre-minted token is only used if the peer's network load is still the one used for minting, as
+ * otherwise the difficulty would not match the expected one anymore. Tokens which are not ready or outdated are
+ * discarded and the caller has to mint a new token.
+ * <p>
+ * The message counter of a token is assigned at minting time. If many messages get sent on the connection before the
+ * pre-minted token is used, its counter falls behind the peer's window of accepted message counters and the peer
+ * would reject the message. Therefore, a pre-minted token is discarded as well if the connection's message counter
+ * has advanced by more than MAX_MESSAGE_COUNTER_ADVANCE since minting.
+ */
+@Slf4j
+public class AuthorizationTokenPreMinter {
+    public static final int MAX_PENDING_TOKENS = 100;
+    // Well below the window size of 1024 counters the receiver accepts (see MessageCounterWindow), so that concurrent
+    // sends can still be reordered without the pre-minted token getting rejected.
+    public static final int MAX_MESSAGE_COUNTER_ADVANCE = 256;
+
+    @Getter
+    private static final class PreMintedToken {
+        private final AuthorizationToken authorizationToken;
+        private final NetworkLoad networkLoad;
+        private final int messageCounter;
+
+        private PreMintedToken(AuthorizationToken authorizationToken, NetworkLoad networkLoad, int messageCounter) {
+            this.authorizationToken = authorizationToken;
+            this.networkLoad = networkLoad;
+            this.messageCounter = messageCounter;
+        }
+    }
+
+    private final ExecutorService executor;
+    private final Map<String, Map<EnvelopePayloadMessage, CompletableFuture<PreMintedToken>>> tokensByConnectionId = new ConcurrentHashMap<>();
+    private final AtomicInteger numPendingTokens = new AtomicInteger();
+    private volatile boolean isShutdown;
+
+    public AuthorizationTokenPreMinter() {
+        this(ExecutorFactory.newSingleThreadExecutor("AuthorizationTokenPreMinter"));
+    }
+
+    @VisibleForTesting
+    AuthorizationTokenPreMinter(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param connectionId       The ID of the connection the message will be sent to
+     * @param message            The message which will be sent. Must be equal to the message passed later to the take method.
+     * @param networkLoad        The peer's network load used for minting the token
+     * @param nextMessageCounter Provides the connection's next message counter. Gets called on the pre-minting thread.
+     * @param tokenFactory       Creates the token for the given message counter. Gets called on the pre-minting thread.
+     */
+    public void preMint(String connectionId,
+                        EnvelopePayloadMessage message,
+                        NetworkLoad networkLoad,
+                        IntSupplier nextMessageCounter,
+                        IntFunction<AuthorizationToken> tokenFactory) {
+        if (isShutdown) {
+            return;
+        }
+        if (numPendingTokens.get() >= MAX_PENDING_TOKENS) {
+            log.debug("We have already {} pending tokens. We skip pre-minting for {}",
+                    MAX_PENDING_TOKENS, message.getClass().getSimpleName());
+            return;
+        }
+        Map<EnvelopePayloadMessage, CompletableFuture<PreMintedToken>> tokens = tokensByConnectionId.computeIfAbsent(connectionId,
+                key -> new ConcurrentHashMap<>());
+        // The future gets added before minting starts, so that a failed future cannot be added after its cleanup
+        CompletableFuture<PreMintedToken> future = new CompletableFuture<>();
+        if (tokens.putIfAbsent(message, future) != null) {
+            return;
+        }
+        numPendingTokens.incrementAndGet();
+        future.whenComplete((token, throwable) -> {
+            if (throwable != null) {
+                if (!(throwable instanceof CancellationException)) {
+                    log.warn("Pre-minting token for {} failed", message.getClass().getSimpleName(), throwable);
+                }
+                tokens.remove(message, future);
+                numPendingTokens.decrementAndGet();
+            }
+        });
+        try {
+            executor.execute(() -> {
+                // Tokens which got cancelled before minting has started are not minted
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    int messageCounter = nextMessageCounter.getAsInt();
+                    future.complete(new PreMintedToken(tokenFactory.apply(messageCounter), networkLoad, messageCounter));
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Executor got shut down in the meantime
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * @param currentMessageCounter The connection's last used message counter
+     * @return The pre-minted token for that message if minting has completed, if it was minted with the
+     * currentNetworkLoad of the peer and if its message counter is not outdated. Otherwise, an empty Optional.
+     */
+    public Optional<AuthorizationToken> take(String connectionId,
+                                             EnvelopePayloadMessage message,
+                                             NetworkLoad currentNetworkLoad,
+                                             int currentMessageCounter) {
+        Map<EnvelopePayloadMessage, CompletableFuture<PreMintedToken>> tokens = tokensByConnectionId.get(connectionId);
+        if (tokens == null) {
+            return Optional.empty();
+        }
+        CompletableFuture<PreMintedToken> future = tokens.remove(message);
+        if (future == null) {
+            return Optional.empty();
+        }
+        if (!future.isDone()) {
+            // If minting has started already it will complete, but we don't use the token.
+            future.cancel(false);
+        }
+        if (future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        numPendingTokens.decrementAndGet();
+        PreMintedToken preMintedToken = future.join();
+        if (!preMintedToken.getNetworkLoad().equals(currentNetworkLoad)) {
+            log.debug("Network load has changed since the token for {} was pre-minted. We discard the token.",
+                    message.getClass().getSimpleName());
+            return Optional.empty();
+        }
+        if (currentMessageCounter - preMintedToken.getMessageCounter() > MAX_MESSAGE_COUNTER_ADVANCE) {
+            log.debug("{} messages have been sent since the token for {} was pre-minted. We discard the token.",
+                    currentMessageCounter - preMintedToken.getMessageCounter(), message.getClass().getSimpleName());
+            return Optional.empty();
+        }
+        return Optional.of(preMintedToken.getAuthorizationToken());
+    }
+
+    public void invalidate(String connectionId) {
+        Map<EnvelopePayloadMessage, CompletableFuture<PreMintedToken>> tokens = tokensByConnectionId.remove(connectionId);
+        if (tokens != null) {
+            tokens.values().forEach(future -> {
+                future.cancel(false);
+                if (!future.isCompletedExceptionally()) {
+                    numPendingTokens.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    public void shutdown() {
+        isShutdown = true;
+        tokensByConnectionId.keySet().forEach(this::invalidate);
+        ExecutorFactory.shutdownAndAwaitTermination(executor);
+    }
+}
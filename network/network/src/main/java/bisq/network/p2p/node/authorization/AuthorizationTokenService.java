@@ -20,4 +20,8 @@ public abstract class AuthorizationTokenService<T extends AuthorizationToken> {
                                          Optional<NetworkLoad> previousNetworkLoad,
                                          String connectionId,
                                          String myAddress);
+
+    // Called when the connection or handshake with the given ID is closed, to release any per-connection state
+    public void onConnectionClosed(String connectionId) {
+    }
 }
@@ -1,6 +1,7 @@
 package bisq.network.p2p.node.authorization.token.hash_cash;
 
 import bisq.common.application.DevMode;
+import bisq.common.data.Histogram;
 import bisq.common.encoding.Hex;
 import bisq.common.util.ByteArrayUtils;
 import bisq.common.util.MathUtils;
@@ -17,9 +18,11 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigInteger;
-import java.util.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.DoubleAdder;
 
 @Slf4j
 public class HashCashTokenService extends AuthorizationTokenService<HashCashToken> {
@@ -32,13 +35,10 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
 
     private final HashCashProofOfWorkService proofOfWorkService;
     // Keep track of message counter per connection to avoid reuse of pow
-    private final Map<String, Set<Integer>> receivedMessageCountersByConnectionId = new ConcurrentHashMap<>();
+    private final Map<String, MessageCounterWindow> receivedMessageCountersByConnectionId = new ConcurrentHashMap<>();
     @Getter
-    private double accumulatedPoWDuration;
-    @Getter
-    private final List<Long> aggregatedPoWDuration = new CopyOnWriteArrayList<>();
-    @Getter
-    private final List<Double> aggregatedNetworkLoadValues = new CopyOnWriteArrayList<>();
+    private final Histogram powDurationHistogram = new Histogram();
+    private final DoubleAdder accumulatedNetworkLoad = new DoubleAdder();
 
     public HashCashTokenService(HashCashProofOfWorkService proofOfWorkService) {
         this.proofOfWorkService = proofOfWorkService;
@@ -56,27 +56,23 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
         ProofOfWork proofOfWork = proofOfWorkService.mint(payload, challenge, difficulty);
         HashCashToken token = new HashCashToken(proofOfWork, messageCounter);
         long duration = System.currentTimeMillis() - ts;
-        accumulatedPoWDuration += duration;
-        aggregatedPoWDuration.add(duration);
-        aggregatedNetworkLoadValues.add(networkLoad.getLoad());
-        int size = aggregatedPoWDuration.size();
-        if (size % 100 == 0) {
-            double averageTimePerMessage = MathUtils.roundDouble(aggregatedPoWDuration.stream().mapToLong(e -> e).average().orElse(0D), 2);
-            double accDuration = MathUtils.roundDouble(accumulatedPoWDuration / 1000, 2);
-            double averageLoad = MathUtils.roundDouble(aggregatedNetworkLoadValues.stream().mapToDouble(e -> e).average().orElse(0D), 4);
+        accumulatedNetworkLoad.add(networkLoad.getLoad());
+        long numMessages = powDurationHistogram.record(duration);
+        if (numMessages % 100 == 0) {
+            double averageTimePerMessage = MathUtils.roundDouble(powDurationHistogram.getMean(), 2);
+            double accDuration = MathUtils.roundDouble(powDurationHistogram.getSum() / 1000d, 2);
+            double averageLoad = MathUtils.roundDouble(accumulatedNetworkLoad.sum() / numMessages, 4);
             if (averageTimePerMessage > 1000) {
                 log.warn("Average time/message used for PoW is very high");
             } else if (averageTimePerMessage > 300) {
                 log.warn("Average time/message used for PoW is higher as expected");
             }
-            log.info("Total time used for PoW: {} sec; Average time/message used for PoW: {} ms; Average network load value: {}; Number of messages: {}",
-                    accDuration, averageTimePerMessage, averageLoad, size
+            log.info("Total time used for PoW: {} sec; Average time/message used for PoW: {} ms; " +
+                            "Median: {} ms; 99th percentile: {} ms; Average network load value: {}; Number of messages: {}",
+                    accDuration, averageTimePerMessage,
+                    powDurationHistogram.getValueAtPercentile(50), powDurationHistogram.getValueAtPercentile(99),
+                    averageLoad, numMessages
             );
-            if (aggregatedPoWDuration.size() > 100_000) {
-                log.warn("aggregatedPoWDuration is getting too large. We clear the list.");
-                aggregatedPoWDuration.clear();
-                aggregatedNetworkLoadValues.clear();
-            }
         }
         log.debug("Create HashCashToken for {} took {} ms" +
                         "\ncostFactor={}" +
@@ -104,18 +100,13 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
         int messageCounter = hashCashToken.getMessageCounter();
 
         // Verify that pow is not reused
-        Set<Integer> receivedMessageCounters;
-        if (receivedMessageCountersByConnectionId.containsKey(connectionId)) {
-            receivedMessageCounters = receivedMessageCountersByConnectionId.get(connectionId);
-            if (receivedMessageCounters.contains(messageCounter)) {
-                log.warn("Invalid receivedMessageCounters. We received the proofOfWork for that message already.");
-                return false;
-            }
-        } else {
-            receivedMessageCounters = new HashSet<>();
-            receivedMessageCountersByConnectionId.put(connectionId, receivedMessageCounters);
+        MessageCounterWindow receivedMessageCounters = receivedMessageCountersByConnectionId.computeIfAbsent(connectionId,
+                key -> new MessageCounterWindow());
+        if (!receivedMessageCounters.tryAccept(messageCounter)) {
+            log.warn("Invalid receivedMessageCounters. We received the proofOfWork for that message already " +
+                    "or the message counter is older than the accepted window.");
+            return false;
         }
-        receivedMessageCounters.add(messageCounter);
 
         // Verify payload
         byte[] payload = getPayload(message);
@@ -141,6 +132,11 @@ public class HashCashTokenService extends AuthorizationTokenService<HashCashToke
         return proofOfWorkService.verify(proofOfWork);
     }
 
+    @Override
+    public void onConnectionClosed(String connectionId) {
+        receivedMessageCountersByConnectionId.remove(connectionId);
+    }
+
     // We check the difficulty used for the proof of work if it matches the current network load or if available the
     // previous network load. If the difference is inside a tolerance range we consider it still valid, but it should
     // be investigated why that happens, thus we log those cases.
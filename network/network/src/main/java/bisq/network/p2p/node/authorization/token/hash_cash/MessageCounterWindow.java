@@ -0,0 +1,97 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.authorization.token.hash_cash;
+
+import java.util.Arrays;
+
+/**
+ * Sliding window over the message counters received on a connection, used for detecting reused proof of work.
+ * Like the anti-replay window of IPsec, it keeps the highest received counter and a bitmap of the WINDOW_SIZE
+ * counters below it. Counters can arrive out of order as long as they are inside the window. Counters which are
+ * older than the window are rejected, as we cannot tell anymore if they have been used already.
+ * Memory usage is constant, independent of the number of received messages.
+ */
+final class MessageCounterWindow {
+    static final int WINDOW_SIZE = 1024;
+    private static final int NUM_WORDS = WINDOW_SIZE / Long.SIZE;
+
+    // Bit at (counter mod WINDOW_SIZE) is set if counter has been received
+    private final long[] bitmap = new long[NUM_WORDS];
+    private long highestCounter;
+    private boolean isEmpty = true;
+
+    MessageCounterWindow() {
+    }
+
+    /**
+     * @return True if the counter has not been received before and is not older than the window. The counter is
+     * marked as received in that case.
+     */
+    synchronized boolean tryAccept(int messageCounter) {
+        long counter = messageCounter;
+        if (isEmpty) {
+            isEmpty = false;
+            highestCounter = counter;
+            setBit(counter);
+            return true;
+        }
+
+        if (counter > highestCounter) {
+            long shift = counter - highestCounter;
+            if (shift >= WINDOW_SIZE) {
+                Arrays.fill(bitmap, 0);
+            } else {
+                // Clear the bits of the counters which are now inside the window but have not been received
+                for (long c = highestCounter + 1; c < counter; c++) {
+                    clearBit(c);
+                }
+            }
+            highestCounter = counter;
+            setBit(counter);
+            return true;
+        }
+
+        if (highestCounter - counter >= WINDOW_SIZE) {
+            return false;
+        }
+        if (isBitSet(counter)) {
+            return false;
+        }
+        setBit(counter);
+        return true;
+    }
+
+    private void setBit(long counter) {
+        int bit = toBitIndex(counter);
+        bitmap[bit >>> 6] |= 1L << (bit & 63);
+    }
+
+    private void clearBit(long counter) {
+        int bit = toBitIndex(counter);
+        bitmap[bit >>> 6] &= ~(1L << (bit & 63));
+    }
+
+    private boolean isBitSet(long counter) {
+        int bit = toBitIndex(counter);
+        return (bitmap[bit >>> 6] & (1L << (bit & 63))) != 0;
+    }
+
+    private static int toBitIndex(long counter) {
+        return (int) Math.floorMod(counter, (long) WINDOW_SIZE);
+    }
+}
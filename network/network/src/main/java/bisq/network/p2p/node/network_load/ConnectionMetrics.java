@@ -17,33 +17,42 @@
 
 package bisq.network.p2p.node.network_load;
 
+import bisq.common.data.Histogram;
 import bisq.common.util.ClassUtils;
 import bisq.network.p2p.message.NetworkEnvelope;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Per minute metrics are kept for the last hour in fixed size ring buffers and RTT values in a histogram, so that
+ * the memory usage does not grow with the age of the connection.
+ */
 @Slf4j
-@Getter
 @ToString
 public class ConnectionMetrics {
+    @Getter
     private final long created;
+    @Getter
     private final AtomicLong lastUpdate = new AtomicLong();
-    private final TreeMap<Integer, AtomicLong> numMessagesSentPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> sentBytesPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> spentSendMessageTimePerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> deserializeTimePerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> numMessagesReceivedPerMinute = new TreeMap<>();
-    private final TreeMap<Integer, AtomicLong> receivedBytesPerMinute = new TreeMap<>();
-    private final Map<String, AtomicLong> numSentMessagesByMessageClassName = new HashMap<>();
-    private final Map<String, AtomicLong> numReceivedMessagesByMessageClassName = new HashMap<>();
-
-    private final AtomicLong numMessagesReceived = new AtomicLong();
-    private final List<Long> rrtList = new CopyOnWriteArrayList<>();
+    private final RollingMinuteCounter numMessagesSentPerMinute = new RollingMinuteCounter();
+    private final RollingMinuteCounter sentBytesPerMinute = new RollingMinuteCounter();
+    private final RollingMinuteCounter spentSendMessageTimePerMinute = new RollingMinuteCounter();
+    private final RollingMinuteCounter deserializeTimePerMinute = new RollingMinuteCounter();
+    private final RollingMinuteCounter numMessagesReceivedPerMinute = new RollingMinuteCounter();
+    private final RollingMinuteCounter receivedBytesPerMinute = new RollingMinuteCounter();
+    // The number of message classes is bounded, so we do not need to trim those maps
+    @Getter
+    private final Map<String, AtomicLong> numSentMessagesByMessageClassName = new ConcurrentHashMap<>();
+    @Getter
+    private final Map<String, AtomicLong> numReceivedMessagesByMessageClassName = new ConcurrentHashMap<>();
+    @Getter
+    private final Histogram rttHistogram = new Histogram();
 
     public ConnectionMetrics() {
         created = System.currentTimeMillis();
@@ -61,70 +70,56 @@ public class ConnectionMetrics {
         long now = System.currentTimeMillis();
         lastUpdate.set(now);
 
-        int ageInMinutes = getAgeInMinutes(now);
-        sentBytesPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        sentBytesPerMinute.get(ageInMinutes).getAndAdd(networkEnvelope.getSerializedSize());
-
-        numMessagesSentPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        numMessagesSentPerMinute.get(ageInMinutes).incrementAndGet();
-
-        spentSendMessageTimePerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        spentSendMessageTimePerMinute.get(ageInMinutes).getAndAdd(spentTime);
+        sentBytesPerMinute.add(now, networkEnvelope.getSerializedSize());
+        numMessagesSentPerMinute.add(now, 1);
+        spentSendMessageTimePerMinute.add(now, spentTime);
 
         String name = ClassUtils.getClassName(networkEnvelope.getEnvelopePayloadMessage().getClass());
-        numSentMessagesByMessageClassName.putIfAbsent(name, new AtomicLong());
-        numSentMessagesByMessageClassName.get(name).getAndIncrement();
+        numSentMessagesByMessageClassName.computeIfAbsent(name, key -> new AtomicLong()).getAndIncrement();
     }
 
     public void onReceived(NetworkEnvelope networkEnvelope, long deserializeTime) {
         long now = System.currentTimeMillis();
         lastUpdate.set(now);
 
-        int ageInMinutes = getAgeInMinutes(now);
-        receivedBytesPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        receivedBytesPerMinute.get(ageInMinutes).getAndAdd(networkEnvelope.getSerializedSize());
-
-        numMessagesReceivedPerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        numMessagesReceivedPerMinute.get(ageInMinutes).incrementAndGet();
-
-        deserializeTimePerMinute.putIfAbsent(ageInMinutes, new AtomicLong());
-        deserializeTimePerMinute.get(ageInMinutes).getAndAdd(deserializeTime);
+        receivedBytesPerMinute.add(now, networkEnvelope.getSerializedSize());
+        numMessagesReceivedPerMinute.add(now, 1);
+        deserializeTimePerMinute.add(now, deserializeTime);
 
         String name = ClassUtils.getClassName(networkEnvelope.getEnvelopePayloadMessage().getClass());
-        numReceivedMessagesByMessageClassName.putIfAbsent(name, new AtomicLong());
-        numReceivedMessagesByMessageClassName.get(name).getAndIncrement();
+        numReceivedMessagesByMessageClassName.computeIfAbsent(name, key -> new AtomicLong()).getAndIncrement();
     }
 
     public void addRtt(long value) {
-        this.rrtList.add(value);
+        rttHistogram.record(value);
     }
 
     public double getAverageRtt() {
-        return rrtList.stream().mapToLong(e -> e).average().orElse(0d);
+        return rttHistogram.getMean();
     }
 
     public long getSentBytes() {
-        return sumOf(sentBytesPerMinute);
+        return sentBytesPerMinute.getTotal();
     }
 
     public long getNumMessagesSent() {
-        return sumOf(numMessagesSentPerMinute);
+        return numMessagesSentPerMinute.getTotal();
     }
 
     public long getSpentSendMessageTimePerMinute() {
-        return sumOf(spentSendMessageTimePerMinute);
+        return spentSendMessageTimePerMinute.getTotal();
     }
 
     public long getReceivedBytes() {
-        return sumOf(receivedBytesPerMinute);
+        return receivedBytesPerMinute.getTotal();
     }
 
     public long getNumMessagesReceived() {
-        return sumOf(numMessagesReceivedPerMinute);
+        return numMessagesReceivedPerMinute.getTotal();
     }
 
     public long getDeserializeTimePerMinute() {
-        return sumOf(deserializeTimePerMinute);
+        return deserializeTimePerMinute.getTotal();
     }
 
     public long getNumMessagesSentOfLastHour() {
@@ -151,42 +146,28 @@ public class ConnectionMetrics {
         return getNumMessagesReceivedOfLastMinutes(60);
     }
 
+    // lastMinutes is capped at 60 minutes
     public long getNumMessagesSentOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(numMessagesSentPerMinute, lastMinutes);
+        return numMessagesSentPerMinute.getSumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getSentBytesOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(sentBytesPerMinute, lastMinutes);
+        return sentBytesPerMinute.getSumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getSpentSendMessageTimeOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(spentSendMessageTimePerMinute, lastMinutes);
+        return spentSendMessageTimePerMinute.getSumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getNumMessagesReceivedOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(numMessagesReceivedPerMinute, lastMinutes);
+        return numMessagesReceivedPerMinute.getSumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getReceivedBytesOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(receivedBytesPerMinute, lastMinutes);
+        return receivedBytesPerMinute.getSumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
 
     public long getDeserializeTimeOfLastMinutes(int lastMinutes) {
-        return sumOfLastMinute(deserializeTimePerMinute, lastMinutes);
-    }
-
-    private long sumOf(TreeMap<Integer, AtomicLong> treeMap) {
-        return treeMap.values().stream().mapToLong(AtomicLong::get).sum();
-    }
-
-    private long sumOfLastMinute(TreeMap<Integer, AtomicLong> treeMap, int lastMinutes) {
-        // The Treemap returns the values in ascending order of the corresponding keys.
-        int from = Math.max(0, treeMap.size() - lastMinutes);
-        List<AtomicLong> list = new ArrayList<>(treeMap.values()).subList(from, treeMap.size());
-        return list.stream().mapToLong(AtomicLong::get).sum();
-    }
-
-    private int getAgeInMinutes(long now) {
-        return (int) (now - created) / 60000;
+        return deserializeTimePerMinute.getSumOfLastMinutes(System.currentTimeMillis(), lastMinutes);
     }
-}
\ No newline at end of file
+}
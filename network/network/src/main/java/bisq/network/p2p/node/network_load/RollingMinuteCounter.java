@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import java.util.Arrays;
+
+/**
+ * Sums up values per minute in a ring buffer covering the last hour, so that the memory usage is constant
+ * independent of the age of the connection. Besides the windowed sums we keep the total of all added values.
+ * The sum of the whole window is maintained incrementally, thus reading it does not require iterating the buckets.
+ */
+class RollingMinuteCounter {
+    static final int NUM_MINUTES = 60;
+    private static final long MINUTE_IN_MS = 60_000;
+
+    private final long[] buckets = new long[NUM_MINUTES];
+    private long currentMinute;
+    private long windowSum;
+    private long total;
+
+    synchronized void add(long now, long value) {
+        long minute = advance(now);
+        buckets[toIndex(minute)] += value;
+        windowSum += value;
+        total += value;
+    }
+
+    /**
+     * @param lastMinutes Number of minutes including the current minute. Values larger than {@link #NUM_MINUTES}
+     *                    are capped.
+     */
+    synchronized long getSumOfLastMinutes(long now, int lastMinutes) {
+        long minute = advance(now);
+        if (lastMinutes >= NUM_MINUTES) {
+            return windowSum;
+        }
+        long sum = 0;
+        for (int i = 0; i < lastMinutes; i++) {
+            sum += buckets[toIndex(minute - i)];
+        }
+        return sum;
+    }
+
+    synchronized long getTotal() {
+        return total;
+    }
+
+    // Clears the buckets of the minutes which have passed since the last update. If the clock went backwards, we
+    // continue to use the current bucket.
+    private long advance(long now) {
+        long minute = now / MINUTE_IN_MS;
+        long elapsed = minute - currentMinute;
+        if (elapsed <= 0) {
+            return currentMinute;
+        }
+        if (elapsed >= NUM_MINUTES) {
+            Arrays.fill(buckets, 0);
+            windowSum = 0;
+        } else {
+            for (long i = 1; i <= elapsed; i++) {
+                int index = toIndex(currentMinute + i);
+                windowSum -= buckets[index];
+                buckets[index] = 0;
+            }
+        }
+        currentMinute = minute;
+        return minute;
+    }
+
+    private static int toIndex(long minute) {
+        return (int) Math.floorMod(minute, (long) NUM_MINUTES);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "RollingMinuteCounter{windowSum=" + windowSum + ", total=" + total + "}";
+    }
+}
@@ -38,6 +38,7 @@ import bisq.network.p2p.services.data.storage.mailbox.MailboxData;
 import bisq.network.p2p.services.data.storage.mailbox.MailboxMessage;
 import bisq.security.ConfidentialData;
 import bisq.security.HybridEncryption;
+import bisq.security.SharedSecretCache;
 import bisq.security.keys.KeyBundleService;
 import bisq.security.keys.KeyGeneration;
 import bisq.security.keys.PubKey;
@@ -70,6 +71,7 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
     private final Optional<MessageDeliveryStatusService> messageDeliveryStatusService;
     private final Optional<ResendMessageService> resendMessageService;
     private final Set<Listener> listeners = new CopyOnWriteArraySet<>();
+    private final SharedSecretCache sharedSecretCache = new SharedSecretCache();
 
     public ConfidentialMessageService(NodesById nodesById,
                                       KeyBundleService keyBundleService,
@@ -90,6 +92,7 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
         nodesById.removeNodeListener(this);
         dataService.ifPresent(service -> service.removeListener(this));
         listeners.clear();
+        sharedSecretCache.clear();
     }
 
 
@@ -273,7 +276,10 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
 
     private ConfidentialMessage getConfidentialMessage(EnvelopePayloadMessage envelopePayloadMessage, PubKey receiverPubKey, KeyPair senderKeyPair) {
         try {
-            ConfidentialData confidentialData = HybridEncryption.encryptAndSign(envelopePayloadMessage.serialize(), receiverPubKey.getPublicKey(), senderKeyPair);
+            ConfidentialData confidentialData = HybridEncryption.encryptAndSign(envelopePayloadMessage.serialize(),
+                    receiverPubKey.getPublicKey(),
+                    senderKeyPair,
+                    Optional.of(sharedSecretCache));
             return new ConfidentialMessage(confidentialData, receiverPubKey.getKeyId());
         } catch (GeneralSecurityException e) {
             log.error("HybridEncryption.encryptAndSign failed at getConfidentialMessage.", e);
@@ -287,7 +293,7 @@ public class ConfidentialMessageService implements Node.Listener, DataService.Li
                     try {
                         log.info("Found a matching key for processing confidentialMessage");
                         ConfidentialData confidentialData = confidentialMessage.getConfidentialData();
-                        byte[] decryptedBytes = HybridEncryption.decryptAndVerify(confidentialData, receiversKeyPair);
+                        byte[] decryptedBytes = HybridEncryption.decryptAndVerify(confidentialData, receiversKeyPair, Optional.of(sharedSecretCache));
                         bisq.network.protobuf.EnvelopePayloadMessage decryptedProto = bisq.network.protobuf.EnvelopePayloadMessage.parseFrom(decryptedBytes);
                         EnvelopePayloadMessage decryptedEnvelopePayloadMessage = EnvelopePayloadMessage.fromProto(decryptedProto);
                         PublicKey senderPublicKey = KeyGeneration.generatePublic(confidentialData.getSenderPublicKey());
@@ -0,0 +1,96 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data;
+
+import bisq.common.observable.Pin;
+import bisq.network.p2p.services.data.storage.DistributedData;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Subscribers of authenticated data by the class of the distributed data. Dispatching an added or removed entry costs
+ * a single map lookup, independent of the number of subscribers for other classes.
+ * The class has to match exactly, subscribing to a super class or interface does not deliver the subclasses.
+ */
+@Slf4j
+final class AuthenticatedDataSubscriptions {
+    private final Map<Class<? extends DistributedData>, Set<DataService.Subscriber<?>>> subscribersByClass = new ConcurrentHashMap<>();
+
+    <T extends DistributedData> Pin add(Class<T> dataClass, DataService.Subscriber<T> subscriber) {
+        subscribersByClass.computeIfAbsent(dataClass, key -> new CopyOnWriteArraySet<>()).add(subscriber);
+        return () -> remove(dataClass, subscriber);
+    }
+
+    void remove(Class<? extends DistributedData> dataClass, DataService.Subscriber<?> subscriber) {
+        subscribersByClass.computeIfPresent(dataClass, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    void clear() {
+        subscribersByClass.clear();
+    }
+
+    boolean hasSubscribers(Class<? extends DistributedData> dataClass) {
+        return subscribersByClass.containsKey(dataClass);
+    }
+
+    void onAdded(DistributedData distributedData) {
+        Set<DataService.Subscriber<?>> subscribers = subscribersByClass.get(distributedData.getClass());
+        if (subscribers == null) {
+            return;
+        }
+        subscribers.forEach(subscriber -> {
+            try {
+                onAdded(subscriber, distributedData);
+            } catch (Exception e) {
+                log.error("Calling onAdded at subscriber {} failed", subscriber, e);
+            }
+        });
+    }
+
+    void onRemoved(DistributedData distributedData) {
+        Set<DataService.Subscriber<?>> subscribers = subscribersByClass.get(distributedData.getClass());
+        if (subscribers == null) {
+            return;
+        }
+        subscribers.forEach(subscriber -> {
+            try {
+                onRemoved(subscriber, distributedData);
+            } catch (Exception e) {
+                log.error("Calling onRemoved at subscriber {} failed", subscriber, e);
+            }
+        });
+    }
+
+    // Subscribers are only stored under the class they have been added for, so the cast is safe
+    @SuppressWarnings("unchecked")
+    private static <T extends DistributedData> void onAdded(DataService.Subscriber<T> subscriber, DistributedData distributedData) {
+        subscriber.onAdded((T) distributedData);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends DistributedData> void onRemoved(DataService.Subscriber<T> subscriber, DistributedData distributedData) {
+        subscriber.onRemoved((T) distributedData);
+    }
+}
@@ -17,8 +17,10 @@
 
 package bisq.network.p2p.services.data;
 
+import bisq.common.observable.Pin;
 import bisq.network.p2p.services.data.broadcast.Broadcaster;
 import bisq.network.p2p.services.data.storage.DataStorageResult;
+import bisq.network.p2p.services.data.storage.DistributedData;
 import bisq.network.p2p.services.data.storage.StorageData;
 import bisq.network.p2p.services.data.storage.StorageService;
 import bisq.network.p2p.services.data.storage.append.AddAppendOnlyDataRequest;
@@ -72,9 +74,20 @@ public class DataService implements StorageService.Listener {
         }
     }
 
+    /**
+     * Receives the distributed data of added and removed authenticated data of the class it got subscribed for.
+     */
+    public interface Subscriber<T extends DistributedData> {
+        void onAdded(T distributedData);
+
+        default void onRemoved(T distributedData) {
+        }
+    }
+
     @Getter
     private final StorageService storageService;
     private final Set<DataService.Listener> listeners = new CopyOnWriteArraySet<>();
+    private final AuthenticatedDataSubscriptions subscriptions = new AuthenticatedDataSubscriptions();
     private final Set<Broadcaster> broadcasters = new CopyOnWriteArraySet<>();
 
     public DataService(PersistenceService persistenceService) {
@@ -85,6 +98,7 @@ public class DataService implements StorageService.Listener {
     public void shutdown() {
         storageService.removeListener(this);
         listeners.clear();
+        subscriptions.clear();
         broadcasters.clear();
         storageService.shutdown();
     }
@@ -96,6 +110,10 @@ public class DataService implements StorageService.Listener {
 
     @Override
     public void onAdded(StorageData storageData) {
+        if (storageData instanceof AuthenticatedData) {
+            subscriptions.onAdded(((AuthenticatedData) storageData).getDistributedData());
+        }
+
         if (storageData instanceof AuthorizedData) {
             listeners.forEach(listener -> {
                 try {
@@ -133,6 +151,10 @@ public class DataService implements StorageService.Listener {
 
     @Override
     public void onRemoved(StorageData storageData) {
+        if (storageData instanceof AuthenticatedData) {
+            subscriptions.onRemoved(((AuthenticatedData) storageData).getDistributedData());
+        }
+
         if (storageData instanceof AuthorizedData) {
             listeners.forEach(listener -> {
                 try {
@@ -179,6 +201,17 @@ public class DataService implements StorageService.Listener {
         return storageService.getAuthenticatedData(storeName);
     }
 
+    /**
+     * Uses the store of the given class instead of iterating all authenticated data. The store key is the simple
+     * class name as used by the MetaData of the distributed data.
+     */
+    public <T extends DistributedData> Stream<T> getAuthenticatedDistributedData(Class<T> dataClass) {
+        return storageService.getAuthenticatedData(dataClass.getSimpleName())
+                .map(AuthenticatedData::getDistributedData)
+                .filter(dataClass::isInstance)
+                .map(dataClass::cast);
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////////////
     // Add data
@@ -301,6 +334,23 @@ public class DataService implements StorageService.Listener {
         listeners.remove(listener);
     }
 
+    /**
+     * Subscribes to added and removed authenticated data of the given class. The existing data of that class is
+     * delivered to the subscriber's onAdded method before this method returns. Data added concurrently might get
+     * delivered twice, so subscribers need to handle duplicates.
+     */
+    public <T extends DistributedData> Pin subscribeToAuthenticatedData(Class<T> dataClass, Subscriber<T> subscriber) {
+        Pin pin = subscriptions.add(dataClass, subscriber);
+        getAuthenticatedDistributedData(dataClass).forEach(distributedData -> {
+            try {
+                subscriber.onAdded(distributedData);
+            } catch (Exception e) {
+                log.error("Calling onAdded at subscriber {} failed", subscriber, e);
+            }
+        });
+        return pin;
+    }
+
     public void addBroadcaster(Broadcaster broadcaster) {
         broadcasters.add(broadcaster);
     }
@@ -26,7 +26,6 @@ import bisq.network.p2p.node.Node;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Random;
 import java.util.concurrent.CompletableFuture;
 
 import static java.util.concurrent.CompletableFuture.supplyAsync;
@@ -40,11 +39,11 @@ class KeepAliveHandler implements Connection.Listener {
     private final int nonce;
     private long requestTs;
 
-    KeepAliveHandler(Node node, Connection connection) {
+    KeepAliveHandler(Node node, Connection connection, int nonce) {
         this.node = node;
         this.connection = connection;
+        this.nonce = nonce;
 
-        nonce = new Random().nextInt();
         connection.addListener(this);
     }
 
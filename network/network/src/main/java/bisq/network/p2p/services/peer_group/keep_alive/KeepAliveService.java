@@ -30,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
@@ -62,6 +63,8 @@ public class KeepAliveService implements Node.Listener {
     private final Node node;
     private final Config config;
     private final Map<String, KeepAliveHandler> requestHandlerMap = new ConcurrentHashMap<>();
+    // The next Ping per connection ID, for which the authorization token gets pre-minted
+    private final Map<String, Ping> nextPingByConnectionId = new ConcurrentHashMap<>();
     private Optional<Scheduler> scheduler = Optional.empty();
 
     public KeepAliveService(Node node, Config config) {
@@ -80,6 +83,7 @@ public class KeepAliveService implements Node.Listener {
         scheduler.ifPresent(Scheduler::stop);
         requestHandlerMap.values().forEach(KeepAliveHandler::dispose);
         requestHandlerMap.clear();
+        nextPingByConnectionId.clear();
     }
 
     public void sendPing(Connection connection) {
@@ -91,11 +95,18 @@ public class KeepAliveService implements Node.Listener {
                     key, connection);
             return;
         }
-        KeepAliveHandler handler = new KeepAliveHandler(node, connection);
+        Ping ping = Optional.ofNullable(nextPingByConnectionId.remove(key))
+                .orElseGet(KeepAliveService::createPing);
+        KeepAliveHandler handler = new KeepAliveHandler(node, connection, ping.getNonce());
         requestHandlerMap.put(key, handler);
         handler.request()
                 .orTimeout(config.getTimeout(), TimeUnit.MILLISECONDS)
-                .whenComplete((nil, throwable) -> requestHandlerMap.remove(key));
+                .whenComplete((nil, throwable) -> {
+                    requestHandlerMap.remove(key);
+                    if (throwable == null) {
+                        preMintNextPing(connection);
+                    }
+                });
     }
 
     @Override
@@ -110,11 +121,13 @@ public class KeepAliveService implements Node.Listener {
 
     @Override
     public void onConnection(Connection connection) {
+        preMintNextPing(connection);
     }
 
     @Override
     public void onDisconnect(Connection connection, CloseReason closeReason) {
         String key = connection.getId();
+        nextPingByConnectionId.remove(key);
         if (requestHandlerMap.containsKey(key)) {
             requestHandlerMap.get(key).dispose();
             requestHandlerMap.remove(key);
@@ -127,6 +140,20 @@ public class KeepAliveService implements Node.Listener {
                 .forEach(this::sendPing);
     }
 
+    // The Ping only carries a random nonce, thus we can create it in advance and let the node mint the
+    // authorization token in the background. Sending the Ping does not need to wait for the PoW then.
+    private void preMintNextPing(Connection connection) {
+        if (connection.isRunning()) {
+            Ping ping = createPing();
+            nextPingByConnectionId.put(connection.getId(), ping);
+            node.preMintToken(ping, connection);
+        }
+    }
+
+    private static Ping createPing() {
+        return new Ping(new Random().nextInt());
+    }
+
     private boolean isRequired(Connection connection) {
         return System.currentTimeMillis() - connection.getConnectionMetrics().getLastUpdate().get() > config.getMaxIdleTime();
     }
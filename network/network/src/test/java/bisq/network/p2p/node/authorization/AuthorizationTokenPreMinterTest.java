@@ -0,0 +1,175 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.authorization;
+
+import bisq.network.common.Address;
+import bisq.network.p2p.node.Feature;
+import bisq.network.p2p.node.network_load.NetworkLoad;
+import bisq.network.p2p.services.peer_group.keep_alive.Ping;
+import bisq.security.pow.equihash.EquihashProofOfWorkService;
+import bisq.security.pow.hashcash.HashCashProofOfWorkService;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AuthorizationTokenPreMinterTest {
+    private final AuthorizationService authorizationService = new AuthorizationService(new AuthorizationService.Config(List.of(AuthorizationTokenType.HASH_CASH)),
+            new HashCashProofOfWorkService(),
+            new EquihashProofOfWorkService(),
+            Set.of(Feature.AUTHORIZATION_HASH_CASH));
+    // Tokens get minted synchronously at the preMint call
+    private final AuthorizationTokenPreMinter preMinter = new AuthorizationTokenPreMinter(MoreExecutors.newDirectExecutorService());
+    private final AtomicInteger messageCounter = new AtomicInteger();
+    private final String peerAddress = Address.localHost(1234).getFullAddress();
+
+    @AfterEach
+    public void tearDown() {
+        preMinter.shutdown();
+    }
+
+    @Test
+    public void takePreMintedToken() {
+        NetworkLoad networkLoad = new NetworkLoad();
+        Ping ping = new Ping(1);
+        preMint(ping, networkLoad);
+
+        // Different message or connection has no token
+        assertTrue(take("connectionId", new Ping(2), networkLoad).isEmpty());
+        assertTrue(take("otherConnectionId", ping, networkLoad).isEmpty());
+
+        Optional<AuthorizationToken> token = take("connectionId", new Ping(1), networkLoad);
+        assertTrue(token.isPresent());
+        assertTrue(authorizationService.isAuthorized(ping, token.get(), networkLoad, "peersConnectionId", peerAddress));
+
+        // Token can be taken only once
+        assertTrue(take("connectionId", ping, networkLoad).isEmpty());
+    }
+
+    @Test
+    public void discardTokenIfNetworkLoadChanged() {
+        NetworkLoad networkLoad = new NetworkLoad();
+        Ping ping = new Ping(1);
+        preMint(ping, networkLoad);
+
+        assertTrue(take("connectionId", ping, new NetworkLoad(0.5, 2)).isEmpty());
+    }
+
+    @Test
+    public void failedMintingDoesNotBlockPreMinting() {
+        NetworkLoad networkLoad = new NetworkLoad();
+        Ping ping = new Ping(1);
+        // Minting completes synchronously, so the future has failed already when preMint returns
+        preMinter.preMint("connectionId", ping, networkLoad, messageCounter::incrementAndGet, counter -> {
+            throw new IllegalStateException("Expected");
+        });
+
+        preMint(ping, networkLoad);
+        Optional<AuthorizationToken> token = take("connectionId", ping, networkLoad);
+        assertTrue(token.isPresent());
+        assertTrue(authorizationService.isAuthorized(ping, token.get(), networkLoad, "peersConnectionId", peerAddress));
+    }
+
+    @Test
+    public void invalidate() {
+        NetworkLoad networkLoad = new NetworkLoad();
+        Ping ping = new Ping(1);
+        preMint(ping, networkLoad);
+
+        preMinter.invalidate("connectionId");
+        assertFalse(take("connectionId", ping, networkLoad).isPresent());
+    }
+
+    @Test
+    public void limitNumPendingTokens() {
+        NetworkLoad networkLoad = new NetworkLoad();
+        for (int i = 0; i < AuthorizationTokenPreMinter.MAX_PENDING_TOKENS + 10; i++) {
+            Ping ping = new Ping(i);
+            preMint(ping, networkLoad);
+        }
+
+        assertEquals(AuthorizationTokenPreMinter.MAX_PENDING_TOKENS, messageCounter.get());
+
+        long numTokens = 0;
+        for (int i = 0; i < AuthorizationTokenPreMinter.MAX_PENDING_TOKENS + 10; i++) {
+            if (take("connectionId", new Ping(i), networkLoad).isPresent()) {
+                numTokens++;
+            }
+        }
+        assertEquals(AuthorizationTokenPreMinter.MAX_PENDING_TOKENS, numTokens);
+    }
+
+    @Test
+    public void discardTokenIfMessageCounterIsOutdated() {
+        NetworkLoad networkLoad = new NetworkLoad();
+        Ping ping = new Ping(0);
+        preMint(ping, networkLoad);
+
+        // More messages than the receiver's window of message counters get sent before the Ping
+        for (int i = 1; i <= 1100; i++) {
+            Ping message = new Ping(i);
+            AuthorizationToken token = createToken(message, networkLoad, messageCounter.incrementAndGet());
+            assertTrue(authorizationService.isAuthorized(message, token, networkLoad, "peersConnectionId", peerAddress));
+        }
+
+        // A token with the counter used at pre-minting is outside the receiver's window
+        assertFalse(authorizationService.isAuthorized(ping, createToken(ping, networkLoad, 1), networkLoad, "peersConnectionId", peerAddress));
+        assertTrue(take("connectionId", ping, networkLoad).isEmpty());
+
+        // Sender mints a new token at send time, which gets accepted by the receiver
+        AuthorizationToken token = createToken(ping, networkLoad, messageCounter.incrementAndGet());
+        assertTrue(authorizationService.isAuthorized(ping, token, networkLoad, "peersConnectionId", peerAddress));
+    }
+
+    @Test
+    public void keepTokenIfMessageCounterAdvancedWithinLimit() {
+        NetworkLoad networkLoad = new NetworkLoad();
+        Ping ping = new Ping(0);
+        preMint(ping, networkLoad);
+
+        messageCounter.addAndGet(AuthorizationTokenPreMinter.MAX_MESSAGE_COUNTER_ADVANCE);
+        Optional<AuthorizationToken> token = take("connectionId", ping, networkLoad);
+        assertTrue(token.isPresent());
+        assertTrue(authorizationService.isAuthorized(ping, token.get(), networkLoad, "peersConnectionId", peerAddress));
+    }
+
+    private void preMint(Ping ping, NetworkLoad networkLoad) {
+        preMinter.preMint("connectionId",
+                ping,
+                networkLoad,
+                messageCounter::incrementAndGet,
+                counter -> createToken(ping, networkLoad, counter));
+    }
+
+    private Optional<AuthorizationToken> take(String connectionId, Ping ping, NetworkLoad networkLoad) {
+        return preMinter.take(connectionId, ping, networkLoad, messageCounter.get());
+    }
+
+    private AuthorizationToken createToken(Ping ping, NetworkLoad networkLoad, int counter) {
+        return authorizationService.createToken(ping, networkLoad, peerAddress, counter, new ArrayList<>());
+    }
+}
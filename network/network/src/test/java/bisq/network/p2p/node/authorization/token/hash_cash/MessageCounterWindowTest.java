@@ -0,0 +1,84 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.authorization.token.hash_cash;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MessageCounterWindowTest {
+    @Test
+    public void rejectReusedCounters() {
+        MessageCounterWindow window = new MessageCounterWindow();
+        for (int i = 1; i <= 5000; i++) {
+            assertTrue(window.tryAccept(i));
+            assertFalse(window.tryAccept(i));
+        }
+        assertFalse(window.tryAccept(4999));
+    }
+
+    @Test
+    public void acceptOutOfOrderCountersInsideWindow() {
+        MessageCounterWindow window = new MessageCounterWindow();
+        assertTrue(window.tryAccept(10));
+        assertTrue(window.tryAccept(12));
+        assertTrue(window.tryAccept(11));
+        assertTrue(window.tryAccept(1));
+        assertFalse(window.tryAccept(11));
+        assertFalse(window.tryAccept(1));
+
+        // Skipped counters inside the window are still accepted after a jump
+        assertTrue(window.tryAccept(500));
+        assertTrue(window.tryAccept(300));
+        assertFalse(window.tryAccept(300));
+        assertFalse(window.tryAccept(12));
+    }
+
+    @Test
+    public void windowRollover() {
+        MessageCounterWindow window = new MessageCounterWindow();
+        assertTrue(window.tryAccept(0));
+        int highest = MessageCounterWindow.WINDOW_SIZE + 100;
+        assertTrue(window.tryAccept(highest));
+
+        // Older than the window
+        assertFalse(window.tryAccept(highest - MessageCounterWindow.WINDOW_SIZE));
+        assertFalse(window.tryAccept(50));
+
+        // Oldest counter inside the window, which maps to a bit used before the jump
+        assertTrue(window.tryAccept(highest - MessageCounterWindow.WINDOW_SIZE + 1));
+
+        // Large jump clears the whole window
+        int next = highest + 10 * MessageCounterWindow.WINDOW_SIZE;
+        assertTrue(window.tryAccept(next));
+        assertTrue(window.tryAccept(next - 1));
+        assertTrue(window.tryAccept(next - MessageCounterWindow.WINDOW_SIZE + 1));
+        assertFalse(window.tryAccept(next - MessageCounterWindow.WINDOW_SIZE));
+    }
+
+    @Test
+    public void negativeCounters() {
+        MessageCounterWindow window = new MessageCounterWindow();
+        assertTrue(window.tryAccept(-5));
+        assertTrue(window.tryAccept(-6));
+        assertFalse(window.tryAccept(-5));
+        assertTrue(window.tryAccept(3));
+        assertFalse(window.tryAccept(-6));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.node.network_load;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RollingMinuteCounterTest {
+    private static final long MINUTE = 60_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void sumsValuesOfCurrentMinute() {
+        RollingMinuteCounter counter = new RollingMinuteCounter();
+        assertEquals(0, counter.getSumOfLastMinutes(START, 60));
+
+        counter.add(START, 10);
+        counter.add(START + 1000, 5);
+        assertEquals(15, counter.getSumOfLastMinutes(START + 2000, 1));
+        assertEquals(15, counter.getSumOfLastMinutes(START + 2000, 60));
+        assertEquals(15, counter.getTotal());
+        assertEquals(0, counter.getSumOfLastMinutes(START + 2000, 0));
+    }
+
+    @Test
+    void sumsValuesOfLastMinutes() {
+        RollingMinuteCounter counter = new RollingMinuteCounter();
+        for (int i = 0; i < 10; i++) {
+            counter.add(START + i * MINUTE, i + 1);
+        }
+        long now = START + 9 * MINUTE;
+        assertEquals(10, counter.getSumOfLastMinutes(now, 1));
+        assertEquals(10 + 9 + 8, counter.getSumOfLastMinutes(now, 3));
+        assertEquals(55, counter.getSumOfLastMinutes(now, 60));
+        assertEquals(55, counter.getSumOfLastMinutes(now, 1000));
+    }
+
+    @Test
+    void rollsOverWindow() {
+        RollingMinuteCounter counter = new RollingMinuteCounter();
+        for (int i = 0; i < 150; i++) {
+            counter.add(START + i * MINUTE, 1);
+        }
+        long now = START + 149 * MINUTE;
+        assertEquals(60, counter.getSumOfLastMinutes(now, 60));
+        assertEquals(150, counter.getTotal());
+
+        // Time passes without new values
+        assertEquals(50, counter.getSumOfLastMinutes(now + 10 * MINUTE, 60));
+        assertEquals(0, counter.getSumOfLastMinutes(now + 10 * MINUTE, 10));
+        assertEquals(1, counter.getSumOfLastMinutes(now + 59 * MINUTE, 60));
+        assertEquals(0, counter.getSumOfLastMinutes(now + 60 * MINUTE, 60));
+        assertEquals(150, counter.getTotal());
+
+        // Gap larger than the window
+        counter.add(now + 1000 * MINUTE, 7);
+        assertEquals(7, counter.getSumOfLastMinutes(now + 1000 * MINUTE, 60));
+        assertEquals(157, counter.getTotal());
+    }
+
+    @Test
+    void keepsCurrentBucketIfClockGoesBackwards() {
+        RollingMinuteCounter counter = new RollingMinuteCounter();
+        counter.add(START + 5 * MINUTE, 3);
+        counter.add(START, 4);
+        assertEquals(7, counter.getSumOfLastMinutes(START + 5 * MINUTE, 1));
+        assertEquals(7, counter.getSumOfLastMinutes(START, 60));
+    }
+}
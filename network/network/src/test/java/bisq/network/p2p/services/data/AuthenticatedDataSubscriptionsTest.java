@@ -0,0 +1,153 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.services.data;
+
+import bisq.common.observable.Pin;
+import bisq.network.p2p.services.data.storage.DistributedData;
+import bisq.network.p2p.services.data.storage.MetaData;
+import com.google.protobuf.Message;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticatedDataSubscriptionsTest {
+    @Test
+    void deliversOnlySubscribedClass() {
+        AuthenticatedDataSubscriptions subscriptions = new AuthenticatedDataSubscriptions();
+        RecordingSubscriber<DataA> subscriberA = new RecordingSubscriber<>();
+        RecordingSubscriber<DataB> subscriberB = new RecordingSubscriber<>();
+        subscriptions.add(DataA.class, subscriberA);
+        subscriptions.add(DataB.class, subscriberB);
+
+        DataA dataA = new DataA();
+        DataB dataB = new DataB();
+        subscriptions.onAdded(dataA);
+        subscriptions.onAdded(dataB);
+        subscriptions.onRemoved(dataA);
+        subscriptions.onAdded(new DataC());
+
+        assertEquals(List.of(dataA), subscriberA.added);
+        assertEquals(List.of(dataA), subscriberA.removed);
+        assertEquals(List.of(dataB), subscriberB.added);
+        assertTrue(subscriberB.removed.isEmpty());
+    }
+
+    @Test
+    void subclassesAreNotDeliveredToSuperclassSubscribers() {
+        AuthenticatedDataSubscriptions subscriptions = new AuthenticatedDataSubscriptions();
+        RecordingSubscriber<DataA> subscriberA = new RecordingSubscriber<>();
+        subscriptions.add(DataA.class, subscriberA);
+
+        subscriptions.onAdded(new SubDataA());
+
+        assertTrue(subscriberA.added.isEmpty());
+    }
+
+    @Test
+    void unbindRemovesSubscriber() {
+        AuthenticatedDataSubscriptions subscriptions = new AuthenticatedDataSubscriptions();
+        RecordingSubscriber<DataA> subscriber1 = new RecordingSubscriber<>();
+        RecordingSubscriber<DataA> subscriber2 = new RecordingSubscriber<>();
+        Pin pin1 = subscriptions.add(DataA.class, subscriber1);
+        Pin pin2 = subscriptions.add(DataA.class, subscriber2);
+
+        pin1.unbind();
+        subscriptions.onAdded(new DataA());
+        assertTrue(subscriber1.added.isEmpty());
+        assertEquals(1, subscriber2.added.size());
+        assertTrue(subscriptions.hasSubscribers(DataA.class));
+
+        pin2.unbind();
+        assertFalse(subscriptions.hasSubscribers(DataA.class));
+    }
+
+    @Test
+    void failingSubscriberDoesNotAffectOthers() {
+        AuthenticatedDataSubscriptions subscriptions = new AuthenticatedDataSubscriptions();
+        RecordingSubscriber<DataA> subscriber = new RecordingSubscriber<>();
+        subscriptions.add(DataA.class, data -> {
+            throw new RuntimeException("Test");
+        });
+        subscriptions.add(DataA.class, subscriber);
+
+        subscriptions.onAdded(new DataA());
+
+        assertEquals(1, subscriber.added.size());
+    }
+
+    private static class RecordingSubscriber<T extends DistributedData> implements DataService.Subscriber<T> {
+        private final List<T> added = new ArrayList<>();
+        private final List<T> removed = new ArrayList<>();
+
+        @Override
+        public void onAdded(T distributedData) {
+            added.add(distributedData);
+        }
+
+        @Override
+        public void onRemoved(T distributedData) {
+            removed.add(distributedData);
+        }
+    }
+
+    private static abstract class TestData implements DistributedData {
+        @Override
+        public MetaData getMetaData() {
+            return new MetaData(getClass().getSimpleName());
+        }
+
+        @Override
+        public boolean isDataInvalid(byte[] pubKeyHash) {
+            return false;
+        }
+
+        @Override
+        public double getCostFactor() {
+            return 0;
+        }
+
+        @Override
+        public void verify() {
+        }
+
+        @Override
+        public Message.Builder getBuilder(boolean serializeForHash) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Message toProto(boolean serializeForHash) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static class DataA extends TestData {
+    }
+
+    private static class SubDataA extends DataA {
+    }
+
+    private static final class DataB extends TestData {
+    }
+
+    private static final class DataC extends TestData {
+    }
+}
@@ -24,6 +24,7 @@ import javax.crypto.SecretKey;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.PublicKey;
+import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -39,8 +40,20 @@ public class HybridEncryption {
 
     public static ConfidentialData encryptAndSign(byte[] message, PublicKey receiverPublicKey, KeyPair senderKeyPair)
             throws GeneralSecurityException {
+        return encryptAndSign(message, receiverPublicKey, senderKeyPair, Optional.empty());
+    }
+
+    /**
+     * @param sharedSecretCache If present, the shared secret is taken from or added to the cache. The iv is still
+     *                          created randomly for each message.
+     */
+    public static ConfidentialData encryptAndSign(byte[] message,
+                                                  PublicKey receiverPublicKey,
+                                                  KeyPair senderKeyPair,
+                                                  Optional<SharedSecretCache> sharedSecretCache)
+            throws GeneralSecurityException {
         // Create shared secret with our private key and receivers public key
-        SecretKey sharedAesSecretKey = AesGcm.generateSharedAesSecretKey(senderKeyPair.getPrivate(), receiverPublicKey);
+        SecretKey sharedAesSecretKey = getSharedAesSecretKey(senderKeyPair, receiverPublicKey, sharedSecretCache);
 
         byte[] iv = AesGcm.generateIv().getIV();
         byte[] cipherText = AesGcm.encrypt(sharedAesSecretKey, iv, message);
@@ -51,6 +64,12 @@ public class HybridEncryption {
     }
 
     public static byte[] decryptAndVerify(ConfidentialData confidentialData, KeyPair receiversKeyPair) throws GeneralSecurityException {
+        return decryptAndVerify(confidentialData, receiversKeyPair, Optional.empty());
+    }
+
+    public static byte[] decryptAndVerify(ConfidentialData confidentialData,
+                                          KeyPair receiversKeyPair,
+                                          Optional<SharedSecretCache> sharedSecretCache) throws GeneralSecurityException {
         byte[] encodedSenderPublicKey = confidentialData.getSenderPublicKey();
         byte[] iv = confidentialData.getIv();
         byte[] cipherText = confidentialData.getCipherText();
@@ -60,7 +79,16 @@ public class HybridEncryption {
         checkArgument(SignatureUtil.verify(cipherText, signature, senderPublicKey), "Invalid signature");
 
         // Create shared secret with our private key and senders public key
-        SecretKey sharedAesSecretKey = AesGcm.generateSharedAesSecretKey(receiversKeyPair.getPrivate(), senderPublicKey);
+        SecretKey sharedAesSecretKey = getSharedAesSecretKey(receiversKeyPair, senderPublicKey, sharedSecretCache);
         return AesGcm.decrypt(sharedAesSecretKey, iv, cipherText);
     }
+
+    private static SecretKey getSharedAesSecretKey(KeyPair myKeyPair,
+                                                   PublicKey peersPublicKey,
+                                                   Optional<SharedSecretCache> sharedSecretCache) throws GeneralSecurityException {
+        if (sharedSecretCache.isPresent()) {
+            return sharedSecretCache.get().getOrCreateSharedAesSecretKey(myKeyPair, peersPublicKey);
+        }
+        return AesGcm.generateSharedAesSecretKey(myKeyPair.getPrivate(), peersPublicKey);
+    }
 }
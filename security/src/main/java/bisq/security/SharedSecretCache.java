@@ -0,0 +1,130 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security;
+
+import bisq.common.data.ByteArray;
+import bisq.common.data.Pair;
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded and time limited cache of the AES keys derived by ECDH from our key pair and a peer's public key.
+ * Avoids the key agreement for each message exchanged between the same two identities.
+ * <p>
+ * The least recently used entry is evicted if the cache is full, and entries expire after the ttl. The key
+ * material of evicted or expired entries is overwritten with zeros. Callers get a copy of the key material, so an
+ * eviction does not affect a key which is in use.
+ */
+@Slf4j
+public class SharedSecretCache {
+    public static final int DEFAULT_MAX_SIZE = 1000;
+    public static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(30);
+    private static final String AES = "AES";
+
+    private static final class Entry {
+        private final byte[] keyMaterial;
+        private final long expiryDate;
+
+        private Entry(byte[] keyMaterial, long expiryDate) {
+            this.keyMaterial = keyMaterial;
+            this.expiryDate = expiryDate;
+        }
+
+        private void wipe() {
+            Arrays.fill(keyMaterial, (byte) 0);
+        }
+    }
+
+    private final int maxSize;
+    private final long ttl;
+    // Key is the pair of our encoded public key and the peers encoded public key. Access ordered for LRU eviction.
+    private final LinkedHashMap<Pair<ByteArray, ByteArray>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public SharedSecretCache() {
+        this(DEFAULT_MAX_SIZE, DEFAULT_TTL);
+    }
+
+    public SharedSecretCache(int maxSize, long ttl) {
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    public SecretKey getOrCreateSharedAesSecretKey(KeyPair myKeyPair, PublicKey peersPublicKey) throws GeneralSecurityException {
+        Pair<ByteArray, ByteArray> key = new Pair<>(new ByteArray(myKeyPair.getPublic().getEncoded()),
+                new ByteArray(peersPublicKey.getEncoded()));
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiryDate > now) {
+                    return new SecretKeySpec(entry.keyMaterial, AES);
+                }
+                entries.remove(key);
+                entry.wipe();
+            }
+        }
+
+        // We do the key agreement outside the lock. If another thread has added the entry meanwhile we replace it.
+        SecretKey sharedAesSecretKey = AesGcm.generateSharedAesSecretKey(myKeyPair.getPrivate(), peersPublicKey);
+        byte[] keyMaterial = sharedAesSecretKey.getEncoded();
+        synchronized (entries) {
+            Entry previous = entries.put(key, new Entry(keyMaterial, now + ttl));
+            if (previous != null) {
+                previous.wipe();
+            }
+            removeExpiredAndEldestEntries(now);
+            return new SecretKeySpec(keyMaterial, AES);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.values().forEach(Entry::wipe);
+            entries.clear();
+        }
+    }
+
+    @VisibleForTesting
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void removeExpiredAndEldestEntries(long now) {
+        Iterator<Map.Entry<Pair<ByteArray, ByteArray>, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (entries.size() > maxSize || entry.expiryDate <= now) {
+                iterator.remove();
+                entry.wipe();
+            }
+        }
+    }
+}
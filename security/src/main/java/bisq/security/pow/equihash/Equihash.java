@@ -29,6 +29,7 @@ import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -208,6 +209,30 @@ public class Equihash {
             }
         }
 
+        /**
+         * Finds the same solution as {@link #findSolution()}, but partitions the hash table computation, the
+         * bucket sorting and the collision search of each round across the available cores, using primitive
+         * arrays only.
+         */
+        public Solution findSolutionInParallel() {
+            Optional<int[]> inputs;
+            for (int nonce = 0; ; nonce++) {
+                if ((inputs = withHashPrefix(seed, nonce).findInputsInParallel()).isPresent()) {
+                    return new Solution(nonce, inputs.get());
+                }
+            }
+        }
+
+        @VisibleForTesting
+        Optional<int[]> findInputsForNonce(long nonce) {
+            return withHashPrefix(seed, nonce).findInputs();
+        }
+
+        @VisibleForTesting
+        Optional<int[]> findInputsInParallelForNonce(long nonce) {
+            return withHashPrefix(seed, nonce).findInputsInParallel();
+        }
+
         @VisibleForTesting
         int countAllSolutionsForNonce(long nonce) {
             return (int) withHashPrefix(seed, nonce).streamInputsHits()
@@ -254,6 +279,38 @@ public class Equihash {
             return streamInputsHits().findFirst();
         }
 
+        Optional<int[]> findInputsInParallel() {
+            var table = computeAllHashesInParallel();
+            for (int i = 0; i < k; i++) {
+                table = findCollisionsInParallel(table, i + 1 < k);
+            }
+            int[] row = new int[table.rowWidth];
+            for (int i = 0; i < table.numRows; i++) {
+                System.arraycopy(table.values, i * table.rowWidth, row, 0, table.rowWidth);
+                if (hasDistinctValues(row)) {
+                    int[] inputs = sortInputs(row);
+                    if (testDifficultyCondition(inputs)) {
+                        return Optional.of(inputs);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+
+        private IntTable computeAllHashesInParallel() {
+            int rowWidth = k + 2;
+            int[] values = new int[N * rowWidth];
+            IntStream.range(0, N).parallel().forEach(i -> {
+                int[] hash = hashInputs(i);
+                int offset = i * rowWidth;
+                for (int j = 0; j <= k; j++) {
+                    values[offset + j] = hash[j] & (N / 2 - 1);
+                }
+                values[offset + k + 1] = i;
+            });
+            return new IntTable(k + 1, 1, values, N);
+        }
+
         private XorTable computeAllHashes() {
             var tableValues = IntStream.range(0, N).flatMap(i -> {
                 int[] hash = hashInputs(i);
@@ -390,6 +447,141 @@ public class Equihash {
         return new XorTable(newHashWidth, newIndexTupleWidth, newTableValues.build());
     }
 
+    private static class IntTable {
+        private final int hashWidth, indexTupleWidth, rowWidth, numRows;
+        private final int[] values;
+
+        IntTable(int hashWidth, int indexTupleWidth, int[] values, int numRows) {
+            this.hashWidth = hashWidth;
+            this.indexTupleWidth = indexTupleWidth;
+            this.values = values;
+            this.numRows = numRows;
+            rowWidth = hashWidth + indexTupleWidth;
+        }
+    }
+
+    private static class IntArrayBuilder {
+        private int[] values;
+        private int size;
+
+        IntArrayBuilder(int initialCapacity) {
+            values = new int[Math.max(initialCapacity, 16)];
+        }
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(int[] source, int from, int length) {
+            if (size + length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + length));
+            }
+            System.arraycopy(source, from, values, size, length);
+            size += length;
+        }
+    }
+
+    // Same result as findCollisions, including the order of the rows.
+    // The rows get bucket sorted by their first hash block with a stable counting sort, where counting and scattering
+    // is partitioned into chunks of rows processed in parallel. Each row collides with all preceding rows of its
+    // bucket, in the order of their index, which is the order the sequential implementation produces. The new rows
+    // of each chunk are collected separately and concatenated in chunk order.
+    private IntTable findCollisionsInParallel(IntTable table, boolean isPartial) {
+        int newHashWidth = isPartial ? table.hashWidth - 1 : 0;
+        int newIndexTupleWidth = table.indexTupleWidth * 2;
+        int newRowWidth = newHashWidth + newIndexTupleWidth;
+        int numKeys = N / 2;
+        int numRows = table.numRows;
+        int rowWidth = table.rowWidth;
+        int[] values = table.values;
+
+        int numChunks = Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, numRows / 1024));
+        int chunkSize = (numRows + numChunks - 1) / numChunks;
+
+        // Count keys per chunk
+        int[][] countsPerChunk = new int[numChunks][];
+        IntStream.range(0, numChunks).parallel().forEach(chunk -> {
+            int[] counts = new int[numKeys];
+            for (int i = chunk * chunkSize, end = Math.min(numRows, i + chunkSize); i < end; i++) {
+                counts[values[i * rowWidth]]++;
+            }
+            countsPerChunk[chunk] = counts;
+        });
+
+        // Bucket start positions and the start position of each chunk inside a bucket
+        int[] bucketStart = new int[numKeys];
+        for (int key = 0, position = 0; key < numKeys; key++) {
+            bucketStart[key] = position;
+            for (int chunk = 0; chunk < numChunks; chunk++) {
+                int count = countsPerChunk[chunk][key];
+                countsPerChunk[chunk][key] = position;
+                position += count;
+            }
+        }
+
+        // Scatter row indices into buckets and remember the position of each row inside its bucket
+        int[] sortedRows = new int[numRows];
+        int[] positionInBucket = new int[numRows];
+        IntStream.range(0, numChunks).parallel().forEach(chunk -> {
+            int[] positions = countsPerChunk[chunk];
+            for (int i = chunk * chunkSize, end = Math.min(numRows, i + chunkSize); i < end; i++) {
+                int key = values[i * rowWidth];
+                int position = positions[key]++;
+                sortedRows[position] = i;
+                positionInBucket[i] = position - bucketStart[key];
+            }
+        });
+
+        // Collect colliding pairs
+        IntArrayBuilder[] newValuesPerChunk = new IntArrayBuilder[numChunks];
+        IntStream.range(0, numChunks).parallel().forEach(chunk -> {
+            int start = chunk * chunkSize;
+            int end = Math.min(numRows, start + chunkSize);
+            var newValues = new IntArrayBuilder(isPartial ? (end - start) * newRowWidth : 16);
+            for (int i = start; i < end; i++) {
+                int rowOffset = i * rowWidth;
+                int bucketOffset = bucketStart[values[rowOffset]];
+                for (int p = 0; p < positionInBucket[i]; p++) {
+                    int collidingRowOffset = sortedRows[bucketOffset + p] * rowWidth;
+                    if (isPartial) {
+                        for (int j = 1; j < table.hashWidth; j++) {
+                            newValues.add(values[collidingRowOffset + j] ^ values[rowOffset + j]);
+                        }
+                    } else if (!Arrays.equals(values, collidingRowOffset + 1, collidingRowOffset + table.hashWidth,
+                            values, rowOffset + 1, rowOffset + table.hashWidth)) {
+                        continue;
+                    }
+                    newValues.addAll(values, collidingRowOffset + table.hashWidth, table.indexTupleWidth);
+                    newValues.addAll(values, rowOffset + table.hashWidth, table.indexTupleWidth);
+                }
+            }
+            newValuesPerChunk[chunk] = newValues;
+        });
+
+        int size = Arrays.stream(newValuesPerChunk).mapToInt(newValues -> newValues.size).sum();
+        int[] newTableValues = new int[size];
+        for (int chunk = 0, position = 0; chunk < numChunks; chunk++) {
+            IntArrayBuilder newValues = newValuesPerChunk[chunk];
+            System.arraycopy(newValues.values, 0, newTableValues, position, newValues.size);
+            position += newValues.size;
+        }
+        return new IntTable(newHashWidth, newIndexTupleWidth, newTableValues, size / newRowWidth);
+    }
+
+    private static boolean hasDistinctValues(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static int[] sortInputs(int[] inputs) {
         Deque<int[]> sublistStack = new ArrayDeque<>();
         int[] topSublist;
@@ -48,7 +48,7 @@ public class EquihashProofOfWorkService extends ProofOfWorkService {
 
         long ts = System.currentTimeMillis();
         byte[] seed = getSeed(payload, challenge);
-        byte[] solution = new Equihash(90, 5, scaledDifficulty).puzzle(seed).findSolution().serialize();
+        byte[] solution = new Equihash(90, 5, scaledDifficulty).puzzle(seed).findSolutionInParallel().serialize();
         long counter = Longs.fromByteArray(Arrays.copyOf(solution, 8));
         long duration = System.currentTimeMillis() - ts;
         var proofOfWork = new ProofOfWork(payload, counter, challenge, difficulty, solution, duration);
@@ -17,12 +17,14 @@
 
 package bisq.security.pow.hashcash;
 
-import bisq.security.DigestUtil;
 import bisq.security.pow.ProofOfWork;
 import bisq.security.pow.ProofOfWorkService;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.primitives.Longs;
 import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+
+import javax.annotation.Nullable;
 
 import java.nio.charset.StandardCharsets;
 
@@ -43,21 +45,18 @@ public class HashCashProofOfWorkService extends ProofOfWorkService {
                             double difficulty) {
         long ts = System.currentTimeMillis();
         int log2Difficulty = toNumLeadingZeros(difficulty);
-        byte[] hash;
-        long counter = 0;
-        do {
-            hash = toSha256Hash(payload, challenge, ++counter);
-        }
-        while (numberOfLeadingZeros(hash) <= log2Difficulty);
+        long counter = mintCounter(payload, challenge, log2Difficulty);
         byte[] solution = Longs.toByteArray(counter);
         return new ProofOfWork(payload, counter, challenge, difficulty, solution, System.currentTimeMillis() - ts);
     }
 
     @Override
     public boolean verify(ProofOfWork proofOfWork) {
-        byte[] hash = toSha256Hash(proofOfWork.getPayload(),
-                proofOfWork.getChallenge(),
-                proofOfWork.getSolution());
+        SHA256Digest digest = toPrefixDigest(proofOfWork.getPayload(), proofOfWork.getChallenge());
+        byte[] solution = proofOfWork.getSolution();
+        digest.update(solution, 0, solution.length);
+        byte[] hash = new byte[digest.getDigestSize()];
+        digest.doFinal(hash, 0);
         return numberOfLeadingZeros(hash) > toNumLeadingZeros(proofOfWork.getDifficulty());
     }
 
@@ -78,42 +77,54 @@ public class HashCashProofOfWorkService extends ProofOfWorkService {
     @VisibleForTesting
     static int numberOfLeadingZeros(byte[] bytes) {
         int numberOfLeadingZeros = 0;
-        for (int i = 0; i < bytes.length; i++) {
-            numberOfLeadingZeros += numberOfLeadingZeros(bytes[i]);
-            if (numberOfLeadingZeros < 8 * (i + 1)) {
-                break;
+        for (byte value : bytes) {
+            if (value != 0) {
+                return numberOfLeadingZeros + Integer.numberOfLeadingZeros(value & 0xFF) - 24;
             }
+            numberOfLeadingZeros += 8;
         }
         return numberOfLeadingZeros;
     }
 
-    private static byte[] toSha256Hash(byte[] payload, byte[] challenge, long counter) {
-        return toSha256Hash(payload, challenge, Longs.toByteArray(counter));
+    /**
+     * Searches the first counter (starting at 1) for which the hash of payload‖challenge‖counter has more than
+     * log2Difficulty leading zeros.
+     * The digest state of the fixed payload‖challenge prefix is computed once and restored for each attempt, and
+     * the counter is written into a reused buffer, so the inner loop does not allocate.
+     */
+    @VisibleForTesting
+    static long mintCounter(byte[] payload, @Nullable byte[] challenge, int log2Difficulty) {
+        SHA256Digest prefixDigest = toPrefixDigest(payload, challenge);
+        SHA256Digest digest = new SHA256Digest(prefixDigest);
+        byte[] counterBytes = new byte[Long.BYTES];
+        byte[] hash = new byte[digest.getDigestSize()];
+        long counter = 0;
+        do {
+            counter++;
+            writeLong(counter, counterBytes);
+            digest.reset(prefixDigest);
+            digest.update(counterBytes, 0, counterBytes.length);
+            digest.doFinal(hash, 0);
+        }
+        while (numberOfLeadingZeros(hash) <= log2Difficulty);
+        return counter;
     }
 
-    private static byte[] toSha256Hash(byte[] payload, byte[] challenge, byte[] solution) {
-        byte[] preImage = org.bouncycastle.util.Arrays.concatenate(payload,
-                challenge,
-                solution);
-        return DigestUtil.sha256(preImage);
+    private static SHA256Digest toPrefixDigest(byte[] payload, @Nullable byte[] challenge) {
+        SHA256Digest digest = new SHA256Digest();
+        digest.update(payload, 0, payload.length);
+        if (challenge != null) {
+            digest.update(challenge, 0, challenge.length);
+        }
+        return digest;
     }
 
-
-    // Borrowed from Integer.numberOfLeadingZeros and adjusted for byte
-    @VisibleForTesting
-    static int numberOfLeadingZeros(byte i) {
-        if (i <= 0)
-            return i == 0 ? 8 : 0;
-        int n = 7;
-        if (i >= 1 << 4) {
-            n -= 4;
-            i >>>= 4;
-        }
-        if (i >= 1 << 2) {
-            n -= 2;
-            i >>>= 2;
+    // Big-endian, same as Longs.toByteArray
+    private static void writeLong(long value, byte[] bytes) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
         }
-        return n - (i >>> 1);
     }
 
     // round up to nearest power-of-two and take the base-2 log
@@ -19,12 +19,15 @@ package bisq.security;
 
 import bisq.security.keys.KeyGeneration;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import javax.crypto.AEADBadTagException;
 import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.SignatureException;
+import java.util.Arrays;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -128,4 +131,67 @@ public class HybridEncryptionTest {
             assertTrue(e instanceof IllegalArgumentException);
         }
     }
+
+    @Test
+    void testValidEncryptionWithSharedSecretCache() throws GeneralSecurityException {
+        SharedSecretCache senderCache = new SharedSecretCache();
+        SharedSecretCache receiverCache = new SharedSecretCache();
+        byte[] message = "hello".getBytes();
+        ConfidentialData first = HybridEncryption.encryptAndSign(message, keyPairReceiver.getPublic(), keyPairSender, Optional.of(senderCache));
+        ConfidentialData second = HybridEncryption.encryptAndSign(message, keyPairReceiver.getPublic(), keyPairSender, Optional.of(senderCache));
+        assertEquals(1, senderCache.size());
+
+        // Each message still uses its own iv
+        assertFalse(Arrays.equals(first.getIv(), second.getIv()));
+        assertFalse(Arrays.equals(first.getCipherText(), second.getCipherText()));
+
+        assertArrayEquals(message, HybridEncryption.decryptAndVerify(first, keyPairReceiver, Optional.of(receiverCache)));
+        assertArrayEquals(message, HybridEncryption.decryptAndVerify(second, keyPairReceiver, Optional.of(receiverCache)));
+        assertEquals(1, receiverCache.size());
+
+        // Compatible with the non-cached path
+        assertArrayEquals(message, HybridEncryption.decryptAndVerify(first, keyPairReceiver));
+        ConfidentialData uncached = HybridEncryption.encryptAndSign(message, keyPairReceiver.getPublic(), keyPairSender);
+        assertArrayEquals(message, HybridEncryption.decryptAndVerify(uncached, keyPairReceiver, Optional.of(receiverCache)));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void testSharedSecretCacheBenchmark() throws GeneralSecurityException {
+        SharedSecretCache senderCache = new SharedSecretCache();
+        SharedSecretCache receiverCache = new SharedSecretCache();
+        byte[] message = new byte[1000];
+        int numMessages = 200;
+        // Warm up
+        for (int i = 0; i < 20; i++) {
+            ConfidentialData confidentialData = HybridEncryption.encryptAndSign(message, keyPairReceiver.getPublic(), keyPairSender);
+            HybridEncryption.decryptAndVerify(confidentialData, keyPairReceiver);
+            confidentialData = HybridEncryption.encryptAndSign(message, keyPairReceiver.getPublic(), keyPairSender, Optional.of(senderCache));
+            HybridEncryption.decryptAndVerify(confidentialData, keyPairReceiver, Optional.of(receiverCache));
+        }
+
+        long ts = System.currentTimeMillis();
+        for (int i = 0; i < numMessages; i++) {
+            ConfidentialData confidentialData = HybridEncryption.encryptAndSign(message, keyPairReceiver.getPublic(), keyPairSender);
+            HybridEncryption.decryptAndVerify(confidentialData, keyPairReceiver);
+        }
+        double messagesPerSec = numMessages * 1000d / Math.max(1, System.currentTimeMillis() - ts);
+
+        ts = System.currentTimeMillis();
+        for (int i = 0; i < numMessages; i++) {
+            ConfidentialData confidentialData = HybridEncryption.encryptAndSign(message, keyPairReceiver.getPublic(), keyPairSender, Optional.of(senderCache));
+            assertArrayEquals(message, HybridEncryption.decryptAndVerify(confidentialData, keyPairReceiver, Optional.of(receiverCache)));
+        }
+        double cachedMessagesPerSec = numMessages * 1000d / Math.max(1, System.currentTimeMillis() - ts);
+
+        log.info("Encrypt and decrypt of {} messages of 1 kB between a fixed pair of peers: {} messages/sec without cache, " +
+                "{} messages/sec with shared secret cache", numMessages, Math.round(messagesPerSec), Math.round(cachedMessagesPerSec));
+
+        // All messages used the shared secret derived for the single pair of peers
+        assertEquals(1, senderCache.size());
+        assertEquals(1, receiverCache.size());
+        // The cache saves the key agreement, so it must not be slower. We allow a loose factor for timing noise.
+        assertTrue(cachedMessagesPerSec * 2 >= messagesPerSec,
+                "Cached: " + Math.round(cachedMessagesPerSec) + " messages/sec, uncached: " + Math.round(messagesPerSec) + " messages/sec");
+    }
 }
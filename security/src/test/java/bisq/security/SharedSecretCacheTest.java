@@ -0,0 +1,73 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security;
+
+import bisq.security.keys.KeyGeneration;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SharedSecretCacheTest {
+    private final KeyPair myKeyPair = KeyGeneration.generateKeyPair();
+
+    public SharedSecretCacheTest() throws GeneralSecurityException {
+    }
+
+    @Test
+    void sameSecretAsKeyAgreement() throws GeneralSecurityException {
+        SharedSecretCache cache = new SharedSecretCache();
+        KeyPair peersKeyPair = KeyGeneration.generateKeyPair();
+        SecretKey expected = AesGcm.generateSharedAesSecretKey(myKeyPair.getPrivate(), peersKeyPair.getPublic());
+        assertArrayEquals(expected.getEncoded(), cache.getOrCreateSharedAesSecretKey(myKeyPair, peersKeyPair.getPublic()).getEncoded());
+        assertArrayEquals(expected.getEncoded(), cache.getOrCreateSharedAesSecretKey(myKeyPair, peersKeyPair.getPublic()).getEncoded());
+        assertEquals(1, cache.size());
+
+        // Secret handed out earlier is not affected by clearing the cache
+        SecretKey secretKey = cache.getOrCreateSharedAesSecretKey(myKeyPair, peersKeyPair.getPublic());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertArrayEquals(expected.getEncoded(), secretKey.getEncoded());
+    }
+
+    @Test
+    void boundedSize() throws GeneralSecurityException {
+        SharedSecretCache cache = new SharedSecretCache(3, SharedSecretCache.DEFAULT_TTL);
+        for (int i = 0; i < 10; i++) {
+            cache.getOrCreateSharedAesSecretKey(myKeyPair, KeyGeneration.generateKeyPair().getPublic());
+        }
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void expiredEntriesGetRemoved() throws GeneralSecurityException, InterruptedException {
+        SharedSecretCache cache = new SharedSecretCache(10, 10);
+        KeyPair peersKeyPair = KeyGeneration.generateKeyPair();
+        cache.getOrCreateSharedAesSecretKey(myKeyPair, peersKeyPair.getPublic());
+        Thread.sleep(20);
+        cache.getOrCreateSharedAesSecretKey(myKeyPair, KeyGeneration.generateKeyPair().getPublic());
+        assertEquals(1, cache.size());
+
+        SecretKey expected = AesGcm.generateSharedAesSecretKey(myKeyPair.getPrivate(), peersKeyPair.getPublic());
+        assertArrayEquals(expected.getEncoded(), cache.getOrCreateSharedAesSecretKey(myKeyPair, peersKeyPair.getPublic()).getEncoded());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.security.pow.equihash;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EquihashTest {
+    private final static Logger log = LoggerFactory.getLogger(EquihashTest.class);
+
+    @Test
+    public void testParallelSolverFindsSameInputs() {
+        int[][] parameters = {{90, 5}, {60, 4}, {48, 3}, {40, 1}};
+        for (int[] nk : parameters) {
+            Equihash equihash = new Equihash(nk[0], nk[1], 2.0);
+            for (int i = 0; i < 3; i++) {
+                Equihash.Puzzle puzzle = equihash.puzzle(("seed-" + i).getBytes(StandardCharsets.UTF_8));
+                for (long nonce = 0; nonce < 4; nonce++) {
+                    Optional<int[]> expected = puzzle.findInputsForNonce(nonce);
+                    Optional<int[]> result = puzzle.findInputsInParallelForNonce(nonce);
+                    assertEquals(expected.isPresent(), result.isPresent());
+                    expected.ifPresent(inputs -> assertArrayEquals(inputs, result.get()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testParallelSolverFindsSameSolution() {
+        Equihash equihash = new Equihash(90, 5, 5.0);
+        for (int i = 0; i < 3; i++) {
+            Equihash.Puzzle puzzle = equihash.puzzle(("seed-" + i).getBytes(StandardCharsets.UTF_8));
+            Equihash.Puzzle.Solution expected = puzzle.findSolution();
+            Equihash.Puzzle.Solution result = puzzle.findSolutionInParallel();
+            assertArrayEquals(expected.serialize(), result.serialize());
+            assertTrue(result.verify());
+            assertTrue(puzzle.deserializeSolution(result.serialize()).verify());
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void testSolverBenchmark() {
+        Equihash equihash = new Equihash(90, 5, 2.0);
+        Equihash.Puzzle puzzle = equihash.puzzle("benchmark".getBytes(StandardCharsets.UTF_8));
+        // Warm up
+        puzzle.findInputsForNonce(0);
+        puzzle.findInputsInParallelForNonce(0);
+
+        int numNonces = 10;
+        List<Optional<int[]>> sequentialResults = new ArrayList<>();
+        long ts = System.currentTimeMillis();
+        for (long nonce = 1; nonce <= numNonces; nonce++) {
+            sequentialResults.add(puzzle.findInputsForNonce(nonce));
+        }
+        double sequentialTime = (System.currentTimeMillis() - ts) / (double) numNonces;
+
+        List<Optional<int[]>> parallelResults = new ArrayList<>();
+        ts = System.currentTimeMillis();
+        for (long nonce = 1; nonce <= numNonces; nonce++) {
+            parallelResults.add(puzzle.findInputsInParallelForNonce(nonce));
+        }
+        double parallelTime = (System.currentTimeMillis() - ts) / (double) numNonces;
+
+        for (int i = 0; i < numNonces; i++) {
+            Optional<int[]> expected = sequentialResults.get(i);
+            Optional<int[]> result = parallelResults.get(i);
+            assertEquals(expected.isPresent(), result.isPresent());
+            expected.ifPresent(inputs -> assertArrayEquals(inputs, result.get()));
+        }
+
+        ts = System.currentTimeMillis();
+        Equihash.Puzzle.Solution solution = puzzle.findSolutionInParallel();
+        long solveTime = System.currentTimeMillis() - ts;
+
+        ts = System.currentTimeMillis();
+        int numVerifications = 1000;
+        for (int i = 0; i < numVerifications; i++) {
+            assertTrue(solution.verify());
+        }
+        double verificationTime = (System.currentTimeMillis() - ts) / (double) numVerifications;
+
+        log.info("Equihash-90-5: Solving attempt per nonce took {} ms sequentially and {} ms in parallel. " +
+                        "Finding a solution took {} ms. Verification took {} ms.",
+                sequentialTime, parallelTime, solveTime, verificationTime);
+
+        // Verification must be much cheaper than solving, which is the point of the asymmetric proof of work
+        assertTrue(verificationTime < sequentialTime,
+                "Verification took " + verificationTime + " ms, solving attempt " + sequentialTime + " ms");
+        // With a single core the parallel solver has no gain, so we only check that its overhead stays in a loose bound
+        assertTrue(parallelTime <= sequentialTime * 2,
+                "Parallel solving attempt took " + parallelTime + " ms, sequential " + sequentialTime + " ms");
+    }
+}
@@ -19,7 +19,9 @@ package bisq.security.pow.hashcash;
 
 import bisq.security.DigestUtil;
 import bisq.security.pow.ProofOfWork;
+import com.google.common.primitives.Longs;
 import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,12 +29,15 @@ import org.slf4j.LoggerFactory;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 
+import static bisq.security.pow.hashcash.HashCashProofOfWorkService.mintCounter;
 import static bisq.security.pow.hashcash.HashCashProofOfWorkService.numberOfLeadingZeros;
 import static bisq.security.pow.hashcash.HashCashProofOfWorkService.toNumLeadingZeros;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class HashCashProofOfWorkServiceTest {
@@ -41,16 +46,114 @@ class HashCashProofOfWorkServiceTest {
 
     @Test
     public void testNumberOfLeadingZeros() {
-        assertEquals(8, numberOfLeadingZeros((byte) 0x0));
-        assertEquals(0, numberOfLeadingZeros((byte) 0xFF));
-        assertEquals(6, numberOfLeadingZeros((byte) 0x2));
-        assertEquals(2, numberOfLeadingZeros(Byte.parseByte("00100000", 2)));
+        assertEquals(8, numberOfLeadingZeros(new byte[]{(byte) 0x0}));
+        assertEquals(0, numberOfLeadingZeros(new byte[]{(byte) 0xFF}));
+        assertEquals(6, numberOfLeadingZeros(new byte[]{(byte) 0x2}));
+        assertEquals(2, numberOfLeadingZeros(new byte[]{Byte.parseByte("00100000", 2)}));
         assertEquals(1, numberOfLeadingZeros(new byte[]{Byte.parseByte("01000000", 2), Byte.parseByte("00000000", 2)}));
         assertEquals(9, numberOfLeadingZeros(new byte[]{Byte.parseByte("00000000", 2), Byte.parseByte("01000000", 2)}));
         assertEquals(17, numberOfLeadingZeros(new byte[]{Byte.parseByte("00000000", 2), Byte.parseByte("00000000", 2), Byte.parseByte("01000000", 2)}));
         assertEquals(9, numberOfLeadingZeros(new byte[]{Byte.parseByte("00000000", 2), Byte.parseByte("01010000", 2)}));
     }
 
+    @Test
+    public void testNumberOfLeadingZerosMatchesBitString() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            byte[] bytes = new byte[1 + random.nextInt(4)];
+            random.nextBytes(bytes);
+            // Make leading zero bytes likely
+            for (int j = 0; j < bytes.length && random.nextBoolean(); j++) {
+                bytes[j] = 0;
+            }
+            StringBuilder bits = new StringBuilder();
+            for (byte b : bytes) {
+                bits.append(String.format("%8s", Integer.toBinaryString(b & 0xFF)).replace(' ', '0'));
+            }
+            int expected = bits.indexOf("1") < 0 ? bits.length() : bits.indexOf("1");
+            assertEquals(expected, numberOfLeadingZeros(bytes));
+        }
+    }
+
+    @Test
+    public void testMintCounterEquivalence() {
+        Random random = new Random(42);
+        for (int log2Difficulty = 0; log2Difficulty < 10; log2Difficulty++) {
+            for (int i = 0; i < 50; i++) {
+                byte[] payload = new byte[random.nextInt(200)];
+                random.nextBytes(payload);
+                byte[] challenge = null;
+                if (i % 5 != 0) {
+                    challenge = new byte[32];
+                    random.nextBytes(challenge);
+                }
+                assertEquals(referenceMintCounter(payload, challenge, log2Difficulty),
+                        mintCounter(payload, challenge, log2Difficulty));
+            }
+        }
+    }
+
+    @Test
+    public void testVerifyEquivalence() {
+        HashCashProofOfWorkService service = new HashCashProofOfWorkService();
+        byte[] payload = RandomStringUtils.random(50, true, true).getBytes(StandardCharsets.UTF_8);
+        byte[] challenge = DigestUtil.sha256(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+        double difficulty = Math.scalb(1.0, 8);
+        ProofOfWork proofOfWork = service.mint(payload, challenge, difficulty);
+        assertTrue(service.verify(proofOfWork));
+        assertTrue(referenceVerify(proofOfWork));
+
+        // A solution with a different counter must be rejected by both implementations
+        long otherCounter = proofOfWork.getCounter() - 1;
+        ProofOfWork invalid = new ProofOfWork(payload,
+                otherCounter,
+                challenge,
+                difficulty,
+                Longs.toByteArray(otherCounter),
+                proofOfWork.getDuration());
+        assertEquals(referenceVerify(invalid), service.verify(invalid));
+        if (otherCounter > 0) {
+            assertFalse(service.verify(invalid));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void testMintBenchmark() {
+        byte[] payload = RandomStringUtils.random(1000, true, true).getBytes(StandardCharsets.UTF_8);
+        byte[] challenge = DigestUtil.sha256(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+        int log2Difficulty = 12;
+        // Warm up
+        for (int i = 0; i < 3; i++) {
+            referenceMintCounter(payload, challenge, log2Difficulty);
+            mintCounter(payload, challenge, log2Difficulty);
+        }
+
+        int numRuns = 10;
+        long ts = System.nanoTime();
+        long referenceCounter = 0;
+        for (int i = 0; i < numRuns; i++) {
+            referenceCounter = referenceMintCounter(payload, challenge, log2Difficulty);
+        }
+        double referenceTime = (System.nanoTime() - ts) / 1_000_000d / numRuns;
+
+        ts = System.nanoTime();
+        long counter = 0;
+        for (int i = 0; i < numRuns; i++) {
+            counter = mintCounter(payload, challenge, log2Difficulty);
+        }
+        double time = (System.nanoTime() - ts) / 1_000_000d / numRuns;
+
+        assertEquals(referenceCounter, counter);
+        log.info("Minting with > {} leading zeros and 1000 bytes payload ({} iterations) took {} ms with the reference " +
+                        "implementation and {} ms with the precomputed digest state.",
+                log2Difficulty, counter, referenceTime, time);
+        // The precomputed digest state skips hashing the payload at each iteration, so minting must not be slower.
+        // We allow a loose factor for timing noise.
+        assertTrue(time <= referenceTime * 2,
+                "Minting took " + time + " ms, with the reference implementation " + referenceTime + " ms");
+    }
+
     @Test
     public void testToNumLeadingZeros() {
         assertEquals(0, toNumLeadingZeros(-1.0));
@@ -106,4 +209,24 @@ class HashCashProofOfWorkServiceTest {
                 .append(" iterations in average. Verification took ").append(time2)
                 .append(" ms per token.");
     }
-}
\ No newline at end of file
+
+    // Former implementation which concatenates the pre-image and uses a new MessageDigest for each attempt
+    private static long referenceMintCounter(byte[] payload, byte[] challenge, int log2Difficulty) {
+        long counter = 0;
+        byte[] hash;
+        do {
+            hash = referenceHash(payload, challenge, Longs.toByteArray(++counter));
+        }
+        while (numberOfLeadingZeros(hash) <= log2Difficulty);
+        return counter;
+    }
+
+    private static boolean referenceVerify(ProofOfWork proofOfWork) {
+        byte[] hash = referenceHash(proofOfWork.getPayload(), proofOfWork.getChallenge(), proofOfWork.getSolution());
+        return numberOfLeadingZeros(hash) > toNumLeadingZeros(proofOfWork.getDifficulty());
+    }
+
+    private static byte[] referenceHash(byte[] payload, byte[] challenge, byte[] solution) {
+        return DigestUtil.sha256(org.bouncycastle.util.Arrays.concatenate(payload, challenge, solution));
+    }
+}
@@ -25,9 +25,11 @@ import bisq.trade.bisq_easy.BisqEasyTrade;
 import bisq.trade.protocol.TradeProtocol;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 
 public abstract class BisqEasyProtocol extends TradeProtocol<BisqEasyTrade> {
     private static final String version = "1.0.0";
+    private static final List<Class<?>> EVENT_HANDLER_PARAMETER_TYPES = List.of(ServiceProvider.class, BisqEasyTrade.class);
 
     public BisqEasyProtocol(ServiceProvider serviceProvider, BisqEasyTrade model) {
         super(version, serviceProvider, model);
@@ -36,7 +38,7 @@ public abstract class BisqEasyProtocol extends TradeProtocol<BisqEasyTrade> {
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
         try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, BisqEasyTrade.class).newInstance(serviceProvider, model);
+            return newEventHandler(handlerClass, EVENT_HANDLER_PARAMETER_TYPES, serviceProvider, model);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
                  NoSuchMethodException e) {
             throw new RuntimeException(e);
@@ -23,9 +23,11 @@ import bisq.trade.multisig.MultisigTrade;
 import bisq.trade.protocol.TradeProtocol;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 
 public abstract class MultisigProtocol extends TradeProtocol<MultisigTrade> {
     private static final String version = "1.0.0";
+    private static final List<Class<?>> EVENT_HANDLER_PARAMETER_TYPES = List.of(ServiceProvider.class, MultisigTrade.class);
 
     public MultisigProtocol(ServiceProvider serviceProvider, MultisigTrade model) {
         super(version, serviceProvider, model);
@@ -34,7 +36,7 @@ public abstract class MultisigProtocol extends TradeProtocol<MultisigTrade> {
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
         try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, MultisigTrade.class).newInstance(serviceProvider, model);
+            return newEventHandler(handlerClass, EVENT_HANDLER_PARAMETER_TYPES, serviceProvider, model);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
                  NoSuchMethodException e) {
             throw new RuntimeException(e);
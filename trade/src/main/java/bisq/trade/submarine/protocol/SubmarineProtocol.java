@@ -23,9 +23,11 @@ import bisq.trade.protocol.TradeProtocol;
 import bisq.trade.submarine.SubmarineTrade;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 
 public abstract class SubmarineProtocol extends TradeProtocol<SubmarineTrade> {
     private static final String version = "1.0.0";
+    private static final List<Class<?>> EVENT_HANDLER_PARAMETER_TYPES = List.of(ServiceProvider.class, SubmarineTrade.class);
 
     public SubmarineProtocol(ServiceProvider serviceProvider, SubmarineTrade model) {
         super(version, serviceProvider, model);
@@ -34,7 +36,7 @@ public abstract class SubmarineProtocol extends TradeProtocol<SubmarineTrade> {
     @Override
     protected EventHandler newEventHandlerFromClass(Class<? extends EventHandler> handlerClass) {
         try {
-            return handlerClass.getDeclaredConstructor(ServiceProvider.class, SubmarineTrade.class).newInstance(serviceProvider, model);
+            return newEventHandler(handlerClass, EVENT_HANDLER_PARAMETER_TYPES, serviceProvider, model);
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException |
                  NoSuchMethodException e) {
             throw new RuntimeException(e);
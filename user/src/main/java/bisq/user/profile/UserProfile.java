@@ -32,6 +32,8 @@ import bisq.security.pow.ProofOfWork;
 import bisq.user.identity.NymIdGenerator;
 import com.google.common.base.Charsets;
 import com.google.common.base.Joiner;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.protobuf.InvalidProtocolBufferException;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -54,6 +56,18 @@ public final class UserProfile implements DistributedData {
     public static final int MAX_LENGTH_TERMS = 500;
     public static final int MAX_LENGTH_STATEMENT = 100;
 
+    // User profiles are embedded in chat messages, channels, notifications and contracts, so the same profile gets
+    // deserialized many times. Equal profiles (same ID and same nick name, avatar version, terms and statement) share
+    // one instance. The weak references let unused profiles be garbage collected.
+    private static final Interner<UserProfile> INTERNER = Interners.newWeakInterner();
+
+    /**
+     * @return The shared instance of an equal profile if one is in use, otherwise the given profile.
+     */
+    public static UserProfile intern(UserProfile userProfile) {
+        return INTERNER.intern(userProfile);
+    }
+
     public static UserProfile from(UserProfile userProfile, String terms, String statement) {
         return new UserProfile(userProfile.getNickName(), userProfile.getProofOfWork(), userProfile.getAvatarVersion(),
                 userProfile.getNetworkId(), terms, statement);
@@ -114,12 +128,12 @@ public final class UserProfile implements DistributedData {
     }
 
     public static UserProfile fromProto(bisq.user.protobuf.UserProfile proto) {
-        return new UserProfile(proto.getNickName(),
+        return intern(new UserProfile(proto.getNickName(),
                 ProofOfWork.fromProto(proto.getProofOfWork()),
                 proto.getAvatarVersion(),
                 NetworkId.fromProto(proto.getNetworkId()),
                 proto.getTerms(),
-                proto.getStatement());
+                proto.getStatement()));
     }
 
     public static ProtoResolver<DistributedData> getResolver() {
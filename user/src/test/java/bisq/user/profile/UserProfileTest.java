@@ -0,0 +1,60 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.user.profile;
+
+import bisq.network.common.Address;
+import bisq.network.common.AddressByTransportTypeMap;
+import bisq.network.common.TransportType;
+import bisq.network.identity.NetworkId;
+import bisq.security.keys.KeyGeneration;
+import bisq.security.keys.PubKey;
+import bisq.security.pow.ProofOfWork;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserProfileTest {
+    @Test
+    void equalProfilesAreInterned() throws GeneralSecurityException {
+        UserProfile userProfile = createUserProfile("terms");
+        bisq.user.protobuf.UserProfile proto = userProfile.toProto(false);
+
+        UserProfile fromProto1 = UserProfile.fromProto(proto);
+        UserProfile fromProto2 = UserProfile.fromProto(proto);
+        assertEquals(userProfile, fromProto1);
+        assertSame(fromProto1, fromProto2);
+        assertSame(fromProto1, UserProfile.intern(userProfile));
+
+        // Same ID but changed terms is another version of the profile
+        UserProfile changed = UserProfile.fromProto(UserProfile.from(userProfile, "other terms", "").toProto(false));
+        assertEquals(userProfile.getId(), changed.getId());
+        assertNotSame(fromProto1, changed);
+        assertNotEquals(fromProto1, changed);
+    }
+
+    private static UserProfile createUserProfile(String terms) throws GeneralSecurityException {
+        PubKey pubKey = new PubKey(KeyGeneration.generateKeyPair().getPublic(), "default");
+        AddressByTransportTypeMap addressByTransportTypeMap = new AddressByTransportTypeMap(
+                Map.of(TransportType.CLEAR, new Address("127.0.0.1", 8000)));
+        ProofOfWork proofOfWork = new ProofOfWork(pubKey.getHash(), 1, null, 1, new byte[72], 0);
+        return new UserProfile("nickName", proofOfWork, 0, new NetworkId(addressByTransportTypeMap, pubKey), terms, "");
+    }
+}